@@ -1,7 +1,20 @@
 import ui.ConsoleUI;
+import ui.ScriptRunner;
 import ui.ThriftAssociationGUI;
 import service.AssociationService;
+import service.ColumnarLedgerWriter;
+import service.LedgerExporter;
+import server.ThriftHttpServer;
 import javax.swing.SwingUtilities;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
 
 public class ThriftAssociationApp {
     public static void main(String[] args) {
@@ -11,8 +24,28 @@ public class ThriftAssociationApp {
             
             // Check for GUI mode argument
             boolean guiMode = args.length > 0 && "--gui".equals(args[0]);
+            boolean serverMode = args.length > 0 && "--server".equals(args[0]);
+            boolean scriptMode = args.length > 1 && "--script".equals(args[0]);
+            boolean exportMode = args.length > 1 && "--export".equals(args[0]);
             
-            if (guiMode) {
+            if (scriptMode) {
+                System.exit(runScript(args));
+            } else if (exportMode) {
+                System.exit(runExport(args));
+            } else if (serverMode) {
+                // --server [port] [host]; binds to localhost unless a host is given
+                int port = args.length > 1 ? parsePort(args[1]) : 8080;
+                if (port < 0) {
+                    System.err.println("Invalid port: " + args[1]);
+                    System.err.println("Usage: --server [port] [host]   (port 0-65535, 0 picks a free one)");
+                    System.exit(2);
+                }
+                String host = args.length > 2 ? args[2] : "127.0.0.1";
+                ThriftHttpServer server = new ThriftHttpServer(new AssociationService(), host, port);
+                server.start();
+                Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+                System.out.println("Server mode: JSON API listening on http://" + host + ":" + server.getPort() + "/api/");
+            } else if (guiMode) {
                 System.out.println("Starting in GUI mode...");
                 SwingUtilities.invokeLater(() -> {
                     
@@ -52,7 +85,8 @@ public class ThriftAssociationApp {
                 });
             } else {
                 System.out.println("Starting in console mode...");
-                System.out.println("Tip: Use '--gui' argument to start in GUI mode");
+                System.out.println("Tip: Use '--gui' argument to start in GUI mode, '--server [port]' for the HTTP API,");
+                System.out.println("     '--script <file>' for a command file, or '--export <dir>' to export the ledger");
                 System.out.println();
                 
                 ConsoleUI ui = new ConsoleUI();
@@ -63,4 +97,154 @@ public class ThriftAssociationApp {
             e.printStackTrace();
         }
     }
-}
\ No newline at end of file
+
+    // -1 unless value is a TCP port number
+    private static int parsePort(String value) {
+        try {
+            int port = Integer.parseInt(value);
+            return port >= 0 && port <= 65535 ? port : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    // --script <file> [--user name] [--chunk N]; the password comes from CAMS_PASSWORD or a prompt.
+    // Exit status: 0 when every command succeeded, 1 when some failed, 2 when the run could not start.
+    private static int runScript(String[] args) {
+        String username = "admin";
+        int chunkSize = ScriptRunner.DEFAULT_CHUNK_SIZE;
+        for (int i = 2; i + 1 < args.length; i += 2) {
+            if ("--user".equals(args[i])) {
+                username = args[i + 1];
+            } else if ("--chunk".equals(args[i])) {
+                try {
+                    chunkSize = Integer.parseInt(args[i + 1]);
+                } catch (NumberFormatException e) {
+                    chunkSize = 0;
+                }
+                if (chunkSize < 1) {
+                    System.err.println("Invalid chunk size: " + args[i + 1]);
+                    return 2;
+                }
+            } else {
+                System.err.println("Unknown option: " + args[i]);
+                return 2;
+            }
+        }
+
+        AssociationService service = authenticate(username);
+        if (service == null) return 2;
+        try {
+            int failures = new ScriptRunner(service, chunkSize, System.out).run(Paths.get(args[1]));
+            return failures == 0 ? 0 : 1;
+        } catch (IOException e) {
+            System.err.println("Cannot read script " + args[1] + ": " + e);
+            return 2;
+        } finally {
+            service.logout();
+        }
+    }
+
+    // --export <dir> [--user name] [--format csv|jsonl|columnar] [--gzip] [--from YYYY-MM-DD]
+    //          [--to YYYY-MM-DD] [--members id,id,...]
+    // Writes transactions, members and loans files into dir, or with columnar just the transactions as
+    // an analytics file (already compressed, so --gzip does not apply). Exit status: 0 on success, else 2.
+    private static int runExport(String[] args) {
+        String username = "admin";
+        LedgerExporter.Format format = LedgerExporter.Format.CSV;
+        boolean columnar = false;
+        boolean gzip = false;
+        LocalDate from = null;
+        LocalDate to = null;
+        Set<String> memberIds = null;
+        try {
+            for (int i = 2; i < args.length; i++) {
+                String option = args[i];
+                if ("--gzip".equals(option)) {
+                    gzip = true;
+                    continue;
+                }
+                if (i + 1 >= args.length) {
+                    System.err.println("Missing value for " + option);
+                    return 2;
+                }
+                String value = args[++i];
+                switch (option) {
+                    case "--user": username = value; break;
+                    case "--format":
+                        columnar = "columnar".equalsIgnoreCase(value);
+                        if (!columnar) format = LedgerExporter.Format.valueOf(value.toUpperCase(Locale.ROOT));
+                        break;
+                    case "--from": from = LocalDate.parse(value); break;
+                    case "--to": to = LocalDate.parse(value); break;
+                    case "--members": memberIds = new HashSet<>(Arrays.asList(value.split("\\s*,\\s*"))); break;
+                    default:
+                        System.err.println("Unknown option: " + option);
+                        return 2;
+                }
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            System.err.println("Bad export option: " + e.getMessage());
+            return 2;
+        }
+
+        AssociationService service = authenticate(username);
+        if (service == null) return 2;
+        try {
+            LedgerExporter.Filter filter = new LedgerExporter.Filter(from, to, memberIds);
+            Path dir = Paths.get(args[1]);
+            if (columnar) {
+                ColumnarLedgerWriter.Result result;
+                synchronized (service) {
+                    result = new ColumnarLedgerWriter(service)
+                        .export(filter, dir.resolve(ColumnarLedgerWriter.FILE_NAME));
+                }
+                if (result == null) {
+                    System.err.println(username + " is not allowed to export data");
+                    return 2;
+                }
+                System.out.println(result);
+                return 0;
+            }
+            LedgerExporter exporter = new LedgerExporter(service);
+            for (LedgerExporter.Dataset dataset : LedgerExporter.Dataset.values()) {
+                Path file = dir.resolve(LedgerExporter.fileName(dataset, format, gzip));
+                LedgerExporter.Result result;
+                synchronized (service) {
+                    result = exporter.export(dataset, format, gzip, filter, file);
+                }
+                if (result == null) {
+                    System.err.println(username + " is not allowed to export data");
+                    return 2;
+                }
+                System.out.println(result);
+            }
+            return 0;
+        } catch (IOException e) {
+            System.err.println("Export failed: " + e);
+            return 2;
+        } finally {
+            service.logout();
+        }
+    }
+
+    // The password comes from CAMS_PASSWORD or a console prompt; null (after a message) on failure
+    private static AssociationService authenticate(String username) {
+        String password = System.getenv("CAMS_PASSWORD");
+        if (password == null) {
+            java.io.Console console = System.console();
+            if (console == null) {
+                System.err.println("Set CAMS_PASSWORD or run from a terminal to enter the password");
+                return null;
+            }
+            password = new String(console.readPassword("Password for %s: ", username));
+        }
+
+        AssociationService service = new AssociationService();
+        if (!service.authenticateUser(username, password)) {
+            System.err.println("Invalid credentials for " + username);
+            return null;
+        }
+        return service;
+    }
+}
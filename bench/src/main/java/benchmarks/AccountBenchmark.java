@@ -0,0 +1,66 @@
+package benchmarks;
+
+import model.Account;
+import model.Contribution;
+import model.InterestTransaction;
+import model.Member;
+import model.Withdrawal;
+import org.openjdk.jmh.annotations.*;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+// Account total getters against one account with a long history
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccountBenchmark {
+    @Param({"100", "10000", "100000"})
+    public int transactions;
+
+    private Account account;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Member member = new Member("MEM0001", "Bench", "Member", "bench@example.com", "0800", LocalDate.now().minusYears(5));
+        account = member.getAccount();
+        LocalDate date = LocalDate.now().minusDays(transactions);
+        for (int i = 0; i < transactions; i++) {
+            String id = "TXN" + String.format("%06d", i + 1);
+            switch (i % 10) {
+                case 3:
+                case 7:
+                    account.addTransaction(new Withdrawal(id, "MEM0001", 50.0, date, "w"));
+                    break;
+                case 9:
+                    account.addTransaction(new InterestTransaction(id, "MEM0001", 1.5, date, 3.5));
+                    break;
+                default:
+                    account.addTransaction(new Contribution(id, "MEM0001", 100.0, date, "c"));
+            }
+            date = date.plusDays(1);
+        }
+    }
+
+    @Benchmark
+    public double getTotalContributions() {
+        return account.getTotalContributions();
+    }
+
+    @Benchmark
+    public double getTotalWithdrawals() {
+        return account.getTotalWithdrawals();
+    }
+
+    @Benchmark
+    public double getTotalInterest() {
+        return account.getTotalInterest();
+    }
+
+    @Benchmark
+    public double getBalance() {
+        return account.getBalance();
+    }
+}
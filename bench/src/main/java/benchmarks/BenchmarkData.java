@@ -0,0 +1,40 @@
+package benchmarks;
+
+import persistence.DataPersistence;
+import service.AssociationService;
+import tools.DataGenerator;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+// Seeded datasets written to a throwaway data directory, so benchmarks never touch ./data
+final class BenchmarkData {
+    static final long SEED = 42;
+    static final int HISTORY_DAYS = 3 * 365;
+
+    private BenchmarkData() {
+    }
+
+    static DataPersistence createDataset(int members, int transactionsPerMember) throws IOException {
+        Path dir = Files.createTempDirectory("cams-bench-");
+        DataPersistence persistence = new DataPersistence(dir.toString());
+        new DataGenerator(SEED).generate(members, transactionsPerMember, HISTORY_DAYS).writeTo(persistence);
+        return persistence;
+    }
+
+    static AssociationService loginAsAdmin(DataPersistence persistence) {
+        AssociationService service = new AssociationService(persistence);
+        if (!service.authenticateUser("admin", "admin123")) {
+            throw new IllegalStateException("Default admin login failed");
+        }
+        return service;
+    }
+
+    static void delete(DataPersistence persistence) throws IOException {
+        try (Stream<Path> paths = Files.walk(Path.of(persistence.getDataDir()))) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+}
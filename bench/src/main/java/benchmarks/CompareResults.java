@@ -0,0 +1,86 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Compares two JMH CSV result files (-rf csv) and prints the score change per benchmark and parameter set.
+// Usage: java -cp target/benchmarks.jar benchmarks.CompareResults baseline.csv candidate.csv
+public class CompareResults {
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: CompareResults <baseline.csv> <candidate.csv>");
+            System.exit(2);
+        }
+        Map<String, double[]> baseline = read(Path.of(args[0]));
+        Map<String, double[]> candidate = read(Path.of(args[1]));
+
+        System.out.printf("%-70s %14s %14s %9s%n", "Benchmark", "Baseline", "Candidate", "Change");
+        for (Map.Entry<String, double[]> entry : candidate.entrySet()) {
+            double[] before = baseline.get(entry.getKey());
+            double after = entry.getValue()[0];
+            if (before == null) {
+                System.out.printf("%-70s %14s %14.3f %9s%n", entry.getKey(), "-", after, "new");
+                continue;
+            }
+            double change = (after - before[0]) / before[0] * 100;
+            // Flag changes outside the combined error bars
+            boolean significant = Math.abs(after - before[0]) > before[1] + entry.getValue()[1];
+            System.out.printf("%-70s %14.3f %14.3f %+8.1f%%%s%n", entry.getKey(), before[0], after, change,
+                significant ? " *" : "");
+        }
+        System.out.println("Scores are in each benchmark's own unit; for average-time modes lower is better. * = outside error bars");
+    }
+
+    // key -> {score, error}
+    private static Map<String, double[]> read(Path file) throws IOException {
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        Map<String, double[]> results = new LinkedHashMap<>();
+        if (lines.isEmpty()) return results;
+
+        List<String> header = parseCsvLine(lines.get(0));
+        int benchmark = header.indexOf("Benchmark");
+        int score = header.indexOf("Score");
+        int error = header.indexOf("Score Error (99.9%)");
+        int unit = header.indexOf("Unit");
+        for (int i = 1; i < lines.size(); i++) {
+            List<String> row = parseCsvLine(lines.get(i));
+            if (row.size() < header.size()) continue;
+            StringBuilder key = new StringBuilder(row.get(benchmark));
+            for (int c = 0; c < header.size(); c++) {
+                if (header.get(c).startsWith("Param: ") && !row.get(c).isEmpty()) {
+                    key.append(' ').append(header.get(c).substring(7)).append('=').append(row.get(c));
+                }
+            }
+            key.append(" (").append(row.get(unit)).append(')');
+            double err = error >= 0 && !row.get(error).isEmpty() && !row.get(error).equals("NaN")
+                ? Double.parseDouble(row.get(error)) : 0;
+            results.put(key.toString(), new double[] { Double.parseDouble(row.get(score)), err });
+        }
+        return results;
+    }
+
+    private static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ',' && !quoted) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,47 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import persistence.DataPersistence;
+import service.AssociationService;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Full save and full load (deserialize plus history rebuild) at several dataset sizes
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PersistenceBenchmark {
+    @Param({"1000", "10000", "50000"})
+    public int members;
+
+    @Param({"20"})
+    public int transactionsPerMember;
+
+    private DataPersistence persistence;
+    private AssociationService service;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        persistence = BenchmarkData.createDataset(members, transactionsPerMember);
+        service = BenchmarkData.loginAsAdmin(persistence);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkData.delete(persistence);
+    }
+
+    @Benchmark
+    public void saveData() {
+        service.saveData();
+    }
+
+    // Constructing the service runs loadData and rebuildAccountHistories
+    @Benchmark
+    public AssociationService loadData() {
+        return new AssociationService(persistence);
+    }
+}
@@ -0,0 +1,83 @@
+package benchmarks;
+
+import model.Member;
+import org.openjdk.jmh.annotations.*;
+import persistence.DataPersistence;
+import service.AssociationService;
+import service.AssociationSnapshot;
+import validation.ValidationResult;
+import java.io.IOException;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// Service hot paths. deposit/withdraw/calculateAndApplyInterest include the synchronous save they trigger.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+    @Param({"1000", "10000", "50000"})
+    public int members;
+
+    @Param({"20"})
+    public int transactionsPerMember;
+
+    private DataPersistence persistence;
+    private AssociationService service;
+    private String[] memberIds;
+    private int cursor;
+    private YearMonth lastMonth;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        persistence = BenchmarkData.createDataset(members, transactionsPerMember);
+        service = BenchmarkData.loginAsAdmin(persistence);
+        List<AssociationSnapshot.MemberView> all = service.getAllMembers();
+        memberIds = new String[all.size()];
+        for (int i = 0; i < memberIds.length; i++) {
+            memberIds[i] = all.get(i).getMemberId();
+        }
+        lastMonth = YearMonth.now().minusMonths(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkData.delete(persistence);
+    }
+
+    // Rotates through members so rolling withdrawal limits are rarely hit
+    private String nextMemberId() {
+        cursor = (cursor + 7919) % memberIds.length;
+        return memberIds[cursor];
+    }
+
+    @Benchmark
+    public ValidationResult deposit() {
+        return service.deposit(nextMemberId(), 100.0, "Benchmark contribution");
+    }
+
+    @Benchmark
+    public ValidationResult withdraw() {
+        return service.withdraw(nextMemberId(), 10.0, "Benchmark withdrawal");
+    }
+
+    @Benchmark
+    public Optional<Member> findMember() {
+        return service.findMember(nextMemberId());
+    }
+
+    @Benchmark
+    public AssociationService.MonthlyReport generateMonthlyReport() {
+        return service.generateMonthlyReport(lastMonth);
+    }
+
+    // After the first call no account is due, so this measures the eligibility scan plus the save
+    @Benchmark
+    public void calculateAndApplyInterest() {
+        service.calculateAndApplyInterest();
+    }
+}
@@ -0,0 +1,65 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// Custom Flight Recorder events for the long-running persistence and batch paths. They cost
+// next to nothing unless a recording enables them, e.g.
+//   java -XX:StartFlightRecording=filename=cams.jfr,settings=profile ThriftAssociationApp
+public final class JfrEvents {
+    private JfrEvents() {
+    }
+
+    @Name("cams.SaveData")
+    @Label("Save Data")
+    @Category({"CAMS", "Persistence"})
+    @Description("Full rewrite of the member, transaction, loan and user files")
+    public static final class SaveData extends Event {
+        @Label("Members") public int memberCount;
+        @Label("Transactions") public int transactionCount;
+        @Label("Loans") public int loanCount;
+        @Label("Succeeded") public boolean succeeded;
+    }
+
+    @Name("cams.LoadData")
+    @Label("Load Data")
+    @Category({"CAMS", "Persistence"})
+    @Description("Start-up load of all data files, including the history rebuild")
+    public static final class LoadData extends Event {
+        @Label("Data Directory") public String dataDir;
+        @Label("Members") public int memberCount;
+        @Label("Transactions") public int transactionCount;
+        @Label("Loans") public int loanCount;
+        @Label("Succeeded") public boolean succeeded;
+    }
+
+    @Name("cams.RebuildAccountHistories")
+    @Label("Rebuild Account Histories")
+    @Category({"CAMS", "Batch"})
+    public static final class RebuildAccountHistories extends Event {
+        @Label("Members") public int memberCount;
+        @Label("Transactions Replayed") public int transactionCount;
+    }
+
+    @Name("cams.InterestRun")
+    @Label("Interest Run")
+    @Category({"CAMS", "Batch"})
+    public static final class InterestRun extends Event {
+        @Label("Members Scanned") public int memberCount;
+        @Label("Interest Postings") public int postings;
+        @Label("Total Interest") public double totalInterest;
+    }
+
+    @Name("cams.CreateBackup")
+    @Label("Create Backup")
+    @Category({"CAMS", "Persistence"})
+    public static final class CreateBackup extends Event {
+        @Label("Backup Directory") public String backupDir;
+        @Label("Files Copied") public int filesCopied;
+        @Label("Bytes Copied") @DataAmount public long bytesCopied;
+    }
+}
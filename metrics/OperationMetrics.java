@@ -0,0 +1,97 @@
+package metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Process-wide registry of per-operation latency histograms. Callers resolve a Timer once
+// (typically into a static field) so the hot path is nanoTime plus a few atomic adds.
+public final class OperationMetrics {
+    private static final Map<String, Timer> TIMERS = new ConcurrentHashMap<>();
+    private static volatile long windowStartNanos = System.nanoTime();
+
+    private OperationMetrics() {
+    }
+
+    public static Timer timer(String name) {
+        return TIMERS.computeIfAbsent(name, Timer::new);
+    }
+
+    public static final class Timer {
+        private final String name;
+        private final LatencyHistogram histogram = new LatencyHistogram();
+
+        private Timer(String name) {
+            this.name = name;
+        }
+
+        public String getName() { return name; }
+        public LatencyHistogram getHistogram() { return histogram; }
+
+        public void record(long startNanos) {
+            histogram.record(System.nanoTime() - startNanos);
+        }
+    }
+
+    public static void reset() {
+        for (Timer timer : TIMERS.values()) {
+            timer.histogram.reset();
+        }
+        windowStartNanos = System.nanoTime();
+    }
+
+    // Per-operation summary since start-up or the last reset, operations with no calls omitted
+    public static List<OperationStats> snapshot() {
+        double windowSeconds = Math.max(1e-9, (System.nanoTime() - windowStartNanos) / 1e9);
+        List<OperationStats> stats = new ArrayList<>();
+        for (Timer timer : TIMERS.values()) {
+            LatencyHistogram h = timer.histogram;
+            long count = h.getCount();
+            if (count == 0) continue;
+            stats.add(new OperationStats(timer.name, count, h.getValueAtQuantile(0.50), h.getValueAtQuantile(0.99),
+                h.getMaxNanos(), count / windowSeconds));
+        }
+        stats.sort((a, b) -> a.getName().compareTo(b.getName()));
+        return stats;
+    }
+
+    public static String formatTable() {
+        List<OperationStats> stats = snapshot();
+        if (stats.isEmpty()) return "No operations recorded yet.\n";
+
+        StringBuilder table = new StringBuilder();
+        table.append(String.format("%-34s %8s %10s %10s %10s %9s%n", "Operation", "Calls", "p50 (ms)", "p99 (ms)", "max (ms)", "ops/s"));
+        table.append("-".repeat(86)).append("\n");
+        for (OperationStats s : stats) {
+            table.append(String.format("%-34s %8d %10.3f %10.3f %10.3f %9.2f%n", s.getName(), s.getCount(),
+                s.getP50Nanos() / 1e6, s.getP99Nanos() / 1e6, s.getMaxNanos() / 1e6, s.getThroughput()));
+        }
+        return table.toString();
+    }
+
+    public static final class OperationStats {
+        private final String name;
+        private final long count;
+        private final long p50Nanos;
+        private final long p99Nanos;
+        private final long maxNanos;
+        private final double throughput;
+
+        OperationStats(String name, long count, long p50Nanos, long p99Nanos, long maxNanos, double throughput) {
+            this.name = name;
+            this.count = count;
+            this.p50Nanos = p50Nanos;
+            this.p99Nanos = p99Nanos;
+            this.maxNanos = maxNanos;
+            this.throughput = throughput;
+        }
+
+        public String getName() { return name; }
+        public long getCount() { return count; }
+        public long getP50Nanos() { return p50Nanos; }
+        public long getP99Nanos() { return p99Nanos; }
+        public long getMaxNanos() { return maxNanos; }
+        public double getThroughput() { return throughput; }
+    }
+}
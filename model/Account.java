@@ -13,6 +13,8 @@ public class Account implements Serializable {
     private LocalDate lastInterestDate;
     private double interestRate;
     private boolean interestEnabled;
+    // Derived from transactionHistory, which rebuildAccountHistories replays on load
+    private transient DailyWindowCounter withdrawalWindow;
 
     public Account(String accountId, Member member) {
         this.accountId = accountId;
@@ -22,6 +24,7 @@ public class Account implements Serializable {
         this.lastInterestDate = LocalDate.now();
         this.interestRate = 3.5; // 3.5% annual interest rate
         this.interestEnabled = true;
+        this.withdrawalWindow = new DailyWindowCounter();
     }
 
     public String getAccountId() { return accountId; }
@@ -42,9 +45,28 @@ public class Account implements Serializable {
             balance += transaction.getAmount();
         } else if (transaction instanceof Withdrawal) {
             balance -= transaction.getAmount();
+            getWithdrawalWindow().add(transaction.getDate(), transaction.getAmount());
         }
     }
 
+    // Before replaying the ledger: the balance is rebuilt along with the history
+    public void clearTransactionHistory() {
+        transactionHistory.clear();
+        balance = 0.0;
+        getWithdrawalWindow().clear();
+    }
+
+    // Total withdrawn over the last `days` days (today included), at most DailyWindowCounter.CAPACITY_DAYS
+    public double getWithdrawnInLastDays(int days) {
+        return getWithdrawalWindow().sumLastDays(LocalDate.now(), days);
+    }
+
+    private DailyWindowCounter getWithdrawalWindow() {
+        // Null after deserialization until the history is replayed
+        if (withdrawalWindow == null) withdrawalWindow = new DailyWindowCounter();
+        return withdrawalWindow;
+    }
+
     public double getTotalContributions() {
         return transactionHistory.stream()
             .filter(t -> t instanceof Contribution)
@@ -0,0 +1,55 @@
+package model;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+// Ring buffer of per-day totals covering the last CAPACITY_DAYS days.
+// Queries touch at most CAPACITY_DAYS buckets, independent of history length.
+public class DailyWindowCounter implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    public static final int CAPACITY_DAYS = 31;
+
+    private final long[] bucketDays;
+    private final double[] bucketAmounts;
+
+    public DailyWindowCounter() {
+        this.bucketDays = new long[CAPACITY_DAYS];
+        this.bucketAmounts = new double[CAPACITY_DAYS];
+        Arrays.fill(bucketDays, Long.MIN_VALUE);
+    }
+
+    public void add(LocalDate date, double amount) {
+        long day = date.toEpochDay();
+        int slot = (int) Math.floorMod(day, (long) CAPACITY_DAYS);
+        if (bucketDays[slot] == day) {
+            bucketAmounts[slot] += amount;
+        } else if (bucketDays[slot] < day) {
+            // Slot still holds a day that has rolled out of the window
+            bucketDays[slot] = day;
+            bucketAmounts[slot] = amount;
+        }
+        // Otherwise the date is older than the window and can never be queried
+    }
+
+    // Sum of amounts dated within the last `days` days, today included
+    public double sumLastDays(LocalDate today, int days) {
+        if (days <= 0) return 0;
+        if (days > CAPACITY_DAYS) {
+            throw new IllegalArgumentException("Window cannot exceed " + CAPACITY_DAYS + " days");
+        }
+        long todayEpoch = today.toEpochDay();
+        double sum = 0;
+        for (long day = todayEpoch - days + 1; day <= todayEpoch; day++) {
+            int slot = (int) Math.floorMod(day, (long) CAPACITY_DAYS);
+            if (bucketDays[slot] == day) sum += bucketAmounts[slot];
+        }
+        return sum;
+    }
+
+    public void clear() {
+        Arrays.fill(bucketDays, Long.MIN_VALUE);
+        Arrays.fill(bucketAmounts, 0);
+    }
+}
@@ -6,6 +6,10 @@ import java.time.LocalDate;
 // Loan class
 public class Loan implements Serializable {
     private static final long serialVersionUID = 1L;
+
+    // Description of the credit posted when a loan is paid out; the loan id follows it. Reserved:
+    // ordinary postings may not use it, so reconciliation can rely on it to find disbursements.
+    public static final String DISBURSEMENT_DESCRIPTION_PREFIX = "Loan disbursement - ";
     
     private String loanId;
     private String memberId;
@@ -60,6 +64,7 @@ public class Loan implements Serializable {
     public double getMonthlyPayment() { return monthlyPayment; }
     public String getPurpose() { return purpose; }
 
+    public void setApplicationDate(LocalDate applicationDate) { this.applicationDate = applicationDate; }
     public void setApprovalDate(LocalDate approvalDate) { this.approvalDate = approvalDate; }
     public void setDisbursementDate(LocalDate disbursementDate) { this.disbursementDate = disbursementDate; }
     public void setStatus(LoanStatus status) { this.status = status; }
@@ -0,0 +1,28 @@
+package model;
+
+// Operations guarded by role checks; each maps to one bit of a permission mask
+public enum Permission {
+    VIEW_MEMBERS,
+    ADD_MEMBER,
+    EDIT_MEMBER,
+    PROCESS_TRANSACTIONS,
+    PROCESS_INTEREST,
+    VIEW_LOANS,
+    APPROVE_LOANS,
+    DISBURSE_LOANS,
+    GENERATE_REPORTS,
+    CREATE_USER,
+    VIEW_OWN_ACCOUNT;
+
+    private final long bit = 1L << ordinal();
+
+    public long bit() { return bit; }
+
+    public static long maskOf(Iterable<Permission> permissions) {
+        long mask = 0;
+        for (Permission permission : permissions) {
+            mask |= permission.bit;
+        }
+        return mask;
+    }
+}
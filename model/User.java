@@ -14,6 +14,7 @@ public class User implements Serializable {
     private boolean isActive;
     private LocalDate createdDate;
     private LocalDate lastLoginDate;
+    private String customRole;
 
     public enum UserRole {
         ADMIN, MANAGER, TELLER, MEMBER
@@ -36,8 +37,10 @@ public class User implements Serializable {
     public boolean isActive() { return isActive; }
     public LocalDate getCreatedDate() { return createdDate; }
     public LocalDate getLastLoginDate() { return lastLoginDate; }
+    public String getCustomRole() { return customRole; }
 
     public void setPasswordHash(String passwordHash) { this.passwordHash = passwordHash; }
     public void setActive(boolean active) { isActive = active; }
     public void setLastLoginDate(LocalDate lastLoginDate) { this.lastLoginDate = lastLoginDate; }
+    public void setCustomRole(String customRole) { this.customRole = customRole; }
 }
\ No newline at end of file
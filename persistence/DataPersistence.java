@@ -1,114 +1,510 @@
 package persistence;
 
 import model.*;
+import metrics.JfrEvents;
+import metrics.OperationMetrics;
 import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.function.IntFunction;
 
 public class DataPersistence {
-    private static final String DATA_DIR = "data";
-    private static final String MEMBERS_FILE = DATA_DIR + "/members.dat";
-    private static final String TRANSACTIONS_FILE = DATA_DIR + "/transactions.dat";
-    private static final String LOANS_FILE = DATA_DIR + "/loans.dat";
-    private static final String USERS_FILE = DATA_DIR + "/users.dat";
+    private static final String DEFAULT_DATA_DIR = "data";
+    // Object streams write each record in many small pieces; buffering turns those into large writes
+    private static final int IO_BUFFER_SIZE = 1 << 16;
+
+    // Latency timers for every load/save
+    private static final OperationMetrics.Timer SAVE_MEMBERS_TIMER = OperationMetrics.timer("persistence.saveMembers");
+    private static final OperationMetrics.Timer LOAD_MEMBERS_TIMER = OperationMetrics.timer("persistence.loadMembers");
+    private static final OperationMetrics.Timer SAVE_TRANSACTIONS_TIMER = OperationMetrics.timer("persistence.saveTransactions");
+    private static final OperationMetrics.Timer LOAD_TRANSACTIONS_TIMER = OperationMetrics.timer("persistence.loadTransactions");
+    private static final OperationMetrics.Timer SAVE_LOANS_TIMER = OperationMetrics.timer("persistence.saveLoans");
+    private static final OperationMetrics.Timer LOAD_LOANS_TIMER = OperationMetrics.timer("persistence.loadLoans");
+    private static final OperationMetrics.Timer SAVE_USERS_TIMER = OperationMetrics.timer("persistence.saveUsers");
+    private static final OperationMetrics.Timer LOAD_USERS_TIMER = OperationMetrics.timer("persistence.loadUsers");
+    private static final OperationMetrics.Timer LOAD_CUSTOM_ROLES_TIMER = OperationMetrics.timer("persistence.loadCustomRoles");
+    private static final OperationMetrics.Timer APPEND_LOGIN_RECORD_TIMER = OperationMetrics.timer("persistence.appendLoginRecord");
+    private static final OperationMetrics.Timer LOAD_LOGIN_RECORDS_TIMER = OperationMetrics.timer("persistence.loadLoginRecords");
+    private static final OperationMetrics.Timer CLEAR_LOGIN_JOURNAL_TIMER = OperationMetrics.timer("persistence.clearLoginJournal");
+    private static final OperationMetrics.Timer SAVE_IDEMPOTENCY_KEYS_TIMER = OperationMetrics.timer("persistence.saveIdempotencyKeys");
+    private static final OperationMetrics.Timer LOAD_IDEMPOTENCY_KEYS_TIMER = OperationMetrics.timer("persistence.loadIdempotencyKeys");
+    private static final OperationMetrics.Timer SAVE_IMPORTED_CHUNKS_TIMER = OperationMetrics.timer("persistence.saveImportedChunks");
+    private static final OperationMetrics.Timer LOAD_IMPORTED_CHUNKS_TIMER = OperationMetrics.timer("persistence.loadImportedChunks");
+    private static final OperationMetrics.Timer SAVE_DESCRIPTION_INDEX_TIMER = OperationMetrics.timer("persistence.saveDescriptionIndex");
+    private static final OperationMetrics.Timer LOAD_DESCRIPTION_INDEX_TIMER = OperationMetrics.timer("persistence.loadDescriptionIndex");
+    private static final OperationMetrics.Timer CREATE_BACKUP_TIMER = OperationMetrics.timer("persistence.createBackup");
+
+    private final String dataDir;
+    private final String membersFile;
+    private final String transactionsFile;
+    private final String loansFile;
+    private final String usersFile;
+    private final String idempotencyFile;
+    private final String loginJournalFile;
+    private final String rolesFile;
+    private final String descriptionIndexFile;
+    private final String importedChunksFile;
 
     public DataPersistence() {
+        this(DEFAULT_DATA_DIR);
+    }
+
+    public DataPersistence(String dataDir) {
+        this.dataDir = dataDir;
+        this.membersFile = dataDir + "/members.dat";
+        this.transactionsFile = dataDir + "/transactions.dat";
+        this.loansFile = dataDir + "/loans.dat";
+        this.usersFile = dataDir + "/users.dat";
+        this.idempotencyFile = dataDir + "/idempotency.dat";
+        this.loginJournalFile = dataDir + "/logins.log";
+        this.rolesFile = dataDir + "/roles.properties";
+        this.descriptionIndexFile = dataDir + "/descriptions.idx";
+        this.importedChunksFile = dataDir + "/imports.dat";
         createDataDirectory();
     }
 
+    public String getDataDir() {
+        return dataDir;
+    }
+
+    // Deletes the files keyed to the current ledger (description index, idempotency keys, login journal,
+    // imported CSV chunks);
+    // for tools that replace the ledger wholesale
+    public void discardDerivedState() {
+        for (String name : new String[] { descriptionIndexFile, idempotencyFile, loginJournalFile, importedChunksFile }) {
+            File file = new File(name);
+            if (file.exists() && !file.delete()) {
+                System.err.println("Could not delete " + name);
+            }
+        }
+    }
+
     private void createDataDirectory() {
-        File dataDir = new File(DATA_DIR);
-        if (!dataDir.exists()) {
-            dataDir.mkdirs();
+        File directory = new File(dataDir);
+        if (!directory.exists()) {
+            directory.mkdirs();
         }
     }
 
     public void saveMembers(List<Member> members) throws IOException {
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(MEMBERS_FILE))) {
-            oos.writeObject(members);
+        long startNanos = System.nanoTime();
+        try {
+            writeRecords(membersFile, members);
+        } finally {
+            SAVE_MEMBERS_TIMER.record(startNanos);
         }
     }
 
-    @SuppressWarnings("unchecked")
     public List<Member> loadMembers() throws IOException, ClassNotFoundException {
-        File file = new File(MEMBERS_FILE);
-        if (!file.exists()) {
-            return new ArrayList<>();
-        }
-        
-        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(file))) {
-            return (List<Member>) ois.readObject();
+        long startNanos = System.nanoTime();
+        try {
+            List<Member> records = new ArrayList<>();
+            readRecords(membersFile, Member.class, records::add);
+            return records;
+        } finally {
+            LOAD_MEMBERS_TIMER.record(startNanos);
         }
     }
 
+    // Hands each member to the sink as it is read, without holding the rest of the file
+    public void streamMembers(RecordSink<? super Member> sink) throws IOException, ClassNotFoundException {
+        readRecords(membersFile, Member.class, sink);
+    }
+
     public void saveTransactions(List<Transaction> transactions) throws IOException {
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(TRANSACTIONS_FILE))) {
-            oos.writeObject(transactions);
+        long startNanos = System.nanoTime();
+        try {
+            writeRecords(transactionsFile, transactions);
+        } finally {
+            SAVE_TRANSACTIONS_TIMER.record(startNanos);
         }
     }
 
-    @SuppressWarnings("unchecked")
     public List<Transaction> loadTransactions() throws IOException, ClassNotFoundException {
-        File file = new File(TRANSACTIONS_FILE);
-        if (!file.exists()) {
-            return new ArrayList<>();
-        }
-        
-        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(file))) {
-            return (List<Transaction>) ois.readObject();
+        long startNanos = System.nanoTime();
+        try {
+            List<Transaction> records = new ArrayList<>();
+            readRecords(transactionsFile, Transaction.class, records::add);
+            return records;
+        } finally {
+            LOAD_TRANSACTIONS_TIMER.record(startNanos);
         }
     }
 
+    // Hands each transaction to the sink as it is read, without holding the rest of the file
+    public void streamTransactions(RecordSink<? super Transaction> sink) throws IOException, ClassNotFoundException {
+        readRecords(transactionsFile, Transaction.class, sink);
+    }
+
     public void saveLoans(List<Loan> loans) throws IOException {
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(LOANS_FILE))) {
-            oos.writeObject(loans);
+        long startNanos = System.nanoTime();
+        try {
+            writeRecords(loansFile, loans);
+        } finally {
+            SAVE_LOANS_TIMER.record(startNanos);
         }
     }
 
-    @SuppressWarnings("unchecked")
     public List<Loan> loadLoans() throws IOException, ClassNotFoundException {
-        File file = new File(LOANS_FILE);
-        if (!file.exists()) {
-            return new ArrayList<>();
+        long startNanos = System.nanoTime();
+        try {
+            List<Loan> records = new ArrayList<>();
+            readRecords(loansFile, Loan.class, records::add);
+            return records;
+        } finally {
+            LOAD_LOANS_TIMER.record(startNanos);
         }
-        
-        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(file))) {
-            return (List<Loan>) ois.readObject();
+    }
+
+    // Hands each loan to the sink as it is read, without holding the rest of the file
+    public void streamLoans(RecordSink<? super Loan> sink) throws IOException, ClassNotFoundException {
+        readRecords(loansFile, Loan.class, sink);
+    }
+
+    // Members, transactions and loans are stored one object per record, ending with a null, so they
+    // can be read back one at a time. The stream is reset every RESET_INTERVAL records, which keeps the
+    // writer's and reader's back-reference tables small; records never share objects with each other.
+    // Files written before this format hold a single List and are still read, though all at once.
+    private static final int RESET_INTERVAL = 1024;
+
+    public interface RecordSink<T> {
+        void accept(T record) throws IOException;
+    }
+
+    private static void writeRecords(String path, List<?> records) throws IOException {
+        try (ObjectOutputStream oos = new ObjectOutputStream(
+                new BufferedOutputStream(new FileOutputStream(path), IO_BUFFER_SIZE))) {
+            int sinceReset = 0;
+            for (Object record : records) {
+                oos.writeObject(record);
+                if (++sinceReset == RESET_INTERVAL) {
+                    oos.reset();
+                    sinceReset = 0;
+                }
+            }
+            oos.writeObject(null);
+        }
+    }
+
+    private static <T> void readRecords(String path, Class<T> type, RecordSink<? super T> sink)
+            throws IOException, ClassNotFoundException {
+        File file = new File(path);
+        if (!file.exists()) return;
+
+        try (ObjectInputStream ois = new ObjectInputStream(
+                new BufferedInputStream(new FileInputStream(file), IO_BUFFER_SIZE))) {
+            Object first = ois.readObject();
+            if (first instanceof List) {
+                for (Object record : (List<?>) first) sink.accept(type.cast(record));
+                return;
+            }
+            for (Object record = first; record != null; record = ois.readObject()) {
+                sink.accept(type.cast(record));
+            }
         }
     }
 
     public void saveUsers(List<User> users) throws IOException {
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(USERS_FILE))) {
-            oos.writeObject(users);
+        long startNanos = System.nanoTime();
+        try {
+            try (ObjectOutputStream oos = new ObjectOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(usersFile), IO_BUFFER_SIZE))) {
+                oos.writeObject(users);
+            }
+        } finally {
+            SAVE_USERS_TIMER.record(startNanos);
         }
     }
 
     @SuppressWarnings("unchecked")
     public List<User> loadUsers() throws IOException, ClassNotFoundException {
-        File file = new File(USERS_FILE);
-        if (!file.exists()) {
-            return new ArrayList<>();
+        long startNanos = System.nanoTime();
+        try {
+            File file = new File(usersFile);
+            if (!file.exists()) {
+                return new ArrayList<>();
+            }
+        
+            try (ObjectInputStream ois = new ObjectInputStream(
+                    new BufferedInputStream(new FileInputStream(file), IO_BUFFER_SIZE))) {
+                return (List<User>) ois.readObject();
+            }
+        } finally {
+            LOAD_USERS_TIMER.record(startNanos);
+        }
+    }
+
+    // Custom roles: "roleName=PERMISSION,PERMISSION,..." lines; unknown permission names are ignored
+    public Map<String, Set<Permission>> loadCustomRoles() throws IOException {
+        long startNanos = System.nanoTime();
+        try {
+            Map<String, Set<Permission>> roles = new LinkedHashMap<>();
+            File file = new File(rolesFile);
+            if (!file.exists()) {
+                return roles;
+            }
+
+            Properties properties = new Properties();
+            try (Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+            for (String roleName : properties.stringPropertyNames()) {
+                Set<Permission> permissions = EnumSet.noneOf(Permission.class);
+                for (String name : properties.getProperty(roleName).split(",")) {
+                    try {
+                        permissions.add(Permission.valueOf(name.trim()));
+                    } catch (IllegalArgumentException e) {
+                        // ignore unknown permission
+                    }
+                }
+                roles.put(roleName, permissions);
+            }
+            return roles;
+        } finally {
+            LOAD_CUSTOM_ROLES_TIMER.record(startNanos);
+        }
+    }
+
+    // Login journal: one "userId,date" line per login, folded into users.dat on the next full save
+    public void appendLoginRecord(String userId, LocalDate date) throws IOException {
+        long startNanos = System.nanoTime();
+        try {
+            try (Writer writer = new OutputStreamWriter(new FileOutputStream(loginJournalFile, true), StandardCharsets.UTF_8)) {
+                writer.write(userId + "," + date + "\n");
+            }
+        } finally {
+            APPEND_LOGIN_RECORD_TIMER.record(startNanos);
         }
+    }
+
+    public Map<String, LocalDate> loadLoginRecords() throws IOException {
+        long startNanos = System.nanoTime();
+        try {
+            Map<String, LocalDate> lastLogins = new LinkedHashMap<>();
+            File file = new File(loginJournalFile);
+            if (!file.exists()) {
+                return lastLogins;
+            }
+
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    int comma = line.indexOf(',');
+                    if (comma < 0) continue; // torn final line
+                    try {
+                        lastLogins.put(line.substring(0, comma), LocalDate.parse(line.substring(comma + 1)));
+                    } catch (java.time.format.DateTimeParseException e) {
+                        // skip torn final line
+                    }
+                }
+            }
+            return lastLogins;
+        } finally {
+            LOAD_LOGIN_RECORDS_TIMER.record(startNanos);
+        }
+    }
+
+    public void clearLoginJournal() {
+        long startNanos = System.nanoTime();
+        try {
+            File file = new File(loginJournalFile);
+            if (file.exists()) {
+                file.delete();
+            }
+        } finally {
+            CLEAR_LOGIN_JOURNAL_TIMER.record(startNanos);
+        }
+    }
+
+    public void saveIdempotencyKeys(Map<String, ? extends Serializable> keys) throws IOException {
+        long startNanos = System.nanoTime();
+        try {
+            try (ObjectOutputStream oos = new ObjectOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(idempotencyFile), IO_BUFFER_SIZE))) {
+                oos.writeObject(new LinkedHashMap<>(keys));
+            }
+        } finally {
+            SAVE_IDEMPOTENCY_KEYS_TIMER.record(startNanos);
+        }
+    }
+
+    // Values are whatever the service saved; files from before request fingerprints hold Long timestamps
+    @SuppressWarnings("unchecked")
+    public Map<String, Serializable> loadIdempotencyKeys() throws IOException, ClassNotFoundException {
+        long startNanos = System.nanoTime();
+        try {
+            File file = new File(idempotencyFile);
+            if (!file.exists()) {
+                return new LinkedHashMap<>();
+            }
         
-        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(file))) {
-            return (List<User>) ois.readObject();
+            try (ObjectInputStream ois = new ObjectInputStream(
+                    new BufferedInputStream(new FileInputStream(file), IO_BUFFER_SIZE))) {
+                return (Map<String, Serializable>) ois.readObject();
+            }
+        } finally {
+            LOAD_IDEMPOTENCY_KEYS_TIMER.record(startNanos);
+        }
+    }
+
+    // Content keys of every CSV chunk ever imported; unlike idempotency keys these never expire
+    public void saveImportedChunks(Set<String> chunkKeys) throws IOException {
+        long startNanos = System.nanoTime();
+        try {
+            try (ObjectOutputStream oos = new ObjectOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(importedChunksFile), IO_BUFFER_SIZE))) {
+                oos.writeObject(new LinkedHashSet<>(chunkKeys));
+            }
+        } finally {
+            SAVE_IMPORTED_CHUNKS_TIMER.record(startNanos);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public Set<String> loadImportedChunks() throws IOException, ClassNotFoundException {
+        long startNanos = System.nanoTime();
+        try {
+            File file = new File(importedChunksFile);
+            if (!file.exists()) {
+                return new LinkedHashSet<>();
+            }
+
+            try (ObjectInputStream ois = new ObjectInputStream(
+                    new BufferedInputStream(new FileInputStream(file), IO_BUFFER_SIZE))) {
+                return (Set<String>) ois.readObject();
+            }
+        } finally {
+            LOAD_IMPORTED_CHUNKS_TIMER.record(startNanos);
+        }
+    }
+
+    // Inverted description index: magic, version, ledger length covered, a fingerprint of the last
+    // covered transaction ("" when none), then per term its UTF name and ascending positions as varint
+    // deltas. Written to a temp file and renamed into place.
+    private static final int DESCRIPTION_INDEX_MAGIC = 0x43414D49; // "CAMI"
+    private static final int DESCRIPTION_INDEX_VERSION = 2;
+
+    public void saveDescriptionIndex(int coveredTransactions, String lastCoveredFingerprint,
+                                     Map<String, int[]> postings) throws IOException {
+        long startNanos = System.nanoTime();
+        try {
+            File target = new File(descriptionIndexFile);
+            File temp = new File(descriptionIndexFile + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp), IO_BUFFER_SIZE))) {
+                out.writeInt(DESCRIPTION_INDEX_MAGIC);
+                out.writeInt(DESCRIPTION_INDEX_VERSION);
+                out.writeInt(coveredTransactions);
+                out.writeUTF(lastCoveredFingerprint == null ? "" : lastCoveredFingerprint);
+                out.writeInt(postings.size());
+                for (Map.Entry<String, int[]> entry : postings.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    int[] positions = entry.getValue();
+                    writeVarint(out, positions.length);
+                    int previous = 0;
+                    for (int position : positions) {
+                        writeVarint(out, position - previous);
+                        previous = position;
+                    }
+                }
+            }
+            if (!temp.renameTo(target)) {
+                target.delete();
+                if (!temp.renameTo(target)) throw new IOException("Could not replace " + descriptionIndexFile);
+            }
+        } finally {
+            SAVE_DESCRIPTION_INDEX_TIMER.record(startNanos);
+        }
+    }
+
+    // Fills postings and returns the ledger length the saved index covers. Returns 0 when the file is
+    // missing or unreadable, or when it was built over another ledger: fingerprintAt gives the fingerprint
+    // at a ledger position (null past the end), which must match the one saved for the last covered one.
+    public int loadDescriptionIndex(Map<String, int[]> postings, IntFunction<String> fingerprintAt) throws IOException {
+        long startNanos = System.nanoTime();
+        try {
+            File file = new File(descriptionIndexFile);
+            if (!file.exists()) return 0;
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), IO_BUFFER_SIZE))) {
+                if (in.readInt() != DESCRIPTION_INDEX_MAGIC || in.readInt() != DESCRIPTION_INDEX_VERSION) return 0;
+                int covered = in.readInt();
+                String lastCoveredFingerprint = in.readUTF();
+                String expected = covered == 0 ? "" : fingerprintAt.apply(covered - 1);
+                if (!lastCoveredFingerprint.equals(expected)) return 0;
+                int terms = in.readInt();
+                for (int t = 0; t < terms; t++) {
+                    String term = in.readUTF();
+                    int[] positions = new int[readVarint(in)];
+                    int previous = 0;
+                    for (int i = 0; i < positions.length; i++) {
+                        previous += readVarint(in);
+                        positions[i] = previous;
+                    }
+                    postings.put(term, positions);
+                }
+                return covered;
+            } catch (EOFException e) {
+                postings.clear();
+                return 0; // truncated file; the caller rebuilds from the ledger
+            }
+        } finally {
+            LOAD_DESCRIPTION_INDEX_TIMER.record(startNanos);
+        }
+    }
+
+    private static void writeVarint(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarint(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
         }
     }
 
     // Backup functionality
     public void createBackup() throws IOException {
-        String backupDir = DATA_DIR + "/backup_" + java.time.LocalDateTime.now().toString().replace(":", "-");
-        File backup = new File(backupDir);
-        backup.mkdirs();
+        long startNanos = System.nanoTime();
+        try {
+            String backupDir = dataDir + "/backup_" + java.time.LocalDateTime.now().toString().replace(":", "-");
+            File backup = new File(backupDir);
+            backup.mkdirs();
+
+            JfrEvents.CreateBackup event = new JfrEvents.CreateBackup();
+            event.begin();
+            event.backupDir = backupDir;
 
-        // Copy all data files to backup directory
-        copyFile(MEMBERS_FILE, backupDir + "/members.dat");
-        copyFile(TRANSACTIONS_FILE, backupDir + "/transactions.dat");
-        copyFile(LOANS_FILE, backupDir + "/loans.dat");
-        copyFile(USERS_FILE, backupDir + "/users.dat");
+            // Copy all data files to backup directory
+            copyFile(membersFile, backupDir + "/members.dat", event);
+            copyFile(transactionsFile, backupDir + "/transactions.dat", event);
+            copyFile(loansFile, backupDir + "/loans.dat", event);
+            copyFile(usersFile, backupDir + "/users.dat", event);
+            copyFile(idempotencyFile, backupDir + "/idempotency.dat", event);
+            copyFile(loginJournalFile, backupDir + "/logins.log", event);
+            copyFile(rolesFile, backupDir + "/roles.properties", event);
+            copyFile(descriptionIndexFile, backupDir + "/descriptions.idx", event);
+            copyFile(importedChunksFile, backupDir + "/imports.dat", event);
+            event.commit();
+        } finally {
+            CREATE_BACKUP_TIMER.record(startNanos);
+        }
     }
 
-    private void copyFile(String source, String destination) throws IOException {
+    private void copyFile(String source, String destination, JfrEvents.CreateBackup event) throws IOException {
         File sourceFile = new File(source);
         if (!sourceFile.exists()) return;
 
@@ -118,7 +514,13 @@ public class DataPersistence {
             int length;
             while ((length = fis.read(buffer)) > 0) {
                 fos.write(buffer, 0, length);
+                event.bytesCopied += length;
             }
         }
+        event.filesCopied++;
+    }
+
+    public long getLoginJournalSize() {
+        return new File(loginJournalFile).length();
     }
 }
\ No newline at end of file
@@ -0,0 +1,117 @@
+package server;
+
+// Minimal streaming JSON writer for API responses
+final class JsonWriter {
+    private final StringBuilder out = new StringBuilder(256);
+    private boolean needComma;
+
+    JsonWriter beginObject() {
+        comma();
+        out.append('{');
+        needComma = false;
+        return this;
+    }
+
+    JsonWriter endObject() {
+        out.append('}');
+        needComma = true;
+        return this;
+    }
+
+    JsonWriter beginArray() {
+        comma();
+        out.append('[');
+        needComma = false;
+        return this;
+    }
+
+    JsonWriter endArray() {
+        out.append(']');
+        needComma = true;
+        return this;
+    }
+
+    JsonWriter name(String name) {
+        comma();
+        string(name);
+        out.append(':');
+        needComma = false;
+        return this;
+    }
+
+    JsonWriter value(String value) {
+        comma();
+        if (value == null) {
+            out.append("null");
+        } else {
+            string(value);
+        }
+        needComma = true;
+        return this;
+    }
+
+    JsonWriter value(Object value) {
+        return value(value == null ? null : value.toString());
+    }
+
+    JsonWriter value(double value) {
+        comma();
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            out.append("null");
+        } else {
+            out.append(value);
+        }
+        needComma = true;
+        return this;
+    }
+
+    JsonWriter value(long value) {
+        comma();
+        out.append(value);
+        needComma = true;
+        return this;
+    }
+
+    JsonWriter value(boolean value) {
+        comma();
+        out.append(value);
+        needComma = true;
+        return this;
+    }
+
+    JsonWriter field(String name, String value) { return name(name).value(value); }
+    JsonWriter field(String name, Object value) { return name(name).value(value); }
+    JsonWriter field(String name, double value) { return name(name).value(value); }
+    JsonWriter field(String name, long value) { return name(name).value(value); }
+    JsonWriter field(String name, boolean value) { return name(name).value(value); }
+
+    private void comma() {
+        if (needComma) out.append(',');
+    }
+
+    private void string(String s) {
+        out.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"': out.append("\\\""); break;
+                case '\\': out.append("\\\\"); break;
+                case '\n': out.append("\\n"); break;
+                case '\r': out.append("\\r"); break;
+                case '\t': out.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+            }
+        }
+        out.append('"');
+    }
+
+    @Override
+    public String toString() {
+        return out.toString();
+    }
+}
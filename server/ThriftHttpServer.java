@@ -0,0 +1,457 @@
+package server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import model.Account;
+import model.Loan;
+import model.Member;
+import model.Permission;
+import model.Transaction;
+import service.AssociationService;
+import service.AssociationSnapshot;
+import service.MemberSortKey;
+import service.Page;
+import service.ReconciliationEngine;
+import service.SummaryReport;
+import validation.ValidationResult;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Headless JSON API over the JDK HTTP server. Requests authenticate with the bearer token
+// returned by POST /api/login; form-encoded or query parameters carry the arguments.
+public class ThriftHttpServer {
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    // Every endpoint takes a handful of short form fields
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+
+    private final AssociationService associationService;
+    private final String host;
+    private final int port;
+    private HttpServer httpServer;
+    private ExecutorService executor;
+
+    public ThriftHttpServer(AssociationService associationService, String host, int port) {
+        this.associationService = associationService;
+        this.host = host;
+        this.port = port;
+    }
+
+    public void start() throws IOException {
+        httpServer = HttpServer.create(new InetSocketAddress(host, port), 0);
+        httpServer.createContext("/api/", this::handle);
+        executor = createExecutor();
+        httpServer.setExecutor(executor);
+        httpServer.start();
+    }
+
+    public void stop() {
+        if (httpServer != null) httpServer.stop(1);
+        if (executor != null) executor.shutdown();
+    }
+
+    public int getPort() {
+        return httpServer != null ? httpServer.getAddress().getPort() : port;
+    }
+
+    // One virtual thread per request when the runtime has them (Java 21+), else a cached pool
+    private static ExecutorService createExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    // Responses are built while holding the service lock but written after releasing it, so a slow
+    // client cannot stall every other request
+    private void handle(HttpExchange exchange) throws IOException {
+        Response response;
+        try {
+            String method = exchange.getRequestMethod();
+            String rawPath = exchange.getRequestURI().getPath();
+            String[] path = rawPath.substring("/api/".length()).split("/");
+            Map<String, String> params = readParams(exchange);
+
+            if (path.length == 1 && path[0].equals("login") && method.equals("POST")) {
+                response = login(params);
+            } else {
+                String token = bearerToken(exchange);
+                // The service tracks one current user, so requests are applied one at a time
+                synchronized (associationService) {
+                    if (!associationService.authenticateWithToken(token)) {
+                        response = new Response(401, error("Missing or expired session token"));
+                    } else {
+                        try {
+                            response = route(method, path, params, rawPath);
+                        } finally {
+                            associationService.detachSession();
+                        }
+                    }
+                }
+            }
+        } catch (RequestTooLargeException e) {
+            response = new Response(413, error(e.getMessage()));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            response = new Response(400, error(e.getMessage()));
+        } catch (Exception e) {
+            response = new Response(500, error("Internal error: " + e.getMessage()));
+        }
+        try {
+            send(exchange, response.status, response.body);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private Response route(String method, String[] path, Map<String, String> params, String rawPath) {
+        String resource = path[0];
+        boolean get = method.equals("GET");
+        boolean post = method.equals("POST");
+
+        if (resource.equals("logout") && post) {
+            associationService.logout();
+            return new Response(200, new JsonWriter().beginObject().field("loggedOut", true).endObject());
+        } else if (resource.equals("members") && get && path.length == 1) {
+            return listMembers(params);
+        } else if (resource.equals("members") && get && path.length == 2) {
+            return memberDetails(path[1]);
+        } else if (resource.equals("deposits") && post) {
+            ValidationResult result = associationService.deposit(required(params, "memberId"),
+                parseAmount(required(params, "amount")), params.getOrDefault("description", "API Contribution"),
+                params.get("idempotencyKey"));
+            return fromResult(result);
+        } else if (resource.equals("withdrawals") && post) {
+            ValidationResult result = associationService.withdraw(required(params, "memberId"),
+                parseAmount(required(params, "amount")), params.getOrDefault("description", "API Withdrawal"),
+                params.get("idempotencyKey"));
+            return fromResult(result);
+        } else if (resource.equals("loans") && get && path.length == 1) {
+            return listLoans(params);
+        } else if (resource.equals("loans") && post && path.length == 1) {
+            ValidationResult result = associationService.applyForLoan(required(params, "memberId"),
+                parseAmount(required(params, "amount")), parseAmount(params.getOrDefault("interestRate", "12.0")),
+                Integer.parseInt(params.getOrDefault("termInMonths", "12")), params.getOrDefault("purpose", ""));
+            return fromResult(result);
+        } else if (resource.equals("loans") && post && path.length == 3 && path[2].equals("approve")) {
+            return fromResult(associationService.approveLoan(path[1]));
+        } else if (resource.equals("loans") && post && path.length == 3 && path[2].equals("disburse")) {
+            return fromResult(associationService.disburseLoan(path[1]));
+        } else if (resource.equals("transactions") && get && path.length == 2 && path[1].equals("search")) {
+            return searchTransactions(params);
+        } else if (resource.equals("reports") && get && path.length == 2 && path[1].equals("monthly")) {
+            return monthlyReport(params);
+        } else if (resource.equals("reports") && get && path.length == 2 && path[1].equals("summary")) {
+            return summaryReport();
+        } else if (resource.equals("reconciliation") && get && path.length == 1) {
+            return reconciliation();
+        } else {
+            return new Response(404, error("No such endpoint: " + method + " " + rawPath));
+        }
+    }
+
+    private Response login(Map<String, String> params) {
+        String token;
+        synchronized (associationService) {
+            if (!associationService.authenticateUser(required(params, "username"), required(params, "password"))) {
+                return new Response(401, error("Invalid credentials"));
+            }
+            token = associationService.getSessionToken();
+            associationService.detachSession();
+        }
+        return new Response(200, new JsonWriter().beginObject().field("token", token).endObject());
+    }
+
+    private Response listMembers(Map<String, String> params) {
+        MemberSortKey sortKey = MemberSortKey.valueOf(params.getOrDefault("sort", "ID").toUpperCase());
+        Boolean active = params.containsKey("active") ? Boolean.valueOf(params.get("active")) : null;
+        Page<AssociationSnapshot.MemberView> page =
+            associationService.listMembers(sortKey, active, params.get("cursor"), pageSize(params));
+
+        JsonWriter json = new JsonWriter().beginObject()
+            .field("total", page.getTotalMatches())
+            .field("nextCursor", page.getNextCursor())
+            .name("items").beginArray();
+        for (AssociationSnapshot.MemberView member : page.getItems()) {
+            json.beginObject()
+                .field("memberId", member.getMemberId())
+                .field("name", member.getFullName())
+                .field("email", member.getEmail())
+                .field("phone", member.getPhoneNumber())
+                .field("joinDate", member.getJoinDate())
+                .field("active", member.isActive())
+                .field("balance", member.getBalance())
+                .endObject();
+        }
+        return new Response(200, json.endArray().endObject());
+    }
+
+    private Response memberDetails(String memberId) {
+        if (!associationService.hasPermission(Permission.VIEW_MEMBERS)) {
+            return new Response(403, error("Insufficient permissions"));
+        }
+        Optional<Member> memberOpt = associationService.findMember(memberId);
+        if (!memberOpt.isPresent()) {
+            return new Response(404, error("Member not found: " + memberId));
+        }
+
+        Member member = memberOpt.get();
+        Account account = member.getAccount();
+        return new Response(200, new JsonWriter().beginObject()
+            .field("memberId", member.getMemberId())
+            .field("name", member.getFullName())
+            .field("email", member.getEmail())
+            .field("phone", member.getPhoneNumber())
+            .field("address", member.getAddress())
+            .field("occupation", member.getOccupation())
+            .field("joinDate", member.getJoinDate())
+            .field("active", member.isActive())
+            .field("balance", account.getBalance())
+            .field("totalContributions", account.getTotalContributions())
+            .field("totalWithdrawals", account.getTotalWithdrawals())
+            .field("totalInterest", account.getTotalInterest())
+            .field("interestRate", account.getInterestRate())
+            .field("transactionCount", account.getTransactionHistory().size())
+            .endObject());
+    }
+
+    private Response listLoans(Map<String, String> params) {
+        Loan.LoanStatus status = params.containsKey("status")
+            ? Loan.LoanStatus.valueOf(params.get("status").toUpperCase()) : null;
+        Page<AssociationSnapshot.LoanView> page = associationService.listLoans(status, params.get("memberId"),
+            params.get("cursor"), pageSize(params));
+
+        JsonWriter json = new JsonWriter().beginObject()
+            .field("total", page.getTotalMatches())
+            .field("nextCursor", page.getNextCursor())
+            .name("items").beginArray();
+        for (AssociationSnapshot.LoanView loan : page.getItems()) {
+            json.beginObject()
+                .field("loanId", loan.getLoanId())
+                .field("memberId", loan.getMemberId())
+                .field("principal", loan.getPrincipalAmount())
+                .field("outstanding", loan.getOutstandingBalance())
+                .field("status", loan.getStatus())
+                .field("applicationDate", loan.getApplicationDate())
+                .field("disbursementDate", loan.getDisbursementDate())
+                .endObject();
+        }
+        return new Response(200, json.endArray().endObject());
+    }
+
+    private Response searchTransactions(Map<String, String> params) {
+        if (!associationService.hasPermission(Permission.VIEW_MEMBERS)) {
+            return new Response(403, error("Insufficient permissions"));
+        }
+        LocalDate from = params.containsKey("from") ? LocalDate.parse(params.get("from")) : null;
+        LocalDate to = params.containsKey("to") ? LocalDate.parse(params.get("to")) : null;
+        List<Transaction> matches = associationService.searchTransactions(required(params, "q"), params.get("memberId"),
+            from, to, pageSize(params));
+
+        JsonWriter json = new JsonWriter().beginObject().name("items").beginArray();
+        for (Transaction transaction : matches) {
+            json.beginObject()
+                .field("transactionId", transaction.getTransactionId())
+                .field("memberId", transaction.getMemberId())
+                .field("type", transaction.getTransactionType())
+                .field("amount", transaction.getAmount())
+                .field("date", transaction.getDate())
+                .field("description", transaction.getDescription())
+                .endObject();
+        }
+        return new Response(200, json.endArray().endObject());
+    }
+
+    private Response monthlyReport(Map<String, String> params) {
+        YearMonth month = params.containsKey("month") ? YearMonth.parse(params.get("month")) : YearMonth.now();
+        AssociationService.MonthlyReport report = associationService.generateMonthlyReport(month);
+        if (report == null) {
+            return new Response(403, error("Insufficient permissions"));
+        }
+        return new Response(200, new JsonWriter().beginObject()
+            .field("month", report.getMonth())
+            .field("totalMembers", report.getTotalMembers())
+            .field("newMembers", report.getNewMembers())
+            .field("totalTransactions", report.getTotalTransactions())
+            .field("totalContributions", report.getTotalContributions())
+            .field("totalWithdrawals", report.getTotalWithdrawals())
+            .field("totalInterest", report.getTotalInterest())
+            .field("netFlow", report.getNetFlow())
+            .field("totalBalance", report.getTotalBalance())
+            .endObject());
+    }
+
+    private Response summaryReport() {
+        SummaryReport report = associationService.getSummaryReport();
+        if (report == null) {
+            return new Response(403, error("Insufficient permissions"));
+        }
+        JsonWriter json = new JsonWriter().beginObject()
+            .field("version", report.getVersion())
+            .field("totalMembers", report.getTotalMembers())
+            .field("activeMembers", report.getActiveMembers())
+            .field("totalBalance", report.getTotalBalance())
+            .field("transactionCount", report.getTransactionCount())
+            .field("totalContributions", report.getTotalContributions())
+            .field("totalWithdrawals", report.getTotalWithdrawals())
+            .field("totalInterest", report.getTotalInterest())
+            .field("totalLoans", report.getTotalLoans())
+            .field("outstandingLoanBalance", report.getOutstandingLoanBalance())
+            .name("loansByStatus").beginObject();
+        for (Map.Entry<Loan.LoanStatus, Integer> entry : report.getLoansByStatus().entrySet()) {
+            json.field(entry.getKey().name(), entry.getValue());
+        }
+        return new Response(200, json.endObject().endObject());
+    }
+
+    private Response reconciliation() {
+        ReconciliationEngine.Report report = associationService.reconcile();
+        if (report == null) {
+            return new Response(403, error("Insufficient permissions"));
+        }
+        JsonWriter json = new JsonWriter().beginObject()
+            .field("clean", report.isClean())
+            .field("discrepancyCount", report.getDiscrepancyCount())
+            .field("ledgerBalance", report.getLedgerBalance())
+            .field("elapsedMillis", report.getElapsedNanos() / 1_000_000)
+            .name("countsByKind").beginObject();
+        for (Map.Entry<ReconciliationEngine.Kind, Integer> entry : report.getCountsByKind().entrySet()) {
+            json.field(entry.getKey().name(), entry.getValue());
+        }
+        json.endObject().name("discrepancies").beginArray();
+        for (ReconciliationEngine.Discrepancy discrepancy : report.getDiscrepancies()) {
+            json.beginObject()
+                .field("kind", discrepancy.getKind().name())
+                .field("subject", discrepancy.getSubject())
+                .field("detail", discrepancy.getDetail())
+                .field("firstTransactionId", discrepancy.getFirstTransactionId())
+                .field("lastTransactionId", discrepancy.getLastTransactionId())
+                .endObject();
+        }
+        return new Response(200, json.endArray().endObject());
+    }
+
+    private static Response fromResult(ValidationResult result) {
+        int status;
+        switch (result.getReason()) {
+            case OK: status = 200; break;
+            case PERMISSION_DENIED: status = 403; break;
+            case MEMBER_NOT_FOUND:
+            case LOAN_NOT_FOUND: status = 404; break;
+            case IDEMPOTENCY_CONFLICT: status = 409; break;
+            case PROCESSING_ERROR: status = 500; break;
+            default: status = 422;
+        }
+        return new Response(status, new JsonWriter().beginObject()
+            .field("ok", result.isValid())
+            .field("reason", result.getReason())
+            .field("message", result.getMessage())
+            .endObject());
+    }
+
+    private static JsonWriter error(String message) {
+        return new JsonWriter().beginObject().field("error", message).endObject();
+    }
+
+    private static void send(HttpExchange exchange, int status, JsonWriter json) throws IOException {
+        byte[] body = json.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static String bearerToken(HttpExchange exchange) {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        if (header == null || !header.startsWith("Bearer ")) return null;
+        return header.substring("Bearer ".length()).trim();
+    }
+
+    // Query string parameters, overlaid with form-encoded body parameters
+    private static Map<String, String> readParams(HttpExchange exchange) throws IOException {
+        Map<String, String> params = new HashMap<>();
+        parseForm(exchange.getRequestURI().getRawQuery(), params);
+        String declaredLength = exchange.getRequestHeaders().getFirst("Content-Length");
+        if (declaredLength != null && Long.parseLong(declaredLength.trim()) > MAX_BODY_BYTES) {
+            throw new RequestTooLargeException("Request body exceeds " + MAX_BODY_BYTES + " bytes");
+        }
+        try (InputStream in = exchange.getRequestBody()) {
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                if (body.size() + read > MAX_BODY_BYTES) {
+                    throw new RequestTooLargeException("Request body exceeds " + MAX_BODY_BYTES + " bytes");
+                }
+                body.write(buffer, 0, read);
+            }
+            parseForm(body.toString(StandardCharsets.UTF_8), params);
+        }
+        return params;
+    }
+
+    private static void parseForm(String encoded, Map<String, String> params) {
+        if (encoded == null || encoded.isEmpty()) return;
+        for (String pair : encoded.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            params.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+    }
+
+    private static String required(Map<String, String> params, String name) {
+        String value = params.get(name);
+        if (value == null || value.isEmpty()) throw new IllegalArgumentException("Missing parameter: " + name);
+        return value;
+    }
+
+    private static double parseAmount(String value) {
+        double amount;
+        try {
+            amount = Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number: " + value);
+        }
+        if (!Double.isFinite(amount)) throw new IllegalArgumentException("Invalid number: " + value);
+        return amount;
+    }
+
+    private static int pageSize(Map<String, String> params) {
+        int limit = Integer.parseInt(params.getOrDefault("limit", String.valueOf(DEFAULT_PAGE_SIZE)));
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    private static final class Response {
+        final int status;
+        final JsonWriter body;
+
+        Response(int status, JsonWriter body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+
+    private static final class RequestTooLargeException extends RuntimeException {
+        RequestTooLargeException(String message) {
+            super(message);
+        }
+    }
+}
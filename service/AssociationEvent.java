@@ -0,0 +1,56 @@
+package service;
+
+import model.Loan;
+import model.Transaction;
+
+// Change notifications published to AssociationListeners once the change has been committed
+public abstract class AssociationEvent {
+    private final long version;
+
+    AssociationEvent(long version) {
+        this.version = version;
+    }
+
+    // Snapshot version the change first appears in
+    public long getVersion() { return version; }
+
+    public static final class TransactionPosted extends AssociationEvent {
+        private final Transaction transaction;
+        private final double balanceAfter;
+
+        TransactionPosted(long version, Transaction transaction, double balanceAfter) {
+            super(version);
+            this.transaction = transaction;
+            this.balanceAfter = balanceAfter;
+        }
+
+        public Transaction getTransaction() { return transaction; }
+        public double getBalanceAfter() { return balanceAfter; }
+    }
+
+    public static final class MemberAdded extends AssociationEvent {
+        private final AssociationSnapshot.MemberView member;
+
+        MemberAdded(long version, AssociationSnapshot.MemberView member) {
+            super(version);
+            this.member = member;
+        }
+
+        public AssociationSnapshot.MemberView getMember() { return member; }
+    }
+
+    public static final class LoanStatusChanged extends AssociationEvent {
+        private final AssociationSnapshot.LoanView loan;
+        private final Loan.LoanStatus previousStatus;
+
+        LoanStatusChanged(long version, AssociationSnapshot.LoanView loan, Loan.LoanStatus previousStatus) {
+            super(version);
+            this.loan = loan;
+            this.previousStatus = previousStatus;
+        }
+
+        public AssociationSnapshot.LoanView getLoan() { return loan; }
+        // null for a newly submitted application
+        public Loan.LoanStatus getPreviousStatus() { return previousStatus; }
+    }
+}
@@ -0,0 +1,7 @@
+package service;
+
+// Called on the thread that committed the change, with the service lock held: return quickly and
+// never call back into the service's mutating methods.
+public interface AssociationListener {
+    void onEvent(AssociationEvent event);
+}
@@ -0,0 +1,112 @@
+package service;
+
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+// Publishes counts and persistence timings over JMX under fip.cams:type=AssociationService, so a
+// stalled save can be seen from jconsole/VisualVM while it is still running (SaveInProgress and
+// CurrentSaveElapsedMillis). Reads only the published snapshot and volatile timings, never the
+// service's mutable lists.
+public class AssociationMonitor implements AssociationMonitorMBean {
+    private static final String OBJECT_NAME = "fip.cams:type=AssociationService";
+
+    // Rough retained sizes per entity (object headers, strings, boxed dates), for trend-watching only
+    private static final long MEMBER_BYTES = 640;
+    private static final long TRANSACTION_BYTES = 200;
+    private static final long LOAN_BYTES = 320;
+
+    private final AssociationService service;
+
+    AssociationMonitor(AssociationService service) {
+        this.service = service;
+    }
+
+    // The most recently constructed service wins the name; failures only cost the monitoring
+    static void register(AssociationService service) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            try {
+                server.unregisterMBean(name);
+            } catch (InstanceNotFoundException e) {
+                // first registration
+            }
+            server.registerMBean(new AssociationMonitor(service), name);
+        } catch (JMException | SecurityException e) {
+            System.err.println("JMX monitoring unavailable: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public int getMemberCount() {
+        return service.getSnapshot().getTotalMembers();
+    }
+
+    @Override
+    public int getTransactionCount() {
+        return service.getSnapshot().getTransactionCount();
+    }
+
+    @Override
+    public int getLoanCount() {
+        return service.getSnapshot().getTotalLoans();
+    }
+
+    @Override
+    public long getSnapshotVersion() {
+        return service.getSnapshot().getVersion();
+    }
+
+    @Override
+    public long getEstimatedDataHeapBytes() {
+        AssociationSnapshot snapshot = service.getSnapshot();
+        return snapshot.getTotalMembers() * MEMBER_BYTES
+            + snapshot.getTransactionCount() * TRANSACTION_BYTES
+            + snapshot.getTotalLoans() * LOAN_BYTES;
+    }
+
+    @Override
+    public long getHeapUsedBytes() {
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    @Override
+    public double getLastSaveDurationMillis() {
+        return toMillis(service.getLastSaveDurationNanos());
+    }
+
+    @Override
+    public String getLastSaveTime() {
+        long completed = service.getLastSaveCompletedMillis();
+        return completed == 0 ? "never" : Instant.ofEpochMilli(completed).toString();
+    }
+
+    @Override
+    public boolean isSaveInProgress() {
+        return service.getCurrentSaveElapsedNanos() >= 0;
+    }
+
+    // -1 when no save is running
+    @Override
+    public double getCurrentSaveElapsedMillis() {
+        return toMillis(service.getCurrentSaveElapsedNanos());
+    }
+
+    @Override
+    public double getLastLoadDurationMillis() {
+        return toMillis(service.getLastLoadDurationNanos());
+    }
+
+    @Override
+    public long getLoginJournalSizeBytes() {
+        return service.getDataPersistence().getLoginJournalSize();
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos < 0 ? -1 : nanos / 1e6;
+    }
+}
@@ -0,0 +1,19 @@
+package service;
+
+// Read-only JMX view of the running association (see AssociationMonitor)
+public interface AssociationMonitorMBean {
+    int getMemberCount();
+    int getTransactionCount();
+    int getLoanCount();
+    long getSnapshotVersion();
+
+    long getEstimatedDataHeapBytes();
+    long getHeapUsedBytes();
+
+    double getLastSaveDurationMillis();
+    String getLastSaveTime();
+    boolean isSaveInProgress();
+    double getCurrentSaveElapsedMillis();
+    double getLastLoadDurationMillis();
+    long getLoginJournalSizeBytes();
+}
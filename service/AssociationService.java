@@ -2,90 +2,252 @@ package service;
 
 import model.*;
 import validation.TransactionValidator;
+import validation.ValidationResult;
+import validation.ValidationResult.Reason;
 import persistence.DataPersistence;
+import metrics.JfrEvents;
+import metrics.OperationMetrics;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 // Enhanced Association Service
 public class AssociationService {
+    private static final long SESSION_TTL_MILLIS = 12L * 60 * 60 * 1000; // one shift
+    private static final int SESSION_SWEEP_THRESHOLD = 1024;
+    private static final long NO_SAVE_IN_PROGRESS = Long.MIN_VALUE;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private static final SecureRandom TOKEN_RANDOM = new SecureRandom();
+    // The description index is rewritten once this many transactions are unsaved; load catches up the rest
+    private static final int DESCRIPTION_INDEX_FLUSH_INTERVAL = 1000;
+
+    // Latency timers for the public operations (trivial accessors are not timed)
+    private static final OperationMetrics.Timer AUTHENTICATE_USER_TIMER = OperationMetrics.timer("service.authenticateUser");
+    private static final OperationMetrics.Timer AUTHENTICATE_WITH_TOKEN_TIMER = OperationMetrics.timer("service.authenticateWithToken");
+    private static final OperationMetrics.Timer CREATE_USER_TIMER = OperationMetrics.timer("service.createUser");
+    private static final OperationMetrics.Timer ASSIGN_CUSTOM_ROLE_TIMER = OperationMetrics.timer("service.assignCustomRole");
+    private static final OperationMetrics.Timer SAVE_DATA_TIMER = OperationMetrics.timer("service.saveData");
+    private static final OperationMetrics.Timer ADD_MEMBER_TIMER = OperationMetrics.timer("service.addMember");
+    private static final OperationMetrics.Timer FIND_MEMBER_TIMER = OperationMetrics.timer("service.findMember");
+    private static final OperationMetrics.Timer UPDATE_MEMBER_INFO_TIMER = OperationMetrics.timer("service.updateMemberInfo");
+    private static final OperationMetrics.Timer LIST_MEMBERS_TIMER = OperationMetrics.timer("service.listMembers");
+    private static final OperationMetrics.Timer SEARCH_MEMBERS_TIMER = OperationMetrics.timer("service.searchMembers");
+    private static final OperationMetrics.Timer LIST_LOANS_TIMER = OperationMetrics.timer("service.listLoans");
+    private static final OperationMetrics.Timer CALCULATE_AND_APPLY_INTEREST_TIMER = OperationMetrics.timer("service.calculateAndApplyInterest");
+    private static final OperationMetrics.Timer DEPOSIT_TIMER = OperationMetrics.timer("service.deposit");
+    private static final OperationMetrics.Timer WITHDRAW_TIMER = OperationMetrics.timer("service.withdraw");
+    private static final OperationMetrics.Timer APPLY_FOR_LOAN_TIMER = OperationMetrics.timer("service.applyForLoan");
+    private static final OperationMetrics.Timer APPROVE_LOAN_TIMER = OperationMetrics.timer("service.approveLoan");
+    private static final OperationMetrics.Timer DISBURSE_LOAN_TIMER = OperationMetrics.timer("service.disburseLoan");
+    private static final OperationMetrics.Timer GET_MEMBER_LOANS_TIMER = OperationMetrics.timer("service.getMemberLoans");
+    private static final OperationMetrics.Timer GENERATE_MONTHLY_REPORT_TIMER = OperationMetrics.timer("service.generateMonthlyReport");
+    private static final OperationMetrics.Timer OPEN_STATEMENT_TIMER = OperationMetrics.timer("service.openStatement");
+    private static final OperationMetrics.Timer SEARCH_TRANSACTIONS_TIMER = OperationMetrics.timer("service.searchTransactions");
+    private static final OperationMetrics.Timer END_BATCH_TIMER = OperationMetrics.timer("service.endBatch");
+    private static final OperationMetrics.Timer OPEN_ALL_STATEMENTS_TIMER = OperationMetrics.timer("service.openAllStatements");
+    private static final OperationMetrics.Timer RECONCILE_TIMER = OperationMetrics.timer("service.reconcile");
+
     private List<Member> members;
+    private Map<String, Member> membersById;
     private List<Transaction> allTransactions;
     private List<Loan> loans;
     private List<User> users;
     private TransactionValidator validator;
     private DataPersistence dataPersistence;
+    private int memberCounter;
     private int transactionCounter;
     private int loanCounter;
     private User currentUser;
+    private volatile AssociationSnapshot snapshot;
+    private IdempotencyCache idempotencyCache;
+    // Content keys of imported CSV chunks, kept for good so a re-run never posts a chunk twice
+    private Set<String> importedChunks = new LinkedHashSet<>();
+    private boolean importedChunksDirty;
+    private Map<String, User> usersByUsername;
+    private Map<String, Session> sessions;
+    // Expired sessions are swept when the map grows past this; it doubles with the live count so
+    // the sweeps stay amortised constant per login
+    private int nextSessionSweep = SESSION_SWEEP_THRESHOLD;
+    private String currentSessionToken;
+    private RolePermissions rolePermissions;
+    private long currentPermissionMask;
+    private long snapshotVersion;
+    // List positions of each member and loan; both lists only grow, so positions are stable
+    private final Map<String, Integer> memberPositions = new HashMap<>();
+    private final Map<String, Integer> loanPositions = new HashMap<>();
+    // Positions of existing rows changed since the last published snapshot; appended rows are implied
+    private Set<Integer> touchedMembers = new HashSet<>();
+    private Set<Integer> touchedLoans = new HashSet<>();
+    private boolean snapshotRebuildNeeded = true;
+    private final MemberSearchIndex memberSearchIndex = new MemberSearchIndex();
+    private final TransactionTextIndex descriptionIndex = new TransactionTextIndex();
+    private final SummaryCounters summaryCounters = new SummaryCounters();
+    private volatile SummaryReport summaryReport;
+    // Changes applied since the last commit; delivered to the counters and listeners once it is published
+    private List<AssociationEvent> pendingEvents = new ArrayList<>();
+    private final List<AssociationListener> listeners = new CopyOnWriteArrayList<>();
+    // While > 0, commits are deferred to the outermost endBatch()
+    private int batchDepth;
+    private boolean batchDirty;
+    private int persistedDescriptionIndexCoverage;
+    private volatile long lastSaveDurationNanos = -1;
+    private volatile long lastSaveCompletedMillis;
+    // nanoTime when the running save began, so a stuck save is visible before it finishes
+    private volatile long saveStartedNanos = NO_SAVE_IN_PROGRESS;
+    private volatile long lastLoadDurationNanos = -1;
+    private final ReconciliationEngine reconciliationEngine = new ReconciliationEngine();
+    private volatile ReconciliationEngine.Report startupReconciliation;
 
     public AssociationService() {
+        this(new DataPersistence());
+    }
+
+    public AssociationService(DataPersistence dataPersistence) {
         this.members = new ArrayList<>();
+        this.membersById = new ConcurrentHashMap<>();
         this.allTransactions = new ArrayList<>();
         this.loans = new ArrayList<>();
         this.users = new ArrayList<>();
         this.validator = new TransactionValidator();
-        this.dataPersistence = new DataPersistence();
+        this.dataPersistence = dataPersistence;
+        this.memberCounter = 1;
         this.transactionCounter = 1;
         this.loanCounter = 1;
+        this.snapshot = AssociationSnapshot.empty();
+        this.idempotencyCache = new IdempotencyCache();
+        this.usersByUsername = new HashMap<>();
+        this.sessions = new ConcurrentHashMap<>();
+        this.rolePermissions = new RolePermissions();
         
         // Load data from persistence
         loadData();
+        publishSnapshot();
         
         // Create default admin user if no users exist
         if (users.isEmpty()) {
             createDefaultAdmin();
         }
+
+        AssociationMonitor.register(this);
     }
 
     // Authentication Methods
     public boolean authenticateUser(String username, String password) {
-        String passwordHash = hashPassword(password);
-        Optional<User> userOpt = users.stream()
-            .filter(user -> user.getUsername().equals(username) && 
-                          user.getPasswordHash().equals(passwordHash) && 
-                          user.isActive())
-            .findFirst();
-        
-        if (userOpt.isPresent()) {
-            currentUser = userOpt.get();
-            currentUser.setLastLoginDate(LocalDate.now());
-            saveData();
+        long startNanos = System.nanoTime();
+        try {
+            User user = usersByUsername.get(username);
+            if (user == null || !user.isActive()) return false;
+            if (!user.getPasswordHash().equals(hashPassword(password))) return false;
+
+            startSession(user);
             return true;
+        } finally {
+            AUTHENTICATE_USER_TIMER.record(startNanos);
+        }
+    }
+
+    // Re-authenticates from a token issued by an earlier login, without hashing or scanning users
+    public boolean authenticateWithToken(String token) {
+        long startNanos = System.nanoTime();
+        try {
+            if (token == null) return false;
+            Session session = sessions.get(token);
+            if (session == null) return false;
+            if (session.expiresAtMillis < System.currentTimeMillis() || !session.user.isActive()) {
+                sessions.remove(token);
+                return false;
+            }
+            currentUser = session.user;
+            currentSessionToken = token;
+            currentPermissionMask = session.permissionMask;
+            return true;
+        } finally {
+            AUTHENTICATE_WITH_TOKEN_TIMER.record(startNanos);
+        }
+    }
+
+    public String getSessionToken() {
+        return currentSessionToken;
+    }
+
+    private void startSession(User user) {
+        currentUser = user;
+        currentPermissionMask = rolePermissions.resolveMask(user);
+        LocalDate today = LocalDate.now();
+        if (!today.equals(user.getLastLoginDate())) {
+            user.setLastLoginDate(today);
+            // Journal the login instead of rewriting every data file
+            try {
+                dataPersistence.appendLoginRecord(user.getUserId(), today);
+            } catch (Exception e) {
+                System.err.println("Error recording login: " + e.getMessage());
+            }
+        }
+
+        byte[] tokenBytes = new byte[24];
+        TOKEN_RANDOM.nextBytes(tokenBytes);
+        currentSessionToken = Base64.getUrlEncoder().withoutPadding().encodeToString(tokenBytes);
+        long now = System.currentTimeMillis();
+        if (sessions.size() >= nextSessionSweep) sweepSessions(now);
+        sessions.put(currentSessionToken, new Session(user, currentPermissionMask, now + SESSION_TTL_MILLIS));
+    }
+
+    private void sweepSessions(long nowMillis) {
+        sessions.values().removeIf(session -> session.expiresAtMillis < nowMillis || !session.user.isActive());
+        nextSessionSweep = Math.max(SESSION_SWEEP_THRESHOLD, sessions.size() * 2);
+    }
+
+    private static final class Session {
+        private final User user;
+        private final long permissionMask;
+        private final long expiresAtMillis;
+
+        Session(User user, long permissionMask, long expiresAtMillis) {
+            this.user = user;
+            this.permissionMask = permissionMask;
+            this.expiresAtMillis = expiresAtMillis;
         }
-        return false;
     }
 
     public boolean createUser(String username, String password, User.UserRole role) {
-        if (!hasPermission("CREATE_USER")) return false;
+        long startNanos = System.nanoTime();
+        try {
+            if (!hasPermission(Permission.CREATE_USER)) return false;
         
-        // Check if username already exists
-        boolean exists = users.stream().anyMatch(user -> user.getUsername().equals(username));
-        if (exists) return false;
+            // Check if username already exists
+            if (usersByUsername.containsKey(username)) return false;
         
-        String userId = "USR" + String.format("%04d", users.size() + 1);
-        String passwordHash = hashPassword(password);
-        User newUser = new User(userId, username, passwordHash, role);
-        users.add(newUser);
-        saveData();
-        return true;
+            String userId = "USR" + String.format("%04d", users.size() + 1);
+            String passwordHash = hashPassword(password);
+            User newUser = new User(userId, username, passwordHash, role);
+            users.add(newUser);
+            usersByUsername.put(username, newUser);
+            saveData();
+            return true;
+        } finally {
+            CREATE_USER_TIMER.record(startNanos);
+        }
     }
 
     private String hashPassword(String password) {
         try {
             MessageDigest md = MessageDigest.getInstance("SHA-256");
             byte[] hash = md.digest(password.getBytes());
-            StringBuilder hexString = new StringBuilder();
-            for (byte b : hash) {
-                String hex = Integer.toHexString(0xff & b);
-                if (hex.length() == 1) hexString.append('0');
-                hexString.append(hex);
+            char[] hex = new char[hash.length * 2];
+            for (int i = 0; i < hash.length; i++) {
+                hex[i * 2] = HEX_DIGITS[(hash[i] >> 4) & 0xf];
+                hex[i * 2 + 1] = HEX_DIGITS[hash[i] & 0xf];
             }
-            return hexString.toString();
+            return new String(hex);
         } catch (NoSuchAlgorithmException e) {
             throw new RuntimeException("Error hashing password", e);
         }
@@ -97,372 +259,1009 @@ public class AssociationService {
         String passwordHash = hashPassword(defaultPassword);
         User admin = new User(userId, "admin", passwordHash, User.UserRole.ADMIN);
         users.add(admin);
+        usersByUsername.put(admin.getUsername(), admin);
+        // Persist right away, since logins no longer trigger a full save
+        try {
+            dataPersistence.saveUsers(users);
+        } catch (Exception e) {
+            System.err.println("Error saving default admin: " + e.getMessage());
+        }
         System.out.println("Default admin user created. Username: admin, Password: admin123");
     }
 
     public void logout() {
+        if (currentSessionToken != null) sessions.remove(currentSessionToken);
+        detachSession();
+    }
+
+    // Clears the current user but keeps the session token valid (used between server requests)
+    public void detachSession() {
+        currentSessionToken = null;
         currentUser = null;
+        currentPermissionMask = 0;
     }
 
     public User getCurrentUser() {
         return currentUser;
     }
 
+    public boolean hasPermission(Permission permission) {
+        return (currentPermissionMask & permission.bit()) != 0;
+    }
+
     public boolean hasPermission(String permission) {
-        if (currentUser == null) return false;
-        
-        switch (currentUser.getRole()) {
-            case ADMIN:
-                return true; // Admin has all permissions
-            case MANAGER:
-                return !permission.equals("CREATE_USER"); // Manager can do most things except create users
-            case TELLER:
-                return permission.equals("VIEW_MEMBERS") || permission.equals("PROCESS_TRANSACTIONS");
-            case MEMBER:
-                return permission.equals("VIEW_OWN_ACCOUNT");
-            default:
-                return false;
+        try {
+            return hasPermission(Permission.valueOf(permission));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    public RolePermissions getRolePermissions() {
+        return rolePermissions;
+    }
+
+    public boolean assignCustomRole(String username, String roleName) {
+        long startNanos = System.nanoTime();
+        try {
+            if (!hasPermission(Permission.CREATE_USER)) return false;
+
+            User user = usersByUsername.get(username);
+            if (user == null || (roleName != null && !rolePermissions.isCustomRole(roleName))) return false;
+            user.setCustomRole(roleName);
+            saveData();
+            return true;
+        } finally {
+            ASSIGN_CUSTOM_ROLE_TIMER.record(startNanos);
         }
     }
 
     // Data Persistence Methods
     private void loadData() {
+        long startNanos = System.nanoTime();
+        JfrEvents.LoadData event = new JfrEvents.LoadData();
+        event.begin();
         try {
             members = dataPersistence.loadMembers();
             allTransactions = dataPersistence.loadTransactions();
             loans = dataPersistence.loadLoans();
             users = dataPersistence.loadUsers();
+            idempotencyCache.restore(dataPersistence.loadIdempotencyKeys(), System.currentTimeMillis());
+            importedChunks = dataPersistence.loadImportedChunks();
+
+            // Index users and replay logins journaled since the last full save
+            for (Map.Entry<String, Set<Permission>> role : dataPersistence.loadCustomRoles().entrySet()) {
+                rolePermissions.defineCustomRole(role.getKey(), role.getValue());
+            }
+
+            Map<String, LocalDate> lastLogins = dataPersistence.loadLoginRecords();
+            usersByUsername.clear();
+            for (User user : users) {
+                usersByUsername.put(user.getUsername(), user);
+                LocalDate lastLogin = lastLogins.get(user.getUserId());
+                if (lastLogin != null) user.setLastLoginDate(lastLogin);
+            }
             
             // Update counters
+            membersById.clear();
+            memberPositions.clear();
+            memberCounter = 1;
+            for (Member member : members) {
+                membersById.put(member.getMemberId(), member);
+                memberPositions.put(member.getMemberId(), memberPositions.size());
+                memberCounter = Math.max(memberCounter, memberNumber(member.getMemberId()) + 1);
+            }
             transactionCounter = allTransactions.size() + 1;
             loanCounter = loans.size() + 1;
+            loanPositions.clear();
+            for (Loan loan : loans) {
+                loanPositions.put(loan.getLoanId(), loanPositions.size());
+            }
+            snapshotRebuildNeeded = true;
+            memberSearchIndex.rebuild(members);
+            loadDescriptionIndex();
             
-            // Rebuild account transaction histories
+            // Check the saved balances and histories against the ledger, then rebuild both from it
+            startupReconciliation = reconciliationEngine.reconcile(members, allTransactions, loans, null);
+            if (!startupReconciliation.isClean()) {
+                System.err.println(startupReconciliation.getSummaryLine() + "; balances rebuilt from the ledger");
+            }
             rebuildAccountHistories();
+            summaryCounters.rebuild(members, allTransactions, loans);
+            event.succeeded = true;
         } catch (Exception e) {
             System.err.println("Error loading data: " + e.getMessage());
+        } finally {
+            lastLoadDurationNanos = System.nanoTime() - startNanos;
+            if (event.shouldCommit()) {
+                event.dataDir = dataPersistence.getDataDir();
+                event.memberCount = members.size();
+                event.transactionCount = allTransactions.size();
+                event.loanCount = loans.size();
+                event.commit();
+            }
+        }
+    }
+
+    private void loadDescriptionIndex() {
+        try {
+            Map<String, int[]> saved = new HashMap<>();
+            // An index built over other data (e.g. a replaced or restored ledger) comes back empty
+            int covered = dataPersistence.loadDescriptionIndex(saved, position ->
+                position < allTransactions.size() ? ledgerFingerprint(allTransactions.get(position)) : null);
+            descriptionIndex.restore(saved, covered);
+            persistedDescriptionIndexCoverage = covered;
+        } catch (Exception e) {
+            System.err.println("Rebuilding description index: " + e.getMessage());
+            descriptionIndex.clear();
         }
+        descriptionIndex.catchUp(allTransactions);
+    }
+
+    private void saveDescriptionIndex(boolean force) throws java.io.IOException {
+        int covered = descriptionIndex.getIndexedCount();
+        if (covered == persistedDescriptionIndexCoverage) return;
+        if (!force && covered - persistedDescriptionIndexCoverage < DESCRIPTION_INDEX_FLUSH_INTERVAL) return;
+        String lastCovered = covered == 0 ? "" : ledgerFingerprint(allTransactions.get(covered - 1));
+        dataPersistence.saveDescriptionIndex(covered, lastCovered, descriptionIndex.export());
+        persistedDescriptionIndexCoverage = covered;
+    }
+
+    // Ids are issued sequentially, so equally long ledgers share them; the description tells them apart
+    private static String ledgerFingerprint(Transaction transaction) {
+        return transaction.getTransactionId() + "|" + Integer.toHexString(Objects.hashCode(transaction.getDescription()));
     }
 
     private void rebuildAccountHistories() {
+        JfrEvents.RebuildAccountHistories event = new JfrEvents.RebuildAccountHistories();
+        event.begin();
+
         // Clear existing histories
         for (Member member : members) {
-            member.getAccount().getTransactionHistory().clear();
+            member.getAccount().clearTransactionHistory();
         }
         
         // Rebuild from all transactions
         for (Transaction transaction : allTransactions) {
-            Optional<Member> memberOpt = findMember(transaction.getMemberId());
-            if (memberOpt.isPresent()) {
-                Member member = memberOpt.get();
+            Member member = membersById.get(transaction.getMemberId());
+            if (member != null) {
                 member.getAccount().addTransaction(transaction);
             }
         }
+
+        event.memberCount = members.size();
+        event.transactionCount = allTransactions.size();
+        event.commit();
     }
 
     public void saveData() {
+        long startNanos = System.nanoTime();
+        saveStartedNanos = startNanos;
+        JfrEvents.SaveData event = new JfrEvents.SaveData();
+        event.begin();
         try {
-            dataPersistence.saveMembers(members);
-            dataPersistence.saveTransactions(allTransactions);
-            dataPersistence.saveLoans(loans);
-            dataPersistence.saveUsers(users);
-        } catch (Exception e) {
-            System.err.println("Error saving data: " + e.getMessage());
+            try {
+                dataPersistence.saveMembers(members);
+                dataPersistence.saveTransactions(allTransactions);
+                dataPersistence.saveLoans(loans);
+                dataPersistence.saveUsers(users);
+                dataPersistence.clearLoginJournal(); // users.dat now carries the login dates
+                dataPersistence.saveIdempotencyKeys(idempotencyCache.toMap(System.currentTimeMillis()));
+                if (importedChunksDirty) {
+                    dataPersistence.saveImportedChunks(importedChunks);
+                    importedChunksDirty = false;
+                }
+                saveDescriptionIndex(false);
+                event.succeeded = true;
+            } catch (Exception e) {
+                System.err.println("Error saving data: " + e.getMessage());
+            }
+        } finally {
+            SAVE_DATA_TIMER.record(startNanos);
+            lastSaveDurationNanos = System.nanoTime() - startNanos;
+            lastSaveCompletedMillis = System.currentTimeMillis();
+            saveStartedNanos = NO_SAVE_IN_PROGRESS;
+            event.memberCount = members.size();
+            event.transactionCount = allTransactions.size();
+            event.loanCount = loans.size();
+            event.commit();
         }
     }
 
+    // Flush current state, then copy the data files into a timestamped backup directory
+    public void createBackup() throws java.io.IOException {
+        saveData();
+        saveDescriptionIndex(true);
+        dataPersistence.createBackup();
+    }
+
+    // Persist and publish a fresh read snapshot, then announce what changed
+    private void commit() {
+        if (batchDepth > 0) {
+            batchDirty = true;
+            return;
+        }
+        memberSearchIndex.catchUp(members);
+        descriptionIndex.catchUp(allTransactions);
+        saveData();
+        List<AssociationEvent> events = pendingEvents;
+        pendingEvents = new ArrayList<>();
+        for (AssociationEvent event : events) {
+            summaryCounters.apply(event);
+        }
+        publishSnapshot();
+        for (AssociationEvent event : events) {
+            for (AssociationListener listener : listeners) {
+                try {
+                    listener.onEvent(event);
+                } catch (RuntimeException e) {
+                    System.err.println("Association listener failed: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    // Mutations made until the matching endBatch() are applied in memory at once but saved, published
+    // and announced together, trading one full save per change for one per batch. Batches may nest.
+    public void beginBatch() {
+        batchDepth++;
+    }
+
+    public void endBatch() {
+        if (batchDepth == 0) throw new IllegalStateException("endBatch() without beginBatch()");
+        if (--batchDepth > 0 || !batchDirty) return;
+        long startNanos = System.nanoTime();
+        try {
+            batchDirty = false;
+            commit();
+        } finally {
+            END_BATCH_TIMER.record(startNanos);
+        }
+    }
+
+    // The data files match memory only between batches; readers of the files go through here
+    DataPersistence committedPersistence() {
+        if (batchDepth > 0) throw new IllegalStateException("Data files are not committed inside a batch");
+        return dataPersistence;
+    }
+
+    // Events are queued with the version of the snapshot the next commit publishes
+    private void post(AssociationEvent event) {
+        pendingEvents.add(event);
+    }
+
+    private void postTransaction(Member member, Transaction transaction) {
+        touchMember(member);
+        post(new AssociationEvent.TransactionPosted(snapshotVersion + 1, transaction, member.getAccount().getBalance()));
+    }
+
+    private void postLoanStatus(Loan loan, Loan.LoanStatus previousStatus) {
+        touchLoan(loan);
+        post(new AssociationEvent.LoanStatusChanged(snapshotVersion + 1, new AssociationSnapshot.LoanView(loan),
+            previousStatus));
+    }
+
+    // Marks a row for the next snapshot to copy; rows added since the last one are copied anyway
+    private void touchMember(Member member) {
+        touchedMembers.add(memberPositions.get(member.getMemberId()));
+    }
+
+    private void touchLoan(Loan loan) {
+        touchedLoans.add(loanPositions.get(loan.getLoanId()));
+    }
+
+    public void addListener(AssociationListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(AssociationListener listener) {
+        listeners.remove(listener);
+    }
+
+    private void publishSnapshot() {
+        if (snapshotRebuildNeeded) {
+            snapshot = AssociationSnapshot.of(++snapshotVersion, members, loans, allTransactions.size());
+            snapshotRebuildNeeded = false;
+        } else {
+            snapshot = snapshot.next(++snapshotVersion, members, loans, allTransactions.size(),
+                touchedMembers, touchedLoans);
+        }
+        touchedMembers = new HashSet<>();
+        touchedLoans = new HashSet<>();
+        summaryReport = summaryCounters.toReport(snapshotVersion);
+    }
+
+    public AssociationSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    // Totals as of the last commit, kept current incrementally; null without report permission
+    public SummaryReport getSummaryReport() {
+        if (!hasPermission(Permission.GENERATE_REPORTS)) return null;
+        return summaryReport;
+    }
+
+    // Recomputes balances, loans and report totals from the ledger; null without report permission.
+    // Inside a batch the report totals lag the ledger, so they are only compared between batches.
+    public ReconciliationEngine.Report reconcile() {
+        long startNanos = System.nanoTime();
+        try {
+            if (!hasPermission(Permission.GENERATE_REPORTS)) return null;
+            return reconciliationEngine.reconcile(members, allTransactions, loans,
+                batchDepth == 0 ? summaryReport : null);
+        } finally {
+            RECONCILE_TIMER.record(startNanos);
+        }
+    }
+
+    // What the last load found before balances were rebuilt; null without report permission
+    public ReconciliationEngine.Report getStartupReconciliation() {
+        if (!hasPermission(Permission.GENERATE_REPORTS)) return null;
+        return startupReconciliation;
+    }
+
+    // Persistence timings for the monitoring MBean (-1 until the first save/load finishes)
+    public long getLastSaveDurationNanos() {
+        return lastSaveDurationNanos;
+    }
+
+    public long getLastSaveCompletedMillis() {
+        return lastSaveCompletedMillis;
+    }
+
+    public long getLastLoadDurationNanos() {
+        return lastLoadDurationNanos;
+    }
+
+    // How long the save now running has taken so far, or -1 when no save is running
+    public long getCurrentSaveElapsedNanos() {
+        long started = saveStartedNanos;
+        return started == NO_SAVE_IN_PROGRESS ? -1 : System.nanoTime() - started;
+    }
+
+    public DataPersistence getDataPersistence() {
+        return dataPersistence;
+    }
+
     // Enhanced Member Management
-    public boolean addMember(String firstName, String lastName, String email, String phoneNumber, 
+    public ValidationResult addMember(String firstName, String lastName, String email, String phoneNumber, 
                            String address, LocalDate dateOfBirth, String occupation) {
-        if (!hasPermission("ADD_MEMBER")) return false;
+        long startNanos = System.nanoTime();
+        try {
+            if (!hasPermission(Permission.ADD_MEMBER)) return ValidationResult.fail(Reason.PERMISSION_DENIED);
         
+            try {
+                registerMember(nextMemberId(), firstName, lastName, email, phoneNumber, address, dateOfBirth,
+                    occupation, LocalDate.now());
+                commit();
+                return ValidationResult.ok();
+            } catch (Exception e) {
+                return ValidationResult.fail(Reason.PROCESSING_ERROR, e.getMessage());
+            }
+        } finally {
+            ADD_MEMBER_TIMER.record(startNanos);
+        }
+    }
+
+    // Ids issued by addMember are MEM + a zero-padded number; anything else (e.g. ids imported before
+    // they were checked) yields 0
+    private static int memberNumber(String memberId) {
+        if (memberId == null || !memberId.startsWith("MEM")) return 0;
         try {
-            String memberId = "MEM" + String.format("%04d", members.size() + 1);
-            Member member = new Member(memberId, firstName, lastName, email, phoneNumber, LocalDate.now());
-            member.setAddress(address);
-            member.setDateOfBirth(dateOfBirth);
-            member.setOccupation(occupation);
-            members.add(member);
-            saveData();
-            return true;
-        } catch (Exception e) {
-            System.err.println("Error adding member: " + e.getMessage());
-            return false;
+            return Integer.parseInt(memberId.substring(3));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    // Next unused id; imported ids can occupy numbers ahead of the counter
+    private String nextMemberId() {
+        String memberId;
+        do {
+            memberId = "MEM" + String.format("%04d", memberCounter++);
+        } while (membersById.containsKey(memberId));
+        return memberId;
+    }
+
+    private Member registerMember(String memberId, String firstName, String lastName, String email,
+                                  String phoneNumber, String address, LocalDate dateOfBirth, String occupation,
+                                  LocalDate joinDate) {
+        Member member = new Member(memberId, firstName, lastName, email, phoneNumber, joinDate);
+        member.setAddress(address);
+        member.setDateOfBirth(dateOfBirth);
+        member.setOccupation(occupation);
+        memberPositions.put(memberId, members.size());
+        members.add(member);
+        membersById.put(memberId, member);
+        post(new AssociationEvent.MemberAdded(snapshotVersion + 1, new AssociationSnapshot.MemberView(member)));
+        return member;
+    }
+
+    private Contribution postContribution(Member member, double amount, LocalDate date, String description) {
+        String transactionId = "TXN" + String.format("%06d", transactionCounter++);
+        Contribution contribution = new Contribution(transactionId, member.getMemberId(), amount, date, description);
+        member.getAccount().addTransaction(contribution);
+        allTransactions.add(contribution);
+        postTransaction(member, contribution);
+        return contribution;
+    }
+
+    // Bulk import hooks for CsvImporter, which checks permissions, validates and opens the batch.
+    // A null memberId issues the next id; a taken one returns null.
+    Member importMember(String memberId, String firstName, String lastName, String email, String phoneNumber,
+                        String address, LocalDate dateOfBirth, String occupation, LocalDate joinDate) {
+        if (memberId == null) {
+            memberId = nextMemberId();
+        } else if (membersById.containsKey(memberId)) {
+            return null;
+        } else {
+            memberCounter = Math.max(memberCounter, memberNumber(memberId) + 1);
         }
+        Member member = registerMember(memberId, firstName, lastName, email, phoneNumber, address, dateOfBirth,
+            occupation, joinDate);
+        commit();
+        return member;
+    }
+
+    Contribution importContribution(Member member, double amount, LocalDate date, String description) {
+        Contribution contribution = postContribution(member, amount, date, description);
+        commit();
+        return contribution;
     }
 
     public Optional<Member> findMember(String memberId) {
-        return members.stream()
-            .filter(member -> member.getMemberId().equals(memberId))
-            .findFirst();
+        long startNanos = System.nanoTime();
+        try {
+            return memberId == null ? Optional.empty() : Optional.ofNullable(membersById.get(memberId));
+        } finally {
+            FIND_MEMBER_TIMER.record(startNanos);
+        }
     }
 
-    public boolean updateMemberInfo(String memberId, String email, String phoneNumber) {
-        if (!hasPermission("EDIT_MEMBER")) return false;
+    public ValidationResult updateMemberInfo(String memberId, String email, String phoneNumber) {
+        long startNanos = System.nanoTime();
+        try {
+            if (!hasPermission(Permission.EDIT_MEMBER)) return ValidationResult.fail(Reason.PERMISSION_DENIED);
 
-        Optional<Member> memberOpt = findMember(memberId);
-        if (memberOpt.isPresent()) {
-            Member member = memberOpt.get();
-            if (email != null && !email.trim().isEmpty()) {
-                member.setEmail(email);
+            Optional<Member> memberOpt = findMember(memberId);
+            if (memberOpt.isPresent()) {
+                Member member = memberOpt.get();
+                if (email != null && !email.trim().isEmpty()) {
+                    member.setEmail(email);
+                }
+                if (phoneNumber != null && !phoneNumber.trim().isEmpty()) {
+                    member.setPhoneNumber(phoneNumber);
+                }
+                memberSearchIndex.update(member, memberPositions.get(memberId));
+                touchMember(member);
+                commit(); // persist the changes
+                return ValidationResult.ok();
             }
-            if (phoneNumber != null && !phoneNumber.trim().isEmpty()) {
-                member.setPhoneNumber(phoneNumber);
+            return ValidationResult.fail(Reason.MEMBER_NOT_FOUND, memberId);
+        } finally {
+            UPDATE_MEMBER_INFO_TIMER.record(startNanos);
+        }
+    }
+
+
+    public List<AssociationSnapshot.MemberView> getAllMembers() {
+        if (!hasPermission(Permission.VIEW_MEMBERS)) return new ArrayList<>();
+        return snapshot.getMemberViews();
+    }
+
+    // Paged Listing
+    public Page<AssociationSnapshot.MemberView> listMembers(MemberSortKey sortKey, Boolean activeFilter,
+                                                            String cursor, int pageSize) {
+        long startNanos = System.nanoTime();
+        try {
+            if (!hasPermission(Permission.VIEW_MEMBERS)) return new Page<>(new ArrayList<>(), null, 0);
+
+            AssociationSnapshot current = snapshot;
+            List<AssociationSnapshot.MemberView> sorted = current.getSortedMemberViews(sortKey);
+            int start = cursor == null ? 0 : memberCursorPosition(sorted, sortKey, cursor);
+            int total = activeFilter == null ? current.getTotalMembers()
+                : activeFilter ? current.getActiveMembers() : current.getTotalMembers() - current.getActiveMembers();
+
+            List<AssociationSnapshot.MemberView> items = new ArrayList<>(Math.min(pageSize, sorted.size()));
+            int i = start;
+            for (; i < sorted.size() && items.size() < pageSize; i++) {
+                AssociationSnapshot.MemberView view = sorted.get(i);
+                if (activeFilter == null || view.isActive() == activeFilter) items.add(view);
             }
-            saveData(); // persist the changes
-            return true;
-        } else {
-            System.err.println("Member with ID " + memberId + " not found.");
+            while (i < sorted.size() && activeFilter != null && sorted.get(i).isActive() != activeFilter) i++;
+
+            String next = null;
+            if (i < sorted.size() && !items.isEmpty()) {
+                AssociationSnapshot.MemberView last = items.get(items.size() - 1);
+                next = encodeCursor("M", sortKey.name(), sortKey.encode(last), last.getMemberId());
+            }
+            return new Page<>(items, next, total);
+        } finally {
+            LIST_MEMBERS_TIMER.record(startNanos);
         }
-        return false;
     }
 
+    // Type-ahead lookup by name, email, phone or id prefix. Reads only the search index and the
+    // published snapshot, so callers need not hold the service lock.
+    public List<AssociationSnapshot.MemberView> searchMembers(String query, int limit) {
+        long startNanos = System.nanoTime();
+        try {
+            List<AssociationSnapshot.MemberView> results = new ArrayList<>();
+            if (!hasPermission(Permission.VIEW_MEMBERS)) return results;
 
-    public List<Member> getAllMembers() {
-        if (!hasPermission("VIEW_MEMBERS")) return new ArrayList<>();
-        return new ArrayList<>(members);
+            List<AssociationSnapshot.MemberView> views = snapshot.getMemberViews();
+            for (int position : memberSearchIndex.search(query, limit)) {
+                if (position < views.size()) results.add(views.get(position)); // skip members not yet published
+            }
+            return results;
+        } finally {
+            SEARCH_MEMBERS_TIMER.record(startNanos);
+        }
+    }
+
+    public Stream<AssociationSnapshot.MemberView> streamMembers(MemberSortKey sortKey, Boolean activeFilter) {
+        if (!hasPermission(Permission.VIEW_MEMBERS)) return Stream.empty();
+        return snapshot.getSortedMemberViews(sortKey).stream()
+            .filter(view -> activeFilter == null || view.isActive() == activeFilter);
+    }
+
+    public Page<AssociationSnapshot.LoanView> listLoans(Loan.LoanStatus statusFilter, String memberId,
+                                                        String cursor, int pageSize) {
+        long startNanos = System.nanoTime();
+        try {
+            if (!hasPermission(Permission.VIEW_LOANS)) return new Page<>(new ArrayList<>(), null, 0);
+
+            // Loans are append-only, so a list position stays valid across snapshots
+            List<AssociationSnapshot.LoanView> views = snapshot.getLoanViews();
+            int start = 0;
+            if (cursor != null) {
+                String[] parts = decodeCursor(cursor, "L", 2);
+                try {
+                    start = Integer.parseInt(parts[1]);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid loan cursor", e);
+                }
+            }
+
+            List<AssociationSnapshot.LoanView> items = new ArrayList<>(Math.min(pageSize, views.size()));
+            int total = 0;
+            int nextPosition = -1;
+            for (int i = 0; i < views.size(); i++) {
+                AssociationSnapshot.LoanView view = views.get(i);
+                if (statusFilter != null && view.getStatus() != statusFilter) continue;
+                if (memberId != null && !view.getMemberId().equals(memberId)) continue;
+                total++;
+                if (i < start) continue;
+                if (items.size() < pageSize) {
+                    items.add(view);
+                } else if (nextPosition < 0) {
+                    nextPosition = i;
+                }
+            }
+
+            String next = nextPosition < 0 ? null : encodeCursor("L", String.valueOf(nextPosition));
+            return new Page<>(items, next, total);
+        } finally {
+            LIST_LOANS_TIMER.record(startNanos);
+        }
+    }
+
+    public Stream<AssociationSnapshot.LoanView> streamLoans(Loan.LoanStatus statusFilter, String memberId) {
+        if (!hasPermission(Permission.VIEW_LOANS)) return Stream.empty();
+        return snapshot.getLoanViews().stream()
+            .filter(view -> statusFilter == null || view.getStatus() == statusFilter)
+            .filter(view -> memberId == null || view.getMemberId().equals(memberId));
+    }
+
+    // First position strictly after the (sort value, member id) recorded in the cursor
+    private int memberCursorPosition(List<AssociationSnapshot.MemberView> sorted, MemberSortKey sortKey, String cursor) {
+        String[] parts = decodeCursor(cursor, "M", 4);
+        if (!parts[1].equals(sortKey.name())) {
+            throw new IllegalArgumentException("Cursor was issued for sort key " + parts[1]);
+        }
+        int low = 0;
+        int high = sorted.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            AssociationSnapshot.MemberView view = sorted.get(mid);
+            int cmp = sortKey.compare(view, parts[2]);
+            if (cmp == 0) cmp = MemberSortKey.ID.compare(view, parts[3]);
+            if (cmp <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static String encodeCursor(String... parts) {
+        byte[] raw = String.join("\u0000", parts).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    private static String[] decodeCursor(String cursor, String kind, int expectedParts) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\u0000", -1);
+            if (parts.length == expectedParts && parts[0].equals(kind)) return parts;
+        } catch (IllegalArgumentException e) {
+            // fall through to the error below
+        }
+        throw new IllegalArgumentException("Invalid cursor: " + cursor);
     }
 
     // Interest Calculation
     public void calculateAndApplyInterest() {
-        if (!hasPermission("PROCESS_INTEREST")) return;
+        long startNanos = System.nanoTime();
+        try {
+            if (!hasPermission(Permission.PROCESS_INTEREST)) return;
         
-        LocalDate today = LocalDate.now();
+            LocalDate today = LocalDate.now();
+            JfrEvents.InterestRun event = new JfrEvents.InterestRun();
+            event.begin();
         
-        for (Member member : members) {
-            Account account = member.getAccount();
-            if (!account.isInterestEnabled() || account.getBalance() <= 0) continue;
+            for (Member member : members) {
+                Account account = member.getAccount();
+                if (!account.isInterestEnabled() || account.getBalance() <= 0) continue;
             
-            LocalDate lastInterestDate = account.getLastInterestDate();
-            long daysSinceLastInterest = ChronoUnit.DAYS.between(lastInterestDate, today);
+                LocalDate lastInterestDate = account.getLastInterestDate();
+                long daysSinceLastInterest = ChronoUnit.DAYS.between(lastInterestDate, today);
             
-            // Apply interest monthly
-            if (daysSinceLastInterest >= 30) {
-                double dailyRate = account.getInterestRate() / 100 / 365;
-                double interestAmount = account.getBalance() * dailyRate * daysSinceLastInterest;
+                // Apply interest monthly
+                if (daysSinceLastInterest >= 30) {
+                    double dailyRate = account.getInterestRate() / 100 / 365;
+                    double interestAmount = account.getBalance() * dailyRate * daysSinceLastInterest;
                 
-                if (interestAmount > 0.01) { // Only apply if interest is more than 1 cent
-                    String transactionId = "TXN" + String.format("%06d", transactionCounter++);
-                    InterestTransaction interestTransaction = new InterestTransaction(
-                        transactionId, member.getMemberId(), interestAmount, today, account.getInterestRate());
+                    if (interestAmount > 0.01) { // Only apply if interest is more than 1 cent
+                        String transactionId = "TXN" + String.format("%06d", transactionCounter++);
+                        InterestTransaction interestTransaction = new InterestTransaction(
+                            transactionId, member.getMemberId(), interestAmount, today, account.getInterestRate());
                     
-                    account.addTransaction(interestTransaction);
-                    allTransactions.add(interestTransaction);
-                    account.setLastInterestDate(today);
+                        account.addTransaction(interestTransaction);
+                        allTransactions.add(interestTransaction);
+                        postTransaction(member, interestTransaction);
+                        account.setLastInterestDate(today);
+                        event.postings++;
+                        event.totalInterest += interestAmount;
+                    }
                 }
             }
+            commit();
+            event.memberCount = members.size();
+            event.commit();
+        } finally {
+            CALCULATE_AND_APPLY_INTEREST_TIMER.record(startNanos);
         }
-        saveData();
     }
 
     // Enhanced Transaction Processing
-    public boolean deposit(String memberId, double amount, String description) {
-        if (!hasPermission("PROCESS_TRANSACTIONS")) return false;
+    public ValidationResult deposit(String memberId, double amount, String description) {
+        return deposit(memberId, amount, description, null);
+    }
+
+    // A repeated idempotency key within the cache window returns success without posting again when the
+    // request is the same, and IDEMPOTENCY_CONFLICT when the key was used for a different one
+    public ValidationResult deposit(String memberId, double amount, String description, String idempotencyKey) {
+        long startNanos = System.nanoTime();
+        try {
+            if (!hasPermission(Permission.PROCESS_TRANSACTIONS)) return ValidationResult.fail(Reason.PERMISSION_DENIED);
+            ValidationResult described = validator.validateDescription(description);
+            if (!described.isValid()) return described;
+            return postDeposit(memberId, amount, description, idempotencyKey);
+        } finally {
+            DEPOSIT_TIMER.record(startNanos);
+        }
+    }
+
+    // deposit() without the reserved-description check, for loan disbursements
+    private ValidationResult postDeposit(String memberId, double amount, String description, String idempotencyKey) {
+        if (!hasPermission(Permission.PROCESS_TRANSACTIONS)) return ValidationResult.fail(Reason.PERMISSION_DENIED);
+        String fingerprint = IdempotencyCache.fingerprint(IdempotencyCache.DEPOSIT, memberId, amount);
+        ValidationResult seen = checkIdempotencyKey(idempotencyKey, fingerprint);
+        if (seen != null) return seen;
         
         Optional<Member> memberOpt = findMember(memberId);
         if (!memberOpt.isPresent()) {
-            System.err.println("Member not found: " + memberId);
-            return false;
+            return ValidationResult.fail(Reason.MEMBER_NOT_FOUND, memberId);
         }
 
         Member member = memberOpt.get();
         
-        if (!validator.validateContribution(amount)) {
-            System.err.println("Contribution validation failed.");
-            return false;
+        ValidationResult validation = validator.validateContribution(amount);
+        if (!validation.isValid()) {
+            return validation;
         }
 
         try {
-            String transactionId = "TXN" + String.format("%06d", transactionCounter++);
-            Contribution contribution = new Contribution(transactionId, memberId, amount, LocalDate.now(), description);
-            
-            member.getAccount().addTransaction(contribution);
-            allTransactions.add(contribution);
-            saveData();
-            
-            System.out.println("Contribution successful! New balance: ₦" + 
-                String.format("%.2f", member.getAccount().getBalance()));
-            return true;
+            postContribution(member, amount, LocalDate.now(), description);
+            recordIdempotencyKey(idempotencyKey, fingerprint);
+            commit();
+            return ValidationResult.ok();
         } catch (Exception e) {
-            System.err.println("Error processing contribution: " + e.getMessage());
-            return false;
+            return ValidationResult.fail(Reason.PROCESSING_ERROR, e.getMessage());
         }
     }
 
-    public boolean withdraw(String memberId, double amount, String description) {
-        if (!hasPermission("PROCESS_TRANSACTIONS")) return false;
+    public ValidationResult withdraw(String memberId, double amount, String description) {
+        return withdraw(memberId, amount, description, null);
+    }
+
+    public ValidationResult withdraw(String memberId, double amount, String description, String idempotencyKey) {
+        long startNanos = System.nanoTime();
+        try {
+            if (!hasPermission(Permission.PROCESS_TRANSACTIONS)) return ValidationResult.fail(Reason.PERMISSION_DENIED);
+            String fingerprint = IdempotencyCache.fingerprint(IdempotencyCache.WITHDRAWAL, memberId, amount);
+            ValidationResult seen = checkIdempotencyKey(idempotencyKey, fingerprint);
+            if (seen != null) return seen;
         
-        Optional<Member> memberOpt = findMember(memberId);
-        if (!memberOpt.isPresent()) {
-            System.err.println("Member not found: " + memberId);
-            return false;
-        }
+            Optional<Member> memberOpt = findMember(memberId);
+            if (!memberOpt.isPresent()) {
+                return ValidationResult.fail(Reason.MEMBER_NOT_FOUND, memberId);
+            }
 
-        Member member = memberOpt.get();
+            Member member = memberOpt.get();
         
-        if (!validator.validateWithdrawal(amount, member.getAccount().getBalance(), member.getMembershipDurationInDays())) {
-            System.err.println("Withdrawal validation failed.");
-            return false;
-        }
+            Account account = member.getAccount();
+            ValidationResult validation = validator.validateWithdrawal(amount, account.getBalance(),
+                    member.getMembershipDurationInDays(), account.getWithdrawnInLastDays(1),
+                    account.getWithdrawnInLastDays(7), account.getWithdrawnInLastDays(30));
+            if (!validation.isValid()) {
+                return validation;
+            }
 
-        try {
-            String transactionId = "TXN" + String.format("%06d", transactionCounter++);
-            Withdrawal withdrawal = new Withdrawal(transactionId, memberId, amount, LocalDate.now(), description);
-            
-            member.getAccount().addTransaction(withdrawal);
-            allTransactions.add(withdrawal);
-            saveData();
+            try {
+                String transactionId = "TXN" + String.format("%06d", transactionCounter++);
+                Withdrawal withdrawal = new Withdrawal(transactionId, memberId, amount, LocalDate.now(), description);
             
-            System.out.println("Withdrawal successful! New balance: ₦" + 
-                String.format("%.2f", member.getAccount().getBalance()));
-            return true;
-        } catch (Exception e) {
-            System.err.println("Error processing withdrawal: " + e.getMessage());
-            return false;
+                member.getAccount().addTransaction(withdrawal);
+                allTransactions.add(withdrawal);
+                postTransaction(member, withdrawal);
+                recordIdempotencyKey(idempotencyKey, fingerprint);
+                commit();
+                return ValidationResult.ok();
+            } catch (Exception e) {
+                return ValidationResult.fail(Reason.PROCESSING_ERROR, e.getMessage());
+            }
+        } finally {
+            WITHDRAW_TIMER.record(startNanos);
         }
     }
 
-    // Loan Management
-    public boolean applyForLoan(String memberId, double amount, double interestRate, int termInMonths, String purpose) {
-        Optional<Member> memberOpt = findMember(memberId);
-        if (!memberOpt.isPresent()) {
-            System.err.println("Member not found: " + memberId);
-            return false;
+    // ok() for a replay of the same request, a conflict for the same key with different data, null if new
+    private ValidationResult checkIdempotencyKey(String idempotencyKey, String fingerprint) {
+        if (idempotencyKey == null) return null;
+        switch (idempotencyCache.match(idempotencyKey, fingerprint, System.currentTimeMillis())) {
+            case REPLAY: return ValidationResult.ok();
+            case CONFLICT: return ValidationResult.fail(Reason.IDEMPOTENCY_CONFLICT, idempotencyKey);
+            default: return null;
         }
+    }
 
-        Member member = memberOpt.get();
-        
-        // Check eligibility
-        if (member.getMembershipDurationInDays() < 90) {
-            System.err.println("Member must be registered for at least 90 days to apply for a loan.");
-            return false;
-        }
+    // For batch entry points that report replays and conflicts themselves
+    IdempotencyCache.Match matchIdempotencyKey(String idempotencyKey, String fingerprint) {
+        return idempotencyCache.match(idempotencyKey, fingerprint, System.currentTimeMillis());
+    }
 
-        if (member.getAccount().getBalance() < amount * 0.1) {
-            System.err.println("Member must have at least 10% of loan amount as savings.");
-            return false;
-        }
+    void recordIdempotencyKey(String idempotencyKey, String fingerprint) {
+        if (idempotencyKey != null) idempotencyCache.record(idempotencyKey, fingerprint, System.currentTimeMillis());
+    }
 
+    boolean isChunkImported(String chunkKey) {
+        return importedChunks.contains(chunkKey);
+    }
+
+    // Saved by the next commit, together with the chunk's rows
+    void recordImportedChunk(String chunkKey) {
+        if (importedChunks.add(chunkKey)) importedChunksDirty = true;
+    }
+
+    // Loan Management
+    public ValidationResult applyForLoan(String memberId, double amount, double interestRate, int termInMonths, String purpose) {
+        long startNanos = System.nanoTime();
         try {
-            String loanId = "LOAN" + String.format("%04d", loanCounter++);
-            Loan loan = new Loan(loanId, memberId, amount, interestRate, termInMonths, purpose);
-            loans.add(loan);
-            saveData();
-            
-            System.out.println("Loan application submitted successfully. Loan ID: " + loanId);
-            return true;
-        } catch (Exception e) {
-            System.err.println("Error processing loan application: " + e.getMessage());
-            return false;
+            // Applications are taken at the counter, like contributions and withdrawals
+            if (!hasPermission(Permission.PROCESS_TRANSACTIONS)) return ValidationResult.fail(Reason.PERMISSION_DENIED);
+
+            Optional<Member> memberOpt = findMember(memberId);
+            if (!memberOpt.isPresent()) {
+                return ValidationResult.fail(Reason.MEMBER_NOT_FOUND, memberId);
+            }
+
+            Member member = memberOpt.get();
+
+            if (!TransactionValidator.isPositiveAmount(amount)) {
+                return ValidationResult.fail(Reason.NON_POSITIVE_AMOUNT);
+            }
+        
+            // Check eligibility
+            if (member.getMembershipDurationInDays() < 90) {
+                return ValidationResult.fail(Reason.MEMBERSHIP_TOO_RECENT, 90);
+            }
+
+            if (member.getAccount().getBalance() < amount * 0.1) {
+                return ValidationResult.fail(Reason.INSUFFICIENT_SAVINGS);
+            }
+
+            try {
+                String loanId = "LOAN" + String.format("%04d", loanCounter++);
+                Loan loan = new Loan(loanId, memberId, amount, interestRate, termInMonths, purpose);
+                loanPositions.put(loanId, loans.size());
+                loans.add(loan);
+                postLoanStatus(loan, null);
+                commit();
+                return ValidationResult.ok();
+            } catch (Exception e) {
+                return ValidationResult.fail(Reason.PROCESSING_ERROR, e.getMessage());
+            }
+        } finally {
+            APPLY_FOR_LOAN_TIMER.record(startNanos);
         }
     }
 
-    public boolean approveLoan(String loanId) {
-        if (!hasPermission("APPROVE_LOANS")) return false;
+    public ValidationResult approveLoan(String loanId) {
+        long startNanos = System.nanoTime();
+        try {
+            if (!hasPermission(Permission.APPROVE_LOANS)) return ValidationResult.fail(Reason.PERMISSION_DENIED);
         
-        Optional<Loan> loanOpt = loans.stream()
-            .filter(loan -> loan.getLoanId().equals(loanId))
-            .findFirst();
+            Optional<Loan> loanOpt = loans.stream()
+                .filter(loan -> loan.getLoanId().equals(loanId))
+                .findFirst();
         
-        if (!loanOpt.isPresent()) {
-            System.err.println("Loan not found: " + loanId);
-            return false;
-        }
+            if (!loanOpt.isPresent()) {
+                return ValidationResult.fail(Reason.LOAN_NOT_FOUND, loanId);
+            }
 
-        Loan loan = loanOpt.get();
-        if (loan.getStatus() != Loan.LoanStatus.PENDING) {
-            System.err.println("Loan is not in pending status.");
-            return false;
-        }
+            Loan loan = loanOpt.get();
+            if (loan.getStatus() != Loan.LoanStatus.PENDING) {
+                return ValidationResult.fail(Reason.LOAN_NOT_PENDING);
+            }
 
-        loan.setStatus(Loan.LoanStatus.APPROVED);
-        loan.setApprovalDate(LocalDate.now());
-        saveData();
-        
-        System.out.println("Loan approved successfully: " + loanId);
-        return true;
+            loan.setStatus(Loan.LoanStatus.APPROVED);
+            loan.setApprovalDate(LocalDate.now());
+            postLoanStatus(loan, Loan.LoanStatus.PENDING);
+            commit();
+            return ValidationResult.ok();
+        } finally {
+            APPROVE_LOAN_TIMER.record(startNanos);
+        }
     }
 
-    public boolean disburseLoan(String loanId) {
-        if (!hasPermission("DISBURSE_LOANS")) return false;
+    public ValidationResult disburseLoan(String loanId) {
+        long startNanos = System.nanoTime();
+        try {
+            if (!hasPermission(Permission.DISBURSE_LOANS)) return ValidationResult.fail(Reason.PERMISSION_DENIED);
         
-        Optional<Loan> loanOpt = loans.stream()
-            .filter(loan -> loan.getLoanId().equals(loanId))
-            .findFirst();
+            Optional<Loan> loanOpt = loans.stream()
+                .filter(loan -> loan.getLoanId().equals(loanId))
+                .findFirst();
         
-        if (!loanOpt.isPresent()) {
-            System.err.println("Loan not found: " + loanId);
-            return false;
+            if (!loanOpt.isPresent()) {
+                return ValidationResult.fail(Reason.LOAN_NOT_FOUND, loanId);
+            }
+
+            Loan loan = loanOpt.get();
+            if (loan.getStatus() != Loan.LoanStatus.APPROVED) {
+                return ValidationResult.fail(Reason.LOAN_NOT_APPROVED);
+            }
+
+            // Credit the loan amount to member's account; the credit and the status change are saved
+            // and published together, so no snapshot shows one without the other
+            beginBatch();
+            try {
+                ValidationResult credit = postDeposit(loan.getMemberId(), loan.getPrincipalAmount(),
+                                        Loan.DISBURSEMENT_DESCRIPTION_PREFIX + loan.getLoanId(), null);
+
+                if (credit.isValid()) {
+                    loan.setStatus(Loan.LoanStatus.DISBURSED);
+                    loan.setDisbursementDate(LocalDate.now());
+                    postLoanStatus(loan, Loan.LoanStatus.APPROVED);
+                    commit();
+                }
+
+                return credit;
+            } finally {
+                endBatch();
+            }
+        } finally {
+            DISBURSE_LOAN_TIMER.record(startNanos);
         }
+    }
 
-        Loan loan = loanOpt.get();
-        if (loan.getStatus() != Loan.LoanStatus.APPROVED) {
-            System.err.println("Loan must be approved before disbursement.");
-            return false;
+    public List<AssociationSnapshot.LoanView> getAllLoans() {
+        if (!hasPermission(Permission.VIEW_LOANS)) return new ArrayList<>();
+        return snapshot.getLoanViews();
+    }
+
+    public List<AssociationSnapshot.LoanView> getMemberLoans(String memberId) {
+        long startNanos = System.nanoTime();
+        try {
+            return snapshot.getLoanViews().stream()
+                .filter(loan -> loan.getMemberId().equals(memberId))
+                .collect(Collectors.toList());
+        } finally {
+            GET_MEMBER_LOANS_TIMER.record(startNanos);
         }
+    }
 
-        // Credit the loan amount to member's account
-        boolean success = deposit(loan.getMemberId(), loan.getPrincipalAmount(), 
-                                "Loan disbursement - " + loan.getLoanId());
-        
-        if (success) {
-            loan.setStatus(Loan.LoanStatus.DISBURSED);
-            loan.setDisbursementDate(LocalDate.now());
-            saveData();
-            System.out.println("Loan disbursed successfully: " + loanId);
-            return true;
+    // Statement over [from, to], either end may be null for an open range
+    public Optional<MemberStatement> openStatement(String memberId, LocalDate from, LocalDate to) {
+        long startNanos = System.nanoTime();
+        try {
+            return findMember(memberId).map(member -> MemberStatement.of(member, from, to));
+        } finally {
+            OPEN_STATEMENT_TIMER.record(startNanos);
         }
-        
-        return false;
     }
 
-    public List<Loan> getAllLoans() {
-        if (!hasPermission("VIEW_LOANS")) return new ArrayList<>();
-        return new ArrayList<>(loans);
+    // Free-text search over descriptions: words are ANDed, "OR" separates alternatives. memberId,
+    // from and to are optional filters. Newest matches first.
+    public List<Transaction> searchTransactions(String query, String memberId, LocalDate from, LocalDate to, int limit) {
+        long startNanos = System.nanoTime();
+        try {
+            if (!hasPermission(Permission.VIEW_MEMBERS) || query == null) return new ArrayList<>();
+            return descriptionIndex.search(allTransactions, query, memberId, from, to, limit);
+        } finally {
+            SEARCH_TRANSACTIONS_TIMER.record(startNanos);
+        }
     }
 
-    public List<Loan> getMemberLoans(String memberId) {
-        return loans.stream()
-            .filter(loan -> loan.getMemberId().equals(memberId))
-            .collect(Collectors.toList());
+    // Captures every member's statement for a bulk export; null without report permission
+    public List<MemberStatement> openAllStatements(LocalDate from, LocalDate to) {
+        long startNanos = System.nanoTime();
+        try {
+            if (!hasPermission(Permission.GENERATE_REPORTS)) return null;
+            List<MemberStatement> statements = new ArrayList<>(members.size());
+            for (Member member : members) {
+                statements.add(MemberStatement.of(member, from, to));
+            }
+            return statements;
+        } finally {
+            OPEN_ALL_STATEMENTS_TIMER.record(startNanos);
+        }
     }
 
     // Advanced Reporting
     public MonthlyReport generateMonthlyReport(YearMonth month) {
-        if (!hasPermission("GENERATE_REPORTS")) return null;
+        long startNanos = System.nanoTime();
+        try {
+            if (!hasPermission(Permission.GENERATE_REPORTS)) return null;
         
-        LocalDate startDate = month.atDay(1);
-        LocalDate endDate = month.atEndOfMonth();
+            LocalDate startDate = month.atDay(1);
+            LocalDate endDate = month.atEndOfMonth();
         
-        List<Transaction> monthlyTransactions = allTransactions.stream()
-            .filter(t -> !t.getDate().isBefore(startDate) && !t.getDate().isAfter(endDate))
-            .collect(Collectors.toList());
+            List<Transaction> monthlyTransactions = allTransactions.stream()
+                .filter(t -> !t.getDate().isBefore(startDate) && !t.getDate().isAfter(endDate))
+                .collect(Collectors.toList());
         
-        double totalContributions = monthlyTransactions.stream()
-            .filter(t -> t instanceof Contribution)
-            .mapToDouble(Transaction::getAmount)
-            .sum();
+            double totalContributions = monthlyTransactions.stream()
+                .filter(t -> t instanceof Contribution)
+                .mapToDouble(Transaction::getAmount)
+                .sum();
         
-        double totalWithdrawals = monthlyTransactions.stream()
-            .filter(t -> t instanceof Withdrawal)
-            .mapToDouble(Transaction::getAmount)
-            .sum();
+            double totalWithdrawals = monthlyTransactions.stream()
+                .filter(t -> t instanceof Withdrawal)
+                .mapToDouble(Transaction::getAmount)
+                .sum();
         
-        double totalInterest = monthlyTransactions.stream()
-            .filter(t -> t instanceof InterestTransaction)
-            .mapToDouble(Transaction::getAmount)
-            .sum();
+            double totalInterest = monthlyTransactions.stream()
+                .filter(t -> t instanceof InterestTransaction)
+                .mapToDouble(Transaction::getAmount)
+                .sum();
         
-        int newMembers = (int) members.stream()
-            .filter(m -> !m.getJoinDate().isBefore(startDate) && !m.getJoinDate().isAfter(endDate))
-            .count();
+            int newMembers = (int) members.stream()
+                .filter(m -> !m.getJoinDate().isBefore(startDate) && !m.getJoinDate().isAfter(endDate))
+                .count();
         
-        double totalBalance = members.stream()
-            .mapToDouble(m -> m.getAccount().getBalance())
-            .sum();
+            double totalBalance = members.stream()
+                .mapToDouble(m -> m.getAccount().getBalance())
+                .sum();
         
-        return new MonthlyReport(month, totalContributions, totalWithdrawals, totalInterest, 
-                               newMembers, members.size(), totalBalance, monthlyTransactions.size());
+            return new MonthlyReport(month, totalContributions, totalWithdrawals, totalInterest, 
+                                   newMembers, members.size(), totalBalance, monthlyTransactions.size());
+        } finally {
+            GENERATE_MONTHLY_REPORT_TIMER.record(startNanos);
+        }
     }
 
     // Monthly Report class
@@ -0,0 +1,207 @@
+package service;
+
+import model.Loan;
+import model.Member;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Immutable point-in-time view of the association, published after each commit. Readers only ever
+// see the frozen MemberView/LoanView rows, never the service's mutable Member and Loan objects. Each
+// snapshot is derived from the previous one: rows the commit did not touch are shared, not copied.
+public final class AssociationSnapshot {
+    private final long version;
+    private final ChunkedList<MemberView> memberViews;
+    private final ChunkedList<LoanView> loanViews;
+    private final int activeMembers;
+    private final int transactionCount;
+    private final double totalBalance;
+    private final Map<Loan.LoanStatus, Integer> loansByStatus;
+    // Sorted orders are built lazily, at most once per snapshot
+    private final Map<MemberSortKey, List<MemberView>> sortedMemberViews = new ConcurrentHashMap<>();
+
+    private AssociationSnapshot(long version, ChunkedList<MemberView> memberViews, ChunkedList<LoanView> loanViews,
+                                int activeMembers, double totalBalance, Map<Loan.LoanStatus, Integer> loansByStatus,
+                                int transactionCount) {
+        this.version = version;
+        this.memberViews = memberViews;
+        this.loanViews = loanViews;
+        this.activeMembers = activeMembers;
+        this.totalBalance = totalBalance;
+        this.loansByStatus = Collections.unmodifiableMap(loansByStatus);
+        this.transactionCount = transactionCount;
+    }
+
+    static AssociationSnapshot empty() {
+        return new AssociationSnapshot(0, ChunkedList.empty(), ChunkedList.empty(), 0, 0,
+            new EnumMap<>(Loan.LoanStatus.class), 0);
+    }
+
+    // Full rebuild, after a load
+    static AssociationSnapshot of(long version, List<Member> members, List<Loan> loans, int transactionCount) {
+        return empty().next(version, members, loans, transactionCount, Collections.emptySet(), Collections.emptySet());
+    }
+
+    // The snapshot after a commit. members and loans only grow; positions at or past this snapshot's
+    // sizes are new rows, and touched positions below them are rows the commit may have changed.
+    AssociationSnapshot next(long version, List<Member> members, List<Loan> loans, int transactionCount,
+                             Set<Integer> touchedMembers, Set<Integer> touchedLoans) {
+        ChunkedList.Builder<MemberView> memberRows = memberViews.toBuilder();
+        int active = activeMembers;
+        double balance = totalBalance;
+        for (int position : touchedMembers) {
+            if (position >= memberViews.size()) continue;
+            MemberView before = memberViews.get(position);
+            MemberView after = new MemberView(members.get(position));
+            memberRows.set(position, after);
+            active += (after.isActive() ? 1 : 0) - (before.isActive() ? 1 : 0);
+            balance += after.getBalance() - before.getBalance();
+        }
+        for (int position = memberViews.size(); position < members.size(); position++) {
+            MemberView added = new MemberView(members.get(position));
+            memberRows.add(added);
+            if (added.isActive()) active++;
+            balance += added.getBalance();
+        }
+
+        ChunkedList.Builder<LoanView> loanRows = loanViews.toBuilder();
+        Map<Loan.LoanStatus, Integer> byStatus = new EnumMap<>(Loan.LoanStatus.class);
+        byStatus.putAll(loansByStatus);
+        for (int position : touchedLoans) {
+            if (position >= loanViews.size()) continue;
+            LoanView before = loanViews.get(position);
+            LoanView after = new LoanView(loans.get(position));
+            loanRows.set(position, after);
+            byStatus.merge(before.getStatus(), -1, Integer::sum);
+            byStatus.merge(after.getStatus(), 1, Integer::sum);
+        }
+        for (int position = loanViews.size(); position < loans.size(); position++) {
+            LoanView added = new LoanView(loans.get(position));
+            loanRows.add(added);
+            byStatus.merge(added.getStatus(), 1, Integer::sum);
+        }
+        byStatus.values().removeIf(count -> count == 0);
+
+        return new AssociationSnapshot(version, memberRows.build(), loanRows.build(), active, balance, byStatus,
+            transactionCount);
+    }
+
+    // Getters
+    public long getVersion() { return version; }
+    // In registration order; a member's position never changes
+    public List<MemberView> getMemberViews() { return memberViews; }
+    // In application order; a loan's position never changes
+    public List<LoanView> getLoanViews() { return loanViews; }
+    public int getTotalMembers() { return memberViews.size(); }
+    public int getActiveMembers() { return activeMembers; }
+    public int getTotalLoans() { return loanViews.size(); }
+    public int getTransactionCount() { return transactionCount; }
+    public double getTotalBalance() { return totalBalance; }
+    public Map<Loan.LoanStatus, Integer> getLoansByStatus() { return loansByStatus; }
+
+    List<MemberView> getSortedMemberViews(MemberSortKey sortKey) {
+        // Even ID order differs from registration order once imported ids are mixed in
+        return sortedMemberViews.computeIfAbsent(sortKey, key -> {
+            List<MemberView> sorted = new ArrayList<>(memberViews);
+            sorted.sort(key.comparator());
+            return Collections.unmodifiableList(sorted);
+        });
+    }
+
+    // Frozen copy of the member fields readers care about
+    public static final class MemberView {
+        private final String memberId;
+        private final String fullName;
+        private final String email;
+        private final String phoneNumber;
+        private final LocalDate joinDate;
+        private final boolean active;
+        private final double balance;
+
+        MemberView(Member member) {
+            this.memberId = member.getMemberId();
+            this.fullName = member.getFullName();
+            this.email = member.getEmail();
+            this.phoneNumber = member.getPhoneNumber();
+            this.joinDate = member.getJoinDate();
+            this.active = member.isActive();
+            this.balance = member.getAccount().getBalance();
+        }
+
+        public String getMemberId() { return memberId; }
+        public String getFullName() { return fullName; }
+        public String getEmail() { return email; }
+        public String getPhoneNumber() { return phoneNumber; }
+        public LocalDate getJoinDate() { return joinDate; }
+        public boolean isActive() { return active; }
+        public double getBalance() { return balance; }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof MemberView)) return false;
+            MemberView other = (MemberView) o;
+            return active == other.active
+                && Double.compare(balance, other.balance) == 0
+                && memberId.equals(other.memberId)
+                && Objects.equals(fullName, other.fullName)
+                && Objects.equals(email, other.email)
+                && Objects.equals(phoneNumber, other.phoneNumber)
+                && Objects.equals(joinDate, other.joinDate);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(memberId, fullName, email, phoneNumber, joinDate, active, balance);
+        }
+    }
+
+    // Frozen copy of the loan fields readers care about
+    public static final class LoanView {
+        private final String loanId;
+        private final String memberId;
+        private final double principalAmount;
+        private final double outstandingBalance;
+        private final Loan.LoanStatus status;
+        private final LocalDate applicationDate;
+        private final double interestRate;
+        private final int termInMonths;
+        private final LocalDate disbursementDate;
+
+        LoanView(Loan loan) {
+            this.loanId = loan.getLoanId();
+            this.memberId = loan.getMemberId();
+            this.principalAmount = loan.getPrincipalAmount();
+            this.outstandingBalance = loan.getOutstandingBalance();
+            this.status = loan.getStatus();
+            this.applicationDate = loan.getApplicationDate();
+            this.interestRate = loan.getInterestRate();
+            this.termInMonths = loan.getTermInMonths();
+            this.disbursementDate = loan.getDisbursementDate();
+        }
+
+        public String getLoanId() { return loanId; }
+        public String getMemberId() { return memberId; }
+        public double getPrincipalAmount() { return principalAmount; }
+        public double getOutstandingBalance() { return outstandingBalance; }
+        public Loan.LoanStatus getStatus() { return status; }
+        public LocalDate getApplicationDate() { return applicationDate; }
+        public double getInterestRate() { return interestRate; }
+        public int getTermInMonths() { return termInMonths; }
+        // null until the loan is disbursed
+        public LocalDate getDisbursementDate() { return disbursementDate; }
+
+        // Same layout as Loan.toString
+        @Override
+        public String toString() {
+            return String.format("Loan ID: %s | Amount: ₦%.2f | Rate: %.2f%% | Term: %d months | Status: %s | Balance: ₦%.2f",
+                loanId, principalAmount, interestRate, termInMonths, status, outstandingBalance);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package service;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+// Immutable list stored as fixed-size chunks that successive versions share. A new version with a few
+// rows replaced or appended copies the chunk table and only the chunks it touches, so publishing it
+// costs O(size / CHUNK_SIZE + touched chunks * CHUNK_SIZE) rather than O(size).
+final class ChunkedList<T> extends AbstractList<T> implements RandomAccess {
+    static final int CHUNK_SHIFT = 8;
+    static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private static final ChunkedList<Object> EMPTY = new ChunkedList<>(new Object[0][], 0);
+
+    private final Object[][] chunks;
+    private final int size;
+
+    private ChunkedList(Object[][] chunks, int size) {
+        this.chunks = chunks;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> ChunkedList<T> empty() {
+        return (ChunkedList<T>) EMPTY;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index " + index + ", size " + size);
+        return (T) chunks[index >>> CHUNK_SHIFT][index & CHUNK_MASK];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    Builder<T> toBuilder() {
+        return new Builder<>(chunks, size);
+    }
+
+    // Copy-on-write editor; chunks it has not written to stay shared with the list it started from
+    static final class Builder<T> {
+        private Object[][] chunks;
+        private boolean[] owned;
+        private int size;
+
+        private Builder(Object[][] chunks, int size) {
+            this.chunks = chunks.clone();
+            this.owned = new boolean[chunks.length];
+            this.size = size;
+        }
+
+        void set(int index, T value) {
+            if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index " + index + ", size " + size);
+            writableChunk(index >>> CHUNK_SHIFT)[index & CHUNK_MASK] = value;
+        }
+
+        void add(T value) {
+            int chunk = size >>> CHUNK_SHIFT;
+            if (chunk == chunks.length) {
+                int capacity = Math.max(4, chunks.length * 2);
+                chunks = Arrays.copyOf(chunks, capacity);
+                owned = Arrays.copyOf(owned, capacity);
+            }
+            if (chunks[chunk] == null) {
+                chunks[chunk] = new Object[CHUNK_SIZE];
+                owned[chunk] = true;
+            }
+            writableChunk(chunk)[size & CHUNK_MASK] = value;
+            size++;
+        }
+
+        private Object[] writableChunk(int chunk) {
+            if (!owned[chunk]) {
+                chunks[chunk] = chunks[chunk].clone();
+                owned[chunk] = true;
+            }
+            return chunks[chunk];
+        }
+
+        // The builder must not be used afterwards
+        ChunkedList<T> build() {
+            return new ChunkedList<>(chunks, size);
+        }
+    }
+}
@@ -0,0 +1,324 @@
+package service;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+// Reads the columnar ledger files written by ColumnarLedgerWriter and aggregates over them without
+// loading the application. Only the footer is read up front; a query skips every row group whose
+// date or type statistics rule it out, and decodes just the date, type and amount columns of the rest.
+//
+// File layout (all multi-byte integers big-endian; "varint" is LEB128, "zigzag" maps signed to varint):
+//   header   "CAMC" magic (4 bytes), format version (4-byte int, currently 1)
+//   groups   row groups of up to ROW_GROUP_SIZE rows, each the five column chunks below in order
+//   footer   dictionaries, then the row group index (below)
+//   trailer  footer length (4-byte int), "CAMC" magic
+//
+// Columns, each chunk compressed on its own with raw DEFLATE:
+//   0 member index   varint index into the member id dictionary
+//   1 type           one byte, index into the type dictionary
+//   2 amount         zigzag amount in kobo (hundredths)
+//   3 epoch day      zigzag day number of the first row, then zigzag difference from the previous row
+//   4 description    varint index into the description dictionary
+//
+// Footer: three dictionaries (member ids, type names, descriptions), each a varint count followed by
+// varint-length-prefixed UTF-8 strings; then a varint row group count and, per group, a varint row
+// count and for each column: 8-byte file offset, varint compressed length, zigzag min and zigzag max
+// of the column's decoded values.
+public class ColumnarLedgerReader implements AutoCloseable {
+    static final int MAGIC = 0x43414D43; // "CAMC"
+    static final int VERSION = 1;
+    static final int COLUMN_COUNT = 5;
+    static final int MEMBER = 0;
+    static final int TYPE = 1;
+    static final int AMOUNT = 2;
+    static final int DAY = 3;
+    static final int DESCRIPTION = 4;
+
+    private final FileChannel channel;
+    private final List<String> memberIds;
+    private final List<String> types;
+    private final List<String> descriptions;
+    private final List<RowGroup> rowGroups;
+
+    private ColumnarLedgerReader(FileChannel channel, List<String> memberIds, List<String> types,
+                                 List<String> descriptions, List<RowGroup> rowGroups) {
+        this.channel = channel;
+        this.memberIds = memberIds;
+        this.types = types;
+        this.descriptions = descriptions;
+        this.rowGroups = rowGroups;
+    }
+
+    public static ColumnarLedgerReader open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            ByteBuffer header = readFully(channel, 0, 8);
+            if (size < 16 || header.getInt() != MAGIC) throw new IOException("Not a columnar ledger file: " + file);
+            int version = header.getInt();
+            if (version != VERSION) throw new IOException("Unsupported columnar ledger version " + version);
+
+            ByteBuffer trailer = readFully(channel, size - 8, 8);
+            int footerLength = trailer.getInt();
+            if (trailer.getInt() != MAGIC || footerLength < 0 || footerLength > size - 16) {
+                throw new IOException("Truncated columnar ledger file: " + file);
+            }
+            ByteBuffer footer = readFully(channel, size - 8 - footerLength, footerLength);
+            Cursor in = new Cursor(footer.array());
+
+            List<String> memberIds = readDictionary(in);
+            List<String> types = readDictionary(in);
+            List<String> descriptions = readDictionary(in);
+            int groupCount = in.varint();
+            List<RowGroup> rowGroups = new ArrayList<>(groupCount);
+            for (int g = 0; g < groupCount; g++) {
+                RowGroup group = new RowGroup(in.varint());
+                for (int c = 0; c < COLUMN_COUNT; c++) {
+                    group.offsets[c] = in.fixedLong();
+                    group.lengths[c] = in.varint();
+                    group.mins[c] = unzigzag(in.varlong());
+                    group.maxes[c] = unzigzag(in.varlong());
+                }
+                rowGroups.add(group);
+            }
+            return new ColumnarLedgerReader(channel, memberIds, types, descriptions, rowGroups);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public long getRowCount() {
+        long rows = 0;
+        for (RowGroup group : rowGroups) rows += group.rows;
+        return rows;
+    }
+
+    public int getRowGroupCount() { return rowGroups.size(); }
+    public List<String> getTypes() { return Collections.unmodifiableList(types); }
+    public List<String> getMemberIds() { return Collections.unmodifiableList(memberIds); }
+    public List<String> getDescriptions() { return Collections.unmodifiableList(descriptions); }
+
+    // Count, total, min and max of amounts, overall and per type and month, for rows dated within
+    // [from, to] (either may be null) whose type is in types (null or empty for all types)
+    public Aggregate aggregate(LocalDate from, LocalDate to, Set<String> types) throws IOException {
+        long fromDay = from == null ? Long.MIN_VALUE : from.toEpochDay();
+        long toDay = to == null ? Long.MAX_VALUE : to.toEpochDay();
+        boolean[] wantedType = new boolean[this.types.size()];
+        boolean anyType = false;
+        for (int code = 0; code < wantedType.length; code++) {
+            wantedType[code] = types == null || types.isEmpty() || types.contains(this.types.get(code));
+            anyType |= wantedType[code];
+        }
+
+        Aggregate result = new Aggregate();
+        Stats[] typeStats = new Stats[wantedType.length];
+        // Rows are mostly in date order, so the month bucket rarely changes from one row to the next
+        long monthFirstDay = 1;
+        long monthLastDay = 0;
+        Stats monthStats = null;
+        for (RowGroup group : rowGroups) {
+            if (!anyType || group.maxes[DAY] < fromDay || group.mins[DAY] > toDay
+                    || !anyWanted(wantedType, group.mins[TYPE], group.maxes[TYPE])) {
+                result.rowGroupsSkipped++;
+                continue;
+            }
+            result.rowGroupsRead++;
+            boolean allDays = group.mins[DAY] >= fromDay && group.maxes[DAY] <= toDay;
+
+            long[] days = decodeDays(readColumn(group, DAY), group.rows);
+            byte[] typeCodes = readColumn(group, TYPE);
+            Cursor amounts = new Cursor(readColumn(group, AMOUNT));
+            for (int row = 0; row < group.rows; row++) {
+                long amount = unzigzag(amounts.varlong());
+                int code = typeCodes[row];
+                long day = days[row];
+                if (!wantedType[code] || (!allDays && (day < fromDay || day > toDay))) continue;
+                if (day < monthFirstDay || day > monthLastDay) {
+                    YearMonth month = YearMonth.from(LocalDate.ofEpochDay(day));
+                    monthFirstDay = month.atDay(1).toEpochDay();
+                    monthLastDay = month.atEndOfMonth().toEpochDay();
+                    monthStats = result.byMonth.computeIfAbsent(month, key -> new Stats());
+                }
+                if (typeStats[code] == null) typeStats[code] = new Stats();
+                result.total.add(amount);
+                typeStats[code].add(amount);
+                monthStats.add(amount);
+            }
+        }
+        for (int code = 0; code < typeStats.length; code++) {
+            if (typeStats[code] != null) result.byType.put(this.types.get(code), typeStats[code]);
+        }
+        return result;
+    }
+
+    private static boolean anyWanted(boolean[] wantedType, long min, long max) {
+        for (long code = Math.max(0, min); code <= max && code < wantedType.length; code++) {
+            if (wantedType[(int) code]) return true;
+        }
+        return false;
+    }
+
+    private static long[] decodeDays(byte[] column, int rows) throws IOException {
+        Cursor in = new Cursor(column);
+        long[] days = new long[rows];
+        long previous = 0;
+        for (int row = 0; row < rows; row++) {
+            previous += unzigzag(in.varlong());
+            days[row] = previous;
+        }
+        return days;
+    }
+
+    private byte[] readColumn(RowGroup group, int column) throws IOException {
+        ByteBuffer compressed = readFully(channel, group.offsets[column], group.lengths[column]);
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(compressed.array(), 0, group.lengths[column]);
+            byte[] out = new byte[Math.max(64, group.lengths[column] * 4)];
+            int length = 0;
+            while (!inflater.finished()) {
+                if (length == out.length) out = Arrays.copyOf(out, out.length * 2);
+                int n = inflater.inflate(out, length, out.length - length);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("Corrupt column chunk at offset " + group.offsets[column]);
+                }
+                length += n;
+            }
+            return length == out.length ? out : Arrays.copyOf(out, length);
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt column chunk at offset " + group.offsets[column], e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) throw new EOFException();
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static List<String> readDictionary(Cursor in) throws IOException {
+        int count = in.varint();
+        List<String> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int length = in.varint();
+            in.require(length);
+            entries.add(new String(in.bytes, in.position, length, StandardCharsets.UTF_8));
+            in.position += length;
+        }
+        return entries;
+    }
+
+    static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // Sequential decoder over an in-memory column chunk or footer
+    private static final class Cursor {
+        final byte[] bytes;
+        int position;
+
+        Cursor(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        void require(int length) throws IOException {
+            if (length < 0 || position + length > bytes.length) throw new EOFException();
+        }
+
+        long varlong() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                require(1);
+                int b = bytes[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return value;
+            }
+            throw new IOException("Malformed varint");
+        }
+
+        int varint() throws IOException {
+            return Math.toIntExact(varlong());
+        }
+
+        long fixedLong() throws IOException {
+            require(8);
+            long value = ByteBuffer.wrap(bytes, position, 8).getLong();
+            position += 8;
+            return value;
+        }
+    }
+
+    private static final class RowGroup {
+        final int rows;
+        final long[] offsets = new long[COLUMN_COUNT];
+        final int[] lengths = new int[COLUMN_COUNT];
+        final long[] mins = new long[COLUMN_COUNT];
+        final long[] maxes = new long[COLUMN_COUNT];
+
+        RowGroup(int rows) {
+            this.rows = rows;
+        }
+    }
+
+    // Amounts are kept in kobo so totals stay exact
+    public static final class Stats {
+        private long count;
+        private long sum;
+        private long min = Long.MAX_VALUE;
+        private long max = Long.MIN_VALUE;
+
+        void add(long amount) {
+            count++;
+            sum += amount;
+            if (amount < min) min = amount;
+            if (amount > max) max = amount;
+        }
+
+        public long getCount() { return count; }
+        public double getSum() { return sum / 100.0; }
+        public double getMin() { return count == 0 ? 0 : min / 100.0; }
+        public double getMax() { return count == 0 ? 0 : max / 100.0; }
+        public double getAverage() { return count == 0 ? 0 : sum / 100.0 / count; }
+    }
+
+    public static final class Aggregate {
+        private final Stats total = new Stats();
+        private final Map<String, Stats> byType = new TreeMap<>();
+        private final Map<YearMonth, Stats> byMonth = new TreeMap<>();
+        private int rowGroupsRead;
+        private int rowGroupsSkipped;
+
+        public Stats getTotal() { return total; }
+        public Map<String, Stats> getByType() { return Collections.unmodifiableMap(byType); }
+        public Map<YearMonth, Stats> getByMonth() { return Collections.unmodifiableMap(byMonth); }
+        public int getRowGroupsRead() { return rowGroupsRead; }
+        public int getRowGroupsSkipped() { return rowGroupsSkipped; }
+    }
+}
@@ -0,0 +1,302 @@
+package service;
+
+import model.Permission;
+import model.Transaction;
+import persistence.DataPersistence;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+
+import static service.ColumnarLedgerReader.AMOUNT;
+import static service.ColumnarLedgerReader.COLUMN_COUNT;
+import static service.ColumnarLedgerReader.DAY;
+import static service.ColumnarLedgerReader.DESCRIPTION;
+import static service.ColumnarLedgerReader.MEMBER;
+import static service.ColumnarLedgerReader.TYPE;
+
+// Writes the transaction ledger as a columnar analytics file; the layout is described on
+// ColumnarLedgerReader. Transactions are streamed from the committed data file into one row group at
+// a time, so memory holds a single group plus the member, type and description dictionaries. The
+// caller must hold the service lock, as for LedgerExporter.
+public class ColumnarLedgerWriter {
+    public static final String FILE_NAME = "transactions.cld";
+    public static final int ROW_GROUP_SIZE = 65_536;
+    private static final int OUTPUT_BUFFER_SIZE = 1 << 16;
+
+    private final AssociationService associationService;
+
+    public ColumnarLedgerWriter(AssociationService associationService) {
+        this.associationService = associationService;
+    }
+
+    // null without GENERATE_REPORTS permission
+    public Result export(LedgerExporter.Filter filter, Path file) throws IOException {
+        if (!associationService.hasPermission(Permission.GENERATE_REPORTS)) return null;
+        DataPersistence persistence = associationService.committedPersistence();
+
+        long start = System.nanoTime();
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        try (FileWriter writer = new FileWriter(Files.newOutputStream(file))) {
+            persistence.streamTransactions(transaction -> {
+                if (filter.accepts(transaction.getMemberId(), transaction.getDate())) writer.add(transaction);
+            });
+            writer.finish();
+            return new Result(file, writer.rows, writer.groups.size(), Files.size(file), System.nanoTime() - start);
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Unreadable transactions file", e);
+        }
+    }
+
+    private static final class FileWriter implements AutoCloseable {
+        private final DataOutputStream out;
+        private long position;
+        private long rows;
+
+        private final Dictionary memberIds = new Dictionary();
+        private final Dictionary types = new Dictionary();
+        private final Dictionary descriptions = new Dictionary();
+        private final List<GroupMeta> groups = new ArrayList<>();
+
+        // The open row group, one array per column
+        private final int[] memberColumn = new int[ROW_GROUP_SIZE];
+        private final byte[] typeColumn = new byte[ROW_GROUP_SIZE];
+        private final long[] amountColumn = new long[ROW_GROUP_SIZE];
+        private final long[] dayColumn = new long[ROW_GROUP_SIZE];
+        private final int[] descriptionColumn = new int[ROW_GROUP_SIZE];
+        private int groupRows;
+
+        private final VarintBuffer encoded = new VarintBuffer();
+        private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        private byte[] compressed = new byte[OUTPUT_BUFFER_SIZE];
+
+        FileWriter(OutputStream stream) throws IOException {
+            out = new DataOutputStream(new BufferedOutputStream(stream, OUTPUT_BUFFER_SIZE));
+            out.writeInt(ColumnarLedgerReader.MAGIC);
+            out.writeInt(ColumnarLedgerReader.VERSION);
+            position = 8;
+        }
+
+        void add(Transaction transaction) throws IOException {
+            int type = types.indexOf(transaction.getTransactionType());
+            if (type > Byte.MAX_VALUE) throw new IOException("Too many transaction types");
+            memberColumn[groupRows] = memberIds.indexOf(transaction.getMemberId());
+            typeColumn[groupRows] = (byte) type;
+            amountColumn[groupRows] = Math.round(transaction.getAmount() * 100);
+            dayColumn[groupRows] = transaction.getDate().toEpochDay();
+            descriptionColumn[groupRows] = descriptions.indexOf(
+                transaction.getDescription() == null ? "" : transaction.getDescription());
+            rows++;
+            if (++groupRows == ROW_GROUP_SIZE) flushGroup();
+        }
+
+        private void flushGroup() throws IOException {
+            if (groupRows == 0) return;
+            GroupMeta group = new GroupMeta(groupRows);
+
+            encoded.reset();
+            for (int row = 0; row < groupRows; row++) encoded.varint(memberColumn[row]);
+            writeChunk(group, MEMBER, min(memberColumn), max(memberColumn));
+
+            encoded.reset();
+            encoded.write(typeColumn, 0, groupRows);
+            long minType = Long.MAX_VALUE;
+            long maxType = Long.MIN_VALUE;
+            for (int row = 0; row < groupRows; row++) {
+                minType = Math.min(minType, typeColumn[row]);
+                maxType = Math.max(maxType, typeColumn[row]);
+            }
+            writeChunk(group, TYPE, minType, maxType);
+
+            encoded.reset();
+            for (int row = 0; row < groupRows; row++) encoded.varint(zigzag(amountColumn[row]));
+            writeChunk(group, AMOUNT, min(amountColumn), max(amountColumn));
+
+            encoded.reset();
+            long previous = 0;
+            for (int row = 0; row < groupRows; row++) {
+                encoded.varint(zigzag(dayColumn[row] - previous));
+                previous = dayColumn[row];
+            }
+            writeChunk(group, DAY, min(dayColumn), max(dayColumn));
+
+            encoded.reset();
+            for (int row = 0; row < groupRows; row++) encoded.varint(descriptionColumn[row]);
+            writeChunk(group, DESCRIPTION, min(descriptionColumn), max(descriptionColumn));
+
+            groups.add(group);
+            groupRows = 0;
+        }
+
+        private void writeChunk(GroupMeta group, int column, long min, long max) throws IOException {
+            deflater.reset();
+            deflater.setInput(encoded.bytes(), 0, encoded.size());
+            deflater.finish();
+            int length = 0;
+            while (!deflater.finished()) {
+                if (length == compressed.length) compressed = Arrays.copyOf(compressed, compressed.length * 2);
+                length += deflater.deflate(compressed, length, compressed.length - length);
+            }
+            out.write(compressed, 0, length);
+            group.offsets[column] = position;
+            group.lengths[column] = length;
+            group.mins[column] = min;
+            group.maxes[column] = max;
+            position += length;
+        }
+
+        void finish() throws IOException {
+            flushGroup();
+            VarintBuffer footer = new VarintBuffer();
+            memberIds.writeTo(footer);
+            types.writeTo(footer);
+            descriptions.writeTo(footer);
+            footer.varint(groups.size());
+            for (GroupMeta group : groups) {
+                footer.varint(group.rows);
+                for (int c = 0; c < COLUMN_COUNT; c++) {
+                    footer.fixedLong(group.offsets[c]);
+                    footer.varint(group.lengths[c]);
+                    footer.varint(zigzag(group.mins[c]));
+                    footer.varint(zigzag(group.maxes[c]));
+                }
+            }
+            out.write(footer.bytes(), 0, footer.size());
+            out.writeInt(footer.size());
+            out.writeInt(ColumnarLedgerReader.MAGIC);
+        }
+
+        private long min(int[] column) {
+            long min = Long.MAX_VALUE;
+            for (int row = 0; row < groupRows; row++) min = Math.min(min, column[row]);
+            return min;
+        }
+
+        private long max(int[] column) {
+            long max = Long.MIN_VALUE;
+            for (int row = 0; row < groupRows; row++) max = Math.max(max, column[row]);
+            return max;
+        }
+
+        private long min(long[] column) {
+            long min = Long.MAX_VALUE;
+            for (int row = 0; row < groupRows; row++) min = Math.min(min, column[row]);
+            return min;
+        }
+
+        private long max(long[] column) {
+            long max = Long.MIN_VALUE;
+            for (int row = 0; row < groupRows; row++) max = Math.max(max, column[row]);
+            return max;
+        }
+
+        @Override
+        public void close() throws IOException {
+            deflater.end();
+            out.close();
+        }
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    // Assigns dense indexes to strings in first-seen order
+    private static final class Dictionary {
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final List<String> entries = new ArrayList<>();
+
+        int indexOf(String value) {
+            Integer index = indexes.get(value);
+            if (index == null) {
+                index = entries.size();
+                indexes.put(value, index);
+                entries.add(value);
+            }
+            return index;
+        }
+
+        void writeTo(VarintBuffer out) {
+            out.varint(entries.size());
+            for (String entry : entries) {
+                byte[] bytes = entry.getBytes(StandardCharsets.UTF_8);
+                out.varint(bytes.length);
+                out.write(bytes, 0, bytes.length);
+            }
+        }
+    }
+
+    private static final class VarintBuffer extends ByteArrayOutputStream {
+        VarintBuffer() {
+            super(1 << 16);
+        }
+
+        void varint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        void fixedLong(long value) {
+            for (int shift = 56; shift >= 0; shift -= 8) write((int) (value >>> shift));
+        }
+
+        byte[] bytes() {
+            return buf;
+        }
+    }
+
+    private static final class GroupMeta {
+        final int rows;
+        final long[] offsets = new long[COLUMN_COUNT];
+        final int[] lengths = new int[COLUMN_COUNT];
+        final long[] mins = new long[COLUMN_COUNT];
+        final long[] maxes = new long[COLUMN_COUNT];
+
+        GroupMeta(int rows) {
+            this.rows = rows;
+        }
+    }
+
+    public static final class Result {
+        private final Path file;
+        private final long rows;
+        private final int rowGroups;
+        private final long bytes;
+        private final long elapsedNanos;
+
+        Result(Path file, long rows, int rowGroups, long bytes, long elapsedNanos) {
+            this.file = file;
+            this.rows = rows;
+            this.rowGroups = rowGroups;
+            this.bytes = bytes;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public Path getFile() { return file; }
+        public long getRows() { return rows; }
+        public int getRowGroups() { return rowGroups; }
+        public long getBytes() { return bytes; }
+        public long getElapsedNanos() { return elapsedNanos; }
+
+        @Override
+        public String toString() {
+            double seconds = elapsedNanos / 1e9;
+            return String.format("columnar ledger: %,d rows in %d row group(s) -> %s (%,d bytes) in %.2fs",
+                rows, rowGroups, file, bytes, seconds);
+        }
+    }
+}
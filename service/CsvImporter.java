@@ -0,0 +1,528 @@
+package service;
+
+import model.Member;
+import model.Permission;
+import model.Transaction;
+import validation.TransactionValidator;
+import validation.ValidationResult;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Streams a members or contributions CSV into the association. Records are read one chunk at a time,
+// so memory stays bounded by the chunk size whatever the file size; each chunk is parsed and checked
+// in parallel (field formats, amount limits), then applied in file order inside one service batch,
+// i.e. one save per chunk. Rows that fail either step go to a rejects CSV with their line number and
+// reason, and the rest of the file carries on. The caller must hold the service lock for the run.
+//
+// Re-running a file after a crash does not post twice. Each chunk gets a key derived from its content,
+// kept permanently and recorded in the same save as the chunk, and a chunk seen before is skipped
+// whole. This relies on the same chunk size, which the menu and GUI always use. Contribution rows may
+// also carry their own idempotencyKey, checked like an API deposit's (so it expires like one).
+//
+// Members:       firstName,lastName,email,phone[,memberId,address,dateOfBirth,occupation,joinDate]
+// Contributions: memberId,amount[,date,description,idempotencyKey]
+// Columns are matched by header name (case, spaces and underscores ignored) in any order.
+public class CsvImporter {
+    public enum Kind { MEMBERS, CONTRIBUTIONS }
+
+    public static final int DEFAULT_CHUNK_SIZE = 50_000;
+
+    private static final String[] MEMBER_REQUIRED = { "firstname", "lastname", "email", "phone" };
+    private static final String[] CONTRIBUTION_REQUIRED = { "memberid", "amount" };
+
+    private final AssociationService associationService;
+    private final TransactionValidator validator = new TransactionValidator();
+    private final int chunkSize;
+    private final int parallelism;
+
+    public CsvImporter(AssociationService associationService) {
+        this(associationService, DEFAULT_CHUNK_SIZE, Runtime.getRuntime().availableProcessors());
+    }
+
+    public CsvImporter(AssociationService associationService, int chunkSize, int parallelism) {
+        this.associationService = associationService;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    // null without ADD_MEMBER (members) or PROCESS_TRANSACTIONS (contributions) permission.
+    // Rejected rows are written to rejectsFile, which is only created when something is rejected.
+    public Result importFile(Kind kind, Path csv, Path rejectsFile) throws IOException {
+        Permission required = kind == Kind.MEMBERS ? Permission.ADD_MEMBER : Permission.PROCESS_TRANSACTIONS;
+        if (!associationService.hasPermission(required)) return null;
+
+        long start = System.nanoTime();
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread thread = new Thread(r, "csv-import");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try (BufferedReader reader = Files.newBufferedReader(csv, StandardCharsets.UTF_8);
+             RejectWriter rejects = new RejectWriter(rejectsFile)) {
+            RecordReader records = new RecordReader(reader);
+            Record header = records.next();
+            if (header == null) throw new IOException("Empty file: " + csv);
+            Map<String, Integer> columns = columnsOf(header.fields);
+            for (String name : kind == Kind.MEMBERS ? MEMBER_REQUIRED : CONTRIBUTION_REQUIRED) {
+                if (!columns.containsKey(name)) throw new IOException("Missing column '" + name + "' in " + csv);
+            }
+
+            Tally tally = new Tally();
+            int rows = 0, chunks = 0;
+            List<Record> chunk = new ArrayList<>(Math.min(chunkSize, 65_536));
+            Record record;
+            do {
+                record = records.next();
+                if (record != null) chunk.add(record);
+                if (chunk.size() == chunkSize || (record == null && !chunk.isEmpty())) {
+                    Object[] parsed = validateChunk(pool, kind, columns, chunk);
+                    applyChunk(kind, chunk, parsed, rejects, tally);
+                    rows += chunk.size();
+                    chunks++;
+                    chunk.clear();
+                }
+            } while (record != null);
+
+            return new Result(kind, rows, tally.imported, tally.duplicates, rejects.count, chunks,
+                System.nanoTime() - start, rejects.count > 0 ? rejectsFile : null);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // Stateless per-row checks, split across the pool. Each slot holds a parsed row or a reject reason.
+    private Object[] validateChunk(ExecutorService pool, Kind kind, Map<String, Integer> columns, List<Record> chunk)
+            throws IOException {
+        Object[] parsed = new Object[chunk.size()];
+        AtomicInteger next = new AtomicInteger();
+        List<Callable<Void>> workers = new ArrayList<>();
+        for (int w = 0; w < parallelism; w++) {
+            workers.add(() -> {
+                LocalDate today = LocalDate.now();
+                for (int i = next.getAndIncrement(); i < parsed.length; i = next.getAndIncrement()) {
+                    try {
+                        String[] fields = chunk.get(i).fields;
+                        parsed[i] = kind == Kind.MEMBERS ? parseMember(fields, columns, today)
+                            : parseContribution(fields, columns, today);
+                    } catch (DateTimeParseException e) {
+                        parsed[i] = new Reject("Invalid date: " + e.getParsedString());
+                    } catch (NumberFormatException e) {
+                        parsed[i] = new Reject("Invalid number: " + e.getMessage());
+                    }
+                }
+                return null;
+            });
+        }
+        try {
+            for (Future<Void> future : pool.invokeAll(workers)) future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Import interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Import failed: " + e.getCause().getMessage(), e.getCause());
+        }
+        return parsed;
+    }
+
+    // Applies the chunk in file order as one batch; checks that depend on live state happen here
+    private void applyChunk(Kind kind, List<Record> chunk, Object[] parsed, RejectWriter rejects, Tally tally)
+            throws IOException {
+        String chunkKey = chunkKey(kind, chunk);
+        String chunkFingerprint = "CSV|" + kind;
+        associationService.beginBatch();
+        try {
+            // Chunks imported before the permanent record existed are still in the idempotency keys
+            if (associationService.isChunkImported(chunkKey)
+                    || associationService.matchIdempotencyKey(chunkKey, chunkFingerprint) == IdempotencyCache.Match.REPLAY) {
+                // Rows that fail parsing were rejected last time too; the rest were applied or turned away then
+                for (int i = 0; i < parsed.length; i++) {
+                    if (parsed[i] instanceof Reject) {
+                        rejects.write(chunk.get(i), ((Reject) parsed[i]).reason);
+                    } else {
+                        tally.duplicates++;
+                    }
+                }
+                return;
+            }
+            int importedBefore = tally.imported;
+            for (int i = 0; i < parsed.length; i++) {
+                String reason = parsed[i] instanceof Reject ? ((Reject) parsed[i]).reason
+                    : kind == Kind.MEMBERS ? applyMember((MemberRow) parsed[i], tally)
+                    : applyContribution((ContributionRow) parsed[i], tally);
+                if (reason != null) rejects.write(chunk.get(i), reason);
+            }
+            // Saved with the chunk by endBatch, so a crash either keeps both or neither
+            if (tally.imported > importedBefore) associationService.recordImportedChunk(chunkKey);
+        } finally {
+            associationService.endBatch();
+        }
+    }
+
+    private static String chunkKey(Kind kind, List<Record> chunk) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        for (Record record : chunk) {
+            digest.update(record.raw.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+        }
+        StringBuilder key = new StringBuilder("csv-").append(kind.name().toLowerCase(Locale.ROOT)).append(':');
+        for (byte b : digest.digest()) key.append(String.format("%02x", b));
+        return key.toString();
+    }
+
+    private Object parseMember(String[] fields, Map<String, Integer> columns, LocalDate today) {
+        String firstName = field(fields, columns, "firstname");
+        String lastName = field(fields, columns, "lastname");
+        String email = field(fields, columns, "email");
+        String phone = field(fields, columns, "phone");
+        if (firstName.isEmpty() || lastName.isEmpty()) return new Reject("First and last name are required");
+        if (!isEmail(email)) return new Reject("Invalid email: " + email);
+        if (!isPhone(phone)) return new Reject("Invalid phone number: " + phone);
+
+        String dobText = field(fields, columns, "dateofbirth");
+        String joinText = field(fields, columns, "joindate");
+        LocalDate dateOfBirth = dobText.isEmpty() ? null : LocalDate.parse(dobText);
+        LocalDate joinDate = joinText.isEmpty() ? today : LocalDate.parse(joinText);
+        if (joinDate.isAfter(today)) return new Reject("Join date is in the future: " + joinDate);
+        if (dateOfBirth != null && !dateOfBirth.isBefore(joinDate)) {
+            return new Reject("Date of birth must be before the join date");
+        }
+
+        String memberId = field(fields, columns, "memberid");
+        if (!memberId.isEmpty() && !isMemberId(memberId)) {
+            return new Reject("Invalid member ID (expected MEM and 4 to 9 digits): " + memberId);
+        }
+        return new MemberRow(memberId.isEmpty() ? null : memberId, firstName, lastName, email, phone,
+            field(fields, columns, "address"), dateOfBirth, field(fields, columns, "occupation"), joinDate);
+    }
+
+    private Object parseContribution(String[] fields, Map<String, Integer> columns, LocalDate today) {
+        String memberId = field(fields, columns, "memberid");
+        if (memberId.isEmpty()) return new Reject("Member ID is required");
+        String amountText = field(fields, columns, "amount");
+        double amount = Double.parseDouble(amountText);
+        if (!Double.isFinite(amount)) return new Reject("Invalid number: " + amountText);
+        ValidationResult validation = validator.validateContribution(amount);
+        if (!validation.isValid()) return new Reject(validation.getMessage());
+
+        String dateText = field(fields, columns, "date");
+        LocalDate date = dateText.isEmpty() ? today : LocalDate.parse(dateText);
+        if (date.isAfter(today)) return new Reject("Contribution date is in the future: " + date);
+        String description = field(fields, columns, "description");
+        ValidationResult described = validator.validateDescription(description);
+        if (!described.isValid()) return new Reject(described.getMessage());
+        String idempotencyKey = field(fields, columns, "idempotencykey");
+        return new ContributionRow(memberId, amount, date, description.isEmpty() ? "Imported contribution" : description,
+            idempotencyKey.isEmpty() ? null : idempotencyKey);
+    }
+
+    // Each returns null once the row is counted in tally, else the reason it was rejected
+    private String applyMember(MemberRow row, Tally tally) {
+        Member member = associationService.importMember(row.memberId, row.firstName, row.lastName, row.email,
+            row.phone, row.address, row.dateOfBirth, row.occupation, row.joinDate);
+        if (member == null) return "Member ID already exists: " + row.memberId;
+        tally.imported++;
+        return null;
+    }
+
+    private String applyContribution(ContributionRow row, Tally tally) {
+        String fingerprint = null;
+        if (row.idempotencyKey != null) {
+            fingerprint = IdempotencyCache.fingerprint(IdempotencyCache.DEPOSIT, row.memberId, row.amount);
+            switch (associationService.matchIdempotencyKey(row.idempotencyKey, fingerprint)) {
+                case REPLAY:
+                    tally.duplicates++;
+                    return null;
+                case CONFLICT:
+                    return ValidationResult.fail(ValidationResult.Reason.IDEMPOTENCY_CONFLICT, row.idempotencyKey)
+                        .getMessage();
+                default:
+                    break;
+            }
+        }
+        Member member = associationService.findMember(row.memberId).orElse(null);
+        if (member == null) return "Member not found: " + row.memberId;
+        if (row.date.isBefore(member.getJoinDate())) {
+            return "Dated before the member joined on " + member.getJoinDate();
+        }
+        // Histories are kept in date order; statements and running balances rely on it
+        List<Transaction> history = member.getAccount().getTransactionHistory();
+        if (!history.isEmpty() && row.date.isBefore(history.get(history.size() - 1).getDate())) {
+            return "Dated before the member's latest transaction (" + history.get(history.size() - 1).getDate() + ")";
+        }
+        associationService.importContribution(member, row.amount, row.date, row.description);
+        associationService.recordIdempotencyKey(row.idempotencyKey, fingerprint);
+        tally.imported++;
+        return null;
+    }
+
+    private static String field(String[] fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        return index == null || index >= fields.length ? "" : fields[index].trim();
+    }
+
+    private static Map<String, Integer> columnsOf(String[] header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.length; i++) {
+            String name = header[i].replace(" ", "").replace("_", "").toLowerCase(Locale.ROOT);
+            if (i == 0 && name.startsWith("\uFEFF")) name = name.substring(1); // byte order mark
+            columns.putIfAbsent(name, i);
+        }
+        return columns;
+    }
+
+    private static boolean isEmail(String email) {
+        int at = email.indexOf('@');
+        return at > 0 && at == email.lastIndexOf('@') && email.indexOf('.', at) > at + 1
+            && !email.endsWith(".") && email.indexOf(' ') < 0;
+    }
+
+    // Same shape as the ids the service issues, so the id counter can move past imported ones
+    private static boolean isMemberId(String memberId) {
+        int digits = memberId.length() - 3;
+        if (!memberId.startsWith("MEM") || digits < 4 || digits > 9) return false;
+        for (int i = 3; i < memberId.length(); i++) {
+            char c = memberId.charAt(i);
+            if (c < '0' || c > '9') return false;
+        }
+        return true;
+    }
+
+    private static boolean isPhone(String phone) {
+        int digits = 0;
+        for (int i = 0; i < phone.length(); i++) {
+            char c = phone.charAt(i);
+            if (Character.isDigit(c)) digits++;
+            else if (c != '+' && c != '-' && c != ' ' && c != '(' && c != ')') return false;
+        }
+        return digits >= 7;
+    }
+
+    // One CSV record; quoted fields may contain commas, doubled quotes and line breaks
+    private static final class Record {
+        final int lineNumber;
+        final String raw;
+        final String[] fields;
+
+        Record(int lineNumber, String raw, String[] fields) {
+            this.lineNumber = lineNumber;
+            this.raw = raw;
+            this.fields = fields;
+        }
+    }
+
+    private static final class RecordReader {
+        private final BufferedReader reader;
+        private int lineNumber;
+
+        RecordReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        // Next non-blank record, or null at end of file
+        Record next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) return null;
+                lineNumber++;
+            } while (line.trim().isEmpty());
+
+            int firstLine = lineNumber;
+            StringBuilder raw = new StringBuilder(line);
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            int i = 0;
+            while (true) {
+                if (i == raw.length()) {
+                    if (!quoted) break;
+                    String continuation = reader.readLine();
+                    if (continuation == null) break; // unterminated quote: keep what we have
+                    lineNumber++;
+                    raw.append('\n').append(continuation);
+                    continue;
+                }
+                char c = raw.charAt(i++);
+                if (quoted) {
+                    if (c == '"') {
+                        if (i < raw.length() && raw.charAt(i) == '"') {
+                            field.append('"');
+                            i++;
+                        } else {
+                            quoted = false;
+                        }
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            fields.add(field.toString());
+            return new Record(firstLine, raw.toString(), fields.toArray(new String[0]));
+        }
+    }
+
+    private static final class RejectWriter implements AutoCloseable {
+        private final Path file;
+        private BufferedWriter writer;
+        int count;
+
+        RejectWriter(Path file) {
+            this.file = file;
+        }
+
+        void write(Record record, String reason) throws IOException {
+            if (writer == null) {
+                writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+                writer.write("line,reason,record\n");
+            }
+            writer.write(Integer.toString(record.lineNumber));
+            writer.write(',');
+            writer.write(quote(reason));
+            writer.write(',');
+            writer.write(quote(record.raw));
+            writer.write('\n');
+            count++;
+        }
+
+        private static String quote(String value) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (writer != null) writer.close();
+        }
+    }
+
+    private static final class Tally {
+        int imported;
+        // Rows skipped because their chunk or idempotency key was already applied
+        int duplicates;
+    }
+
+    private static final class Reject {
+        final String reason;
+
+        Reject(String reason) {
+            this.reason = reason;
+        }
+    }
+
+    private static final class MemberRow {
+        final String memberId;
+        final String firstName;
+        final String lastName;
+        final String email;
+        final String phone;
+        final String address;
+        final LocalDate dateOfBirth;
+        final String occupation;
+        final LocalDate joinDate;
+
+        MemberRow(String memberId, String firstName, String lastName, String email, String phone, String address,
+                  LocalDate dateOfBirth, String occupation, LocalDate joinDate) {
+            this.memberId = memberId;
+            this.firstName = firstName;
+            this.lastName = lastName;
+            this.email = email;
+            this.phone = phone;
+            this.address = address;
+            this.dateOfBirth = dateOfBirth;
+            this.occupation = occupation;
+            this.joinDate = joinDate;
+        }
+    }
+
+    private static final class ContributionRow {
+        final String memberId;
+        final double amount;
+        final LocalDate date;
+        final String description;
+        final String idempotencyKey;
+
+        ContributionRow(String memberId, double amount, LocalDate date, String description, String idempotencyKey) {
+            this.memberId = memberId;
+            this.amount = amount;
+            this.date = date;
+            this.description = description;
+            this.idempotencyKey = idempotencyKey;
+        }
+    }
+
+    public static final class Result {
+        private final Kind kind;
+        private final int rows;
+        private final int imported;
+        private final int duplicates;
+        private final int rejected;
+        private final int chunks;
+        private final long elapsedNanos;
+        private final Path rejectsFile;
+
+        Result(Kind kind, int rows, int imported, int duplicates, int rejected, int chunks, long elapsedNanos,
+               Path rejectsFile) {
+            this.kind = kind;
+            this.rows = rows;
+            this.imported = imported;
+            this.duplicates = duplicates;
+            this.rejected = rejected;
+            this.chunks = chunks;
+            this.elapsedNanos = elapsedNanos;
+            this.rejectsFile = rejectsFile;
+        }
+
+        public Kind getKind() { return kind; }
+        public int getRows() { return rows; }
+        public int getImported() { return imported; }
+        // Rows already applied by an earlier run
+        public int getAlreadyImported() { return duplicates; }
+        public int getRejected() { return rejected; }
+        public int getChunks() { return chunks; }
+        public long getElapsedNanos() { return elapsedNanos; }
+        // null when nothing was rejected
+        public Path getRejectsFile() { return rejectsFile; }
+
+        public double getRowsPerSecond() {
+            return elapsedNanos == 0 ? 0 : rows / (elapsedNanos / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d %s rows: %d imported, %d already imported, %d rejected in %d chunk(s), "
+                + "%.2fs (%.0f rows/sec)%s",
+                rows, kind.name().toLowerCase(Locale.ROOT), imported, duplicates, rejected, chunks, elapsedNanos / 1e9,
+                getRowsPerSecond(), rejectsFile == null ? "" : " -> rejects in " + rejectsFile);
+        }
+    }
+}
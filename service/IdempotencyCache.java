@@ -0,0 +1,87 @@
+package service;
+
+import java.io.Serializable;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Bounded, time-expiring set of idempotency keys for postings that already succeeded.
+// Entries are kept in insertion order, which is also expiry order. Each key remembers a fingerprint
+// of the request it was used for, so a reused key with different data is told apart from a replay.
+class IdempotencyCache {
+    static final int MAX_ENTRIES = 10000;
+    static final long TTL_MILLIS = 24L * 60 * 60 * 1000;
+
+    static final String DEPOSIT = "DEPOSIT";
+    static final String WITHDRAWAL = "WITHDRAWAL";
+
+    enum Match { NEW, REPLAY, CONFLICT }
+
+    private final LinkedHashMap<String, KeyRecord> entries;
+
+    IdempotencyCache() {
+        this.entries = new LinkedHashMap<String, KeyRecord>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, KeyRecord> eldest) {
+                return size() > MAX_ENTRIES;
+            }
+        };
+    }
+
+    // Operation, member and amount in kobo; the description is not part of the request's identity
+    static String fingerprint(String operation, String memberId, double amount) {
+        return operation + "|" + memberId + "|" + Math.round(amount * 100);
+    }
+
+    Match match(String key, String fingerprint, long nowMillis) {
+        evictExpired(nowMillis);
+        KeyRecord entry = entries.get(key);
+        if (entry == null) return Match.NEW;
+        // Keys saved before fingerprints were kept match on the key alone
+        if (entry.fingerprint == null || entry.fingerprint.equals(fingerprint)) return Match.REPLAY;
+        return Match.CONFLICT;
+    }
+
+    void record(String key, String fingerprint, long nowMillis) {
+        entries.put(key, new KeyRecord(nowMillis, fingerprint));
+    }
+
+    // Live entries, for persistence
+    LinkedHashMap<String, KeyRecord> toMap(long nowMillis) {
+        evictExpired(nowMillis);
+        return new LinkedHashMap<>(entries);
+    }
+
+    // Accepts the current entries and the older key -> recorded-at millis layout
+    void restore(Map<String, ?> saved, long nowMillis) {
+        entries.clear();
+        for (Map.Entry<String, ?> entry : saved.entrySet()) {
+            Object value = entry.getValue();
+            if (value instanceof KeyRecord) {
+                entries.put(entry.getKey(), (KeyRecord) value);
+            } else if (value instanceof Long) {
+                entries.put(entry.getKey(), new KeyRecord((Long) value, null));
+            }
+        }
+        evictExpired(nowMillis);
+    }
+
+    private void evictExpired(long nowMillis) {
+        Iterator<KeyRecord> it = entries.values().iterator();
+        while (it.hasNext() && nowMillis - it.next().recordedMillis > TTL_MILLIS) {
+            it.remove();
+        }
+    }
+
+    static final class KeyRecord implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        final long recordedMillis;
+        final String fingerprint;
+
+        KeyRecord(long recordedMillis, String fingerprint) {
+            this.recordedMillis = recordedMillis;
+            this.fingerprint = fingerprint;
+        }
+    }
+}
@@ -0,0 +1,337 @@
+package service;
+
+import model.InterestTransaction;
+import model.Loan;
+import model.Member;
+import model.Permission;
+import model.Transaction;
+import persistence.DataPersistence;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+// Writes the ledger, members or loans as CSV or JSON Lines for tools outside the application. Records
+// are read one at a time from the committed data files and written straight out, so memory use does
+// not depend on how many there are. Nothing may commit while an export runs: the caller must hold the
+// service lock, and the service must not be inside a batch.
+//
+// The date range applies to transaction dates and loan application dates; members are filtered by id only.
+// Member columns match what CsvImporter reads, so a members export can be imported elsewhere.
+public class LedgerExporter {
+    public enum Dataset { TRANSACTIONS, MEMBERS, LOANS }
+    public enum Format { CSV, JSONL }
+
+    private static final int OUTPUT_BUFFER_SIZE = 1 << 16;
+
+    private static final String[] TRANSACTION_COLUMNS =
+        { "transactionId", "memberId", "type", "amount", "date", "description", "interestRate" };
+    private static final String[] MEMBER_COLUMNS =
+        { "memberId", "firstName", "lastName", "email", "phone", "address", "dateOfBirth", "occupation",
+          "joinDate", "active", "accountId", "balance", "creditScore" };
+    private static final String[] LOAN_COLUMNS =
+        { "loanId", "memberId", "status", "principalAmount", "interestRate", "termInMonths", "monthlyPayment",
+          "outstandingBalance", "applicationDate", "approvalDate", "disbursementDate", "purpose" };
+
+    private final AssociationService associationService;
+
+    public LedgerExporter(AssociationService associationService) {
+        this.associationService = associationService;
+    }
+
+    public static String fileName(Dataset dataset, Format format, boolean gzip) {
+        return dataset.name().toLowerCase(Locale.ROOT) + (format == Format.CSV ? ".csv" : ".jsonl")
+            + (gzip ? ".gz" : "");
+    }
+
+    // null without GENERATE_REPORTS permission
+    public Result export(Dataset dataset, Format format, boolean gzip, Filter filter, Path file)
+            throws IOException {
+        if (!associationService.hasPermission(Permission.GENERATE_REPORTS)) return null;
+        DataPersistence persistence = associationService.committedPersistence();
+
+        long start = System.nanoTime();
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        OutputStream stream = Files.newOutputStream(file);
+        if (gzip) stream = new GZIPOutputStream(stream, OUTPUT_BUFFER_SIZE);
+        long scanned;
+        long written;
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8),
+                OUTPUT_BUFFER_SIZE)) {
+            RecordWriter out = new RecordWriter(writer, format, columnsOf(dataset));
+            switch (dataset) {
+                case TRANSACTIONS:
+                    persistence.streamTransactions(transaction -> {
+                        out.scanned++;
+                        if (filter.accepts(transaction.getMemberId(), transaction.getDate())) {
+                            writeTransaction(out, transaction);
+                        }
+                    });
+                    break;
+                case MEMBERS:
+                    persistence.streamMembers(member -> {
+                        out.scanned++;
+                        if (filter.accepts(member.getMemberId(), null)) writeMember(out, member);
+                    });
+                    break;
+                default:
+                    persistence.streamLoans(loan -> {
+                        out.scanned++;
+                        if (filter.accepts(loan.getMemberId(), loan.getApplicationDate())) writeLoan(out, loan);
+                    });
+                    break;
+            }
+            scanned = out.scanned;
+            written = out.written;
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Unreadable data file for " + dataset, e);
+        }
+        return new Result(dataset, file, scanned, written, Files.size(file), System.nanoTime() - start);
+    }
+
+    private static String[] columnsOf(Dataset dataset) {
+        switch (dataset) {
+            case TRANSACTIONS: return TRANSACTION_COLUMNS;
+            case MEMBERS: return MEMBER_COLUMNS;
+            default: return LOAN_COLUMNS;
+        }
+    }
+
+    private static void writeTransaction(RecordWriter out, Transaction transaction) throws IOException {
+        out.begin();
+        out.text(transaction.getTransactionId());
+        out.text(transaction.getMemberId());
+        out.text(transaction.getTransactionType());
+        out.money(transaction.getAmount());
+        out.date(transaction.getDate());
+        out.text(transaction.getDescription());
+        if (transaction instanceof InterestTransaction) {
+            out.number(((InterestTransaction) transaction).getInterestRate());
+        } else {
+            out.nothing();
+        }
+        out.end();
+    }
+
+    private static void writeMember(RecordWriter out, Member member) throws IOException {
+        out.begin();
+        out.text(member.getMemberId());
+        out.text(member.getFirstName());
+        out.text(member.getLastName());
+        out.text(member.getEmail());
+        out.text(member.getPhoneNumber());
+        out.text(member.getAddress());
+        out.date(member.getDateOfBirth());
+        out.text(member.getOccupation());
+        out.date(member.getJoinDate());
+        out.bool(member.isActive());
+        if (member.getAccount() != null) {
+            out.text(member.getAccount().getAccountId());
+            out.money(member.getAccount().getBalance());
+        } else {
+            out.nothing();
+            out.nothing();
+        }
+        out.number(member.getCreditScore());
+        out.end();
+    }
+
+    private static void writeLoan(RecordWriter out, Loan loan) throws IOException {
+        out.begin();
+        out.text(loan.getLoanId());
+        out.text(loan.getMemberId());
+        out.text(loan.getStatus() == null ? null : loan.getStatus().name());
+        out.money(loan.getPrincipalAmount());
+        out.number(loan.getInterestRate());
+        out.number(loan.getTermInMonths());
+        out.money(loan.getMonthlyPayment());
+        out.money(loan.getOutstandingBalance());
+        out.date(loan.getApplicationDate());
+        out.date(loan.getApprovalDate());
+        out.date(loan.getDisbursementDate());
+        out.text(loan.getPurpose());
+        out.end();
+    }
+
+    // Writes one record's values in column order; missing values are an empty CSV field or JSON null
+    private static final class RecordWriter {
+        private final Writer writer;
+        private final Format format;
+        private final String[] columns;
+        private int column;
+        long scanned;
+        long written;
+
+        RecordWriter(Writer writer, Format format, String[] columns) throws IOException {
+            this.writer = writer;
+            this.format = format;
+            this.columns = columns;
+            if (format == Format.CSV) writer.write(String.join(",", columns) + "\n");
+        }
+
+        void begin() {
+            column = 0;
+        }
+
+        void end() throws IOException {
+            writer.write(format == Format.CSV ? "\n" : "}\n");
+            written++;
+        }
+
+        void text(String value) throws IOException {
+            if (value == null) {
+                nothing();
+            } else if (format == Format.CSV) {
+                separator();
+                writeCsvText(value);
+            } else {
+                separator();
+                writeJsonString(value);
+            }
+        }
+
+        void date(LocalDate value) throws IOException {
+            text(value == null ? null : value.toString());
+        }
+
+        void money(double value) throws IOException {
+            separator();
+            writer.write(formatCents(Math.round(value * 100)));
+        }
+
+        void number(double value) throws IOException {
+            separator();
+            writer.write(value == Math.rint(value) && Math.abs(value) < 1e15
+                ? Long.toString((long) value) : Double.toString(value));
+        }
+
+        void bool(boolean value) throws IOException {
+            separator();
+            writer.write(value ? "true" : "false");
+        }
+
+        void nothing() throws IOException {
+            separator();
+            if (format == Format.JSONL) writer.write("null");
+        }
+
+        // Opens the next field: a comma between CSV fields, the quoted key in JSON
+        private void separator() throws IOException {
+            if (format == Format.CSV) {
+                if (column > 0) writer.write(',');
+            } else {
+                writer.write(column == 0 ? "{\"" : ",\"");
+                writer.write(columns[column]);
+                writer.write("\":");
+            }
+            column++;
+        }
+
+        private void writeCsvText(String value) throws IOException {
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        private void writeJsonString(String value) throws IOException {
+            writer.write('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '"': writer.write("\\\""); break;
+                    case '\\': writer.write("\\\\"); break;
+                    case '\n': writer.write("\\n"); break;
+                    case '\r': writer.write("\\r"); break;
+                    case '\t': writer.write("\\t"); break;
+                    default:
+                        if (c < 0x20) {
+                            writer.write(String.format("\\u%04x", (int) c));
+                        } else {
+                            writer.write(c);
+                        }
+                }
+            }
+            writer.write('"');
+        }
+    }
+
+    // Exact two-decimal rendering without going through String.format for every amount
+    private static String formatCents(long cents) {
+        long abs = Math.abs(cents);
+        long fraction = abs % 100;
+        return (cents < 0 ? "-" : "") + (abs / 100) + (fraction < 10 ? ".0" : ".") + fraction;
+    }
+
+    public static final class Filter {
+        public static final Filter ALL = new Filter(null, null, null);
+
+        private final LocalDate from;
+        private final LocalDate to;
+        private final Set<String> memberIds;
+
+        // Any argument may be null for no limit; both dates are inclusive
+        public Filter(LocalDate from, LocalDate to, Set<String> memberIds) {
+            this.from = from;
+            this.to = to;
+            this.memberIds = memberIds == null || memberIds.isEmpty() ? null : Set.copyOf(memberIds);
+        }
+
+        // A null date is only checked against the member filter
+        boolean accepts(String memberId, LocalDate date) {
+            if (memberIds != null && !memberIds.contains(memberId)) return false;
+            if (date == null) return true;
+            return (from == null || !date.isBefore(from)) && (to == null || !date.isAfter(to));
+        }
+    }
+
+    public static final class Result {
+        private final Dataset dataset;
+        private final Path file;
+        private final long scanned;
+        private final long written;
+        private final long bytes;
+        private final long elapsedNanos;
+
+        Result(Dataset dataset, Path file, long scanned, long written, long bytes, long elapsedNanos) {
+            this.dataset = dataset;
+            this.file = file;
+            this.scanned = scanned;
+            this.written = written;
+            this.bytes = bytes;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public Dataset getDataset() { return dataset; }
+        public Path getFile() { return file; }
+        public long getScanned() { return scanned; }
+        public long getWritten() { return written; }
+        public long getBytes() { return bytes; }
+        public long getElapsedNanos() { return elapsedNanos; }
+
+        @Override
+        public String toString() {
+            double seconds = elapsedNanos / 1e9;
+            return String.format("%s: %,d of %,d records -> %s (%,d bytes) in %.2fs (%.0f records/sec)",
+                dataset.name().toLowerCase(Locale.ROOT), written, scanned, file, bytes, seconds,
+                seconds > 0 ? scanned / seconds : 0.0);
+        }
+    }
+}
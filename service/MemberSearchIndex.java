@@ -0,0 +1,187 @@
+package service;
+
+import model.Member;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// Prefix index over member names, email, phone and id. Tokens live in a sorted map, so every token
+// starting with a prefix is one contiguous sub-map; postings are member positions (members are only
+// appended, so a position never changes). One writer (the service) maintains it incrementally;
+// readers such as the GUI type-ahead can query it from any thread without taking the service lock.
+class MemberSearchIndex {
+    private static final int[] NO_POSTINGS = new int[0];
+
+    private final ConcurrentSkipListMap<String, int[]> postings = new ConcurrentSkipListMap<>();
+    private final Map<Integer, String[]> tokensByPosition = new ConcurrentHashMap<>();
+    private int indexedCount;
+
+    void rebuild(List<Member> members) {
+        postings.clear();
+        tokensByPosition.clear();
+        indexedCount = 0;
+        catchUp(members);
+    }
+
+    // Indexes members appended since the last call. Postings are grouped per token first, so a token
+    // shared by many new members (a surname, an email domain) is copied once rather than once per member.
+    void catchUp(List<Member> members) {
+        int from = indexedCount;
+        int to = members.size();
+        if (from >= to) return;
+        Map<String, int[]> added = new HashMap<>();
+        Map<String, Integer> addedCounts = new HashMap<>();
+        for (int position = from; position < to; position++) {
+            String[] tokens = tokensOf(members.get(position));
+            tokensByPosition.put(position, tokens);
+            for (String token : tokens) {
+                int count = addedCounts.merge(token, 1, Integer::sum);
+                int[] list = added.get(token);
+                if (list == null || list.length < count) {
+                    list = list == null ? new int[4] : Arrays.copyOf(list, list.length * 2);
+                    added.put(token, list);
+                }
+                list[count - 1] = position;
+            }
+        }
+        for (Map.Entry<String, int[]> entry : added.entrySet()) {
+            int count = addedCounts.get(entry.getKey());
+            int[] positions = entry.getValue();
+            postings.compute(entry.getKey(), (key, existing) -> {
+                int[] list = existing == null ? NO_POSTINGS : existing;
+                int[] grown = Arrays.copyOf(list, list.length + count);
+                System.arraycopy(positions, 0, grown, list.length, count);
+                return grown;
+            });
+        }
+        indexedCount = to;
+    }
+
+    private void add(Member member, int position) {
+        String[] tokens = tokensOf(member);
+        tokensByPosition.put(position, tokens);
+        for (String token : tokens) {
+            postings.compute(token, (key, existing) -> {
+                int[] list = existing == null ? NO_POSTINGS : existing;
+                int[] grown = Arrays.copyOf(list, list.length + 1);
+                grown[list.length] = position;
+                return grown;
+            });
+        }
+    }
+
+    // Re-index after an edit (only email and phone can change today, but all fields are refreshed)
+    void update(Member member, int position) {
+        String[] old = tokensByPosition.get(position);
+        if (old != null) {
+            for (String token : old) {
+                postings.computeIfPresent(token, (key, list) -> {
+                    int[] remaining = Arrays.stream(list).filter(p -> p != position).toArray();
+                    return remaining.length == 0 ? null : remaining;
+                });
+            }
+        }
+        add(member, position);
+    }
+
+    // Positions of members matching every query word as a token prefix, best (shortest) tokens first
+    List<Integer> search(String query, int limit) {
+        String[] words = normalizeQuery(query);
+        if (words.length == 0 || limit <= 0) return new ArrayList<>();
+
+        // Drive the scan with the longest word, the most selective; check the rest per candidate
+        int driver = 0;
+        for (int i = 1; i < words.length; i++) {
+            if (words[i].length() > words[driver].length()) driver = i;
+        }
+        String prefix = words[driver];
+
+        Set<Integer> matches = new LinkedHashSet<>();
+        NavigableMap<String, int[]> range = postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        for (int[] list : range.values()) {
+            for (int position : list) {
+                if (matches.contains(position) || !matchesAll(position, words, driver)) continue;
+                matches.add(position);
+                if (matches.size() >= limit) return new ArrayList<>(matches);
+            }
+        }
+        return new ArrayList<>(matches);
+    }
+
+    private boolean matchesAll(int position, String[] words, int skip) {
+        String[] tokens = tokensByPosition.get(position);
+        if (tokens == null) return false;
+        for (int i = 0; i < words.length; i++) {
+            if (i == skip) continue;
+            boolean found = false;
+            for (String token : tokens) {
+                if (token.startsWith(words[i])) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) return false;
+        }
+        return true;
+    }
+
+    private static String[] tokensOf(Member member) {
+        Set<String> tokens = new LinkedHashSet<>();
+        addWords(tokens, member.getFirstName());
+        addWords(tokens, member.getLastName());
+
+        String id = lower(member.getMemberId());
+        if (!id.isEmpty()) {
+            tokens.add(id);
+            String number = id.replaceFirst("^\\D*0*", "");
+            if (!number.isEmpty()) tokens.add(number); // "42" finds MEM0042
+        }
+
+        String email = lower(member.getEmail());
+        if (!email.isEmpty()) {
+            tokens.add(email);
+            int at = email.indexOf('@');
+            addWords(tokens, (at >= 0 ? email.substring(0, at) : email).replaceAll("[._+\\-]", " "));
+        }
+
+        String phone = digits(member.getPhoneNumber());
+        if (!phone.isEmpty()) {
+            tokens.add(phone);
+            // Local Nigerian form, so "0803..." finds "+234803..."
+            if (phone.startsWith("234") && phone.length() > 10) tokens.add("0" + phone.substring(3));
+        }
+        return tokens.toArray(new String[0]);
+    }
+
+    private static void addWords(Set<String> tokens, String text) {
+        for (String word : lower(text).split("[\\s'\\-]+")) {
+            if (!word.isEmpty()) tokens.add(word);
+        }
+    }
+
+    private static String[] normalizeQuery(String query) {
+        List<String> words = new ArrayList<>();
+        for (String word : lower(query).split("\\s+")) {
+            if (word.isEmpty()) continue;
+            // Phone-looking input ("+234 803-...") is matched on digits alone
+            words.add(word.matches("[+\\d()\\-]+") && word.chars().anyMatch(Character::isDigit) ? digits(word) : word);
+        }
+        return words.toArray(new String[0]);
+    }
+
+    private static String lower(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String digits(String text) {
+        return text == null ? "" : text.replaceAll("\\D", "");
+    }
+}
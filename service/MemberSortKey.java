@@ -0,0 +1,59 @@
+package service;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+
+// Sort orders supported by the member listing API
+public enum MemberSortKey {
+    ID {
+        Comparator<AssociationSnapshot.MemberView> primary() {
+            return Comparator.comparingInt((AssociationSnapshot.MemberView v) -> v.getMemberId().length())
+                .thenComparing(AssociationSnapshot.MemberView::getMemberId);
+        }
+        String encode(AssociationSnapshot.MemberView view) { return view.getMemberId(); }
+        int compare(AssociationSnapshot.MemberView view, String key) {
+            int byLength = Integer.compare(view.getMemberId().length(), key.length());
+            return byLength != 0 ? byLength : view.getMemberId().compareTo(key);
+        }
+    },
+    NAME {
+        Comparator<AssociationSnapshot.MemberView> primary() {
+            return Comparator.comparing(AssociationSnapshot.MemberView::getFullName, String.CASE_INSENSITIVE_ORDER);
+        }
+        String encode(AssociationSnapshot.MemberView view) { return view.getFullName(); }
+        int compare(AssociationSnapshot.MemberView view, String key) {
+            return String.CASE_INSENSITIVE_ORDER.compare(view.getFullName(), key);
+        }
+    },
+    BALANCE {
+        Comparator<AssociationSnapshot.MemberView> primary() {
+            return Comparator.comparingDouble(AssociationSnapshot.MemberView::getBalance);
+        }
+        String encode(AssociationSnapshot.MemberView view) { return Double.toString(view.getBalance()); }
+        int compare(AssociationSnapshot.MemberView view, String key) {
+            return Double.compare(view.getBalance(), Double.parseDouble(key));
+        }
+    },
+    JOIN_DATE {
+        Comparator<AssociationSnapshot.MemberView> primary() {
+            return Comparator.comparing(AssociationSnapshot.MemberView::getJoinDate);
+        }
+        String encode(AssociationSnapshot.MemberView view) { return view.getJoinDate().toString(); }
+        int compare(AssociationSnapshot.MemberView view, String key) {
+            return view.getJoinDate().compareTo(LocalDate.parse(key));
+        }
+    };
+
+    abstract Comparator<AssociationSnapshot.MemberView> primary();
+
+    // Sort value of a view, as stored in a continuation cursor
+    abstract String encode(AssociationSnapshot.MemberView view);
+
+    // Compares a view's sort value against one decoded from a cursor
+    abstract int compare(AssociationSnapshot.MemberView view, String key);
+
+    // Total order: sort value first, member id as tie-breaker
+    Comparator<AssociationSnapshot.MemberView> comparator() {
+        return primary().thenComparing(ID.primary());
+    }
+}
@@ -0,0 +1,271 @@
+package service;
+
+import model.Account;
+import model.Contribution;
+import model.InterestTransaction;
+import model.Member;
+import model.Transaction;
+import model.Withdrawal;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+// A member statement for a date range, captured in one pass over the account history. Only the
+// transaction references and running balances are stored; lines are materialized per page (or
+// streamed), so a member with years of history never costs a full formatted copy up front.
+public final class MemberStatement {
+    public static final int DEFAULT_PAGE_SIZE = 200;
+    static final String RULE = "=".repeat(80);
+    static final String THIN_RULE = "-".repeat(80);
+
+    private final String memberId;
+    private final String memberName;
+    private final String email;
+    private final String phoneNumber;
+    private final String address;
+    private final String occupation;
+    private final LocalDate joinDate;
+    private final double currentBalance;
+    private final double totalContributions;
+    private final double totalWithdrawals;
+    private final double totalInterest;
+    private final double interestRate;
+    private final LocalDate from;
+    private final LocalDate to;
+    private final double openingBalance;
+    private final Transaction[] transactions;
+    private final double[] runningBalances;
+
+    // from/to are inclusive; null leaves that end of the range open
+    static MemberStatement of(Member member, LocalDate from, LocalDate to) {
+        Account account = member.getAccount();
+        List<Transaction> history = account.getTransactionHistory();
+        Transaction[] inRange = new Transaction[history.size()];
+        double[] balances = new double[history.size()];
+        int count = 0;
+        double contributions = 0, withdrawals = 0, interest = 0;
+        double balance = 0, opening = 0;
+
+        for (Transaction transaction : history) {
+            double amount = transaction.getAmount();
+            if (transaction instanceof Contribution) contributions += amount;
+            else if (transaction instanceof Withdrawal) withdrawals += amount;
+            else if (transaction instanceof InterestTransaction) interest += amount;
+            balance += signedAmount(transaction);
+
+            LocalDate date = transaction.getDate();
+            if (from != null && date.isBefore(from)) {
+                opening = balance;
+            } else if (to == null || !date.isAfter(to)) {
+                inRange[count] = transaction;
+                balances[count] = balance;
+                count++;
+            }
+        }
+
+        return new MemberStatement(member, account, from, to, opening, contributions, withdrawals, interest,
+            java.util.Arrays.copyOf(inRange, count), java.util.Arrays.copyOf(balances, count));
+    }
+
+    private MemberStatement(Member member, Account account, LocalDate from, LocalDate to, double openingBalance,
+                            double totalContributions, double totalWithdrawals, double totalInterest,
+                            Transaction[] transactions, double[] runningBalances) {
+        this.memberId = member.getMemberId();
+        this.memberName = member.getFullName();
+        this.email = member.getEmail();
+        this.phoneNumber = member.getPhoneNumber();
+        this.address = member.getAddress();
+        this.occupation = member.getOccupation();
+        this.joinDate = member.getJoinDate();
+        this.currentBalance = account.getBalance();
+        this.interestRate = account.getInterestRate();
+        this.from = from;
+        this.to = to;
+        this.openingBalance = openingBalance;
+        this.totalContributions = totalContributions;
+        this.totalWithdrawals = totalWithdrawals;
+        this.totalInterest = totalInterest;
+        this.transactions = transactions;
+        this.runningBalances = runningBalances;
+    }
+
+    private static double signedAmount(Transaction transaction) {
+        if (transaction instanceof Contribution || transaction instanceof InterestTransaction) return transaction.getAmount();
+        if (transaction instanceof Withdrawal) return -transaction.getAmount();
+        return 0;
+    }
+
+    public String getMemberId() { return memberId; }
+    public String getMemberName() { return memberName; }
+    public LocalDate getFrom() { return from; }
+    public LocalDate getTo() { return to; }
+    public double getOpeningBalance() { return openingBalance; }
+    public double getClosingBalance() { return transactions.length == 0 ? openingBalance : runningBalances[transactions.length - 1]; }
+    public int getLineCount() { return transactions.length; }
+
+    public int getPageCount(int pageSize) {
+        return Math.max(1, (transactions.length + pageSize - 1) / pageSize);
+    }
+
+    public Line getLine(int index) {
+        return new Line(transactions[index], runningBalances[index]);
+    }
+
+    public List<Line> getPage(int pageIndex, int pageSize) {
+        int start = pageIndex * pageSize;
+        if (start >= transactions.length) return Collections.emptyList();
+        int end = Math.min(transactions.length, start + pageSize);
+        List<Line> page = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            page.add(getLine(i));
+        }
+        return page;
+    }
+
+    public Stream<Line> lines() {
+        return IntStream.range(0, transactions.length).mapToObj(this::getLine);
+    }
+
+    public static final class Line {
+        private final Transaction transaction;
+        private final double balanceAfter;
+
+        Line(Transaction transaction, double balanceAfter) {
+            this.transaction = transaction;
+            this.balanceAfter = balanceAfter;
+        }
+
+        public String getTransactionId() { return transaction.getTransactionId(); }
+        public LocalDate getDate() { return transaction.getDate(); }
+        public String getType() { return transaction.getTransactionType(); }
+        public double getAmount() { return transaction.getAmount(); }
+        public double getBalanceAfter() { return balanceAfter; }
+        public String getDescription() { return transaction.getDescription(); }
+    }
+
+    // Header block (member details and all-time totals)
+    public String getHeader() {
+        StringBuilder header = new StringBuilder(768);
+        header.append("MEMBER STATEMENT\n").append(RULE).append('\n');
+        header.append("Member: ").append(memberName).append('\n');
+        header.append("Member ID: ").append(memberId).append('\n');
+        header.append("Email: ").append(email).append('\n');
+        header.append("Phone: ").append(phoneNumber).append('\n');
+        header.append("Address: ").append(address != null ? address : "Not provided").append('\n');
+        header.append("Occupation: ").append(occupation != null ? occupation : "Not provided").append('\n');
+        header.append("Join Date: ").append(joinDate).append('\n');
+        header.append("Current Balance: ₦"); appendMoney(header, currentBalance); header.append('\n');
+        header.append("Total Contributions: ₦"); appendMoney(header, totalContributions); header.append('\n');
+        header.append("Total Withdrawals: ₦"); appendMoney(header, totalWithdrawals); header.append('\n');
+        header.append("Total Interest Earned: ₦"); appendMoney(header, totalInterest); header.append('\n');
+        header.append("Interest Rate: "); appendMoney(header, interestRate); header.append("% APR\n");
+        header.append("Period: ").append(from != null ? from.toString() : "start")
+            .append(" to ").append(to != null ? to.toString() : "today").append('\n');
+        header.append("Opening Balance: ₦"); appendMoney(header, openingBalance); header.append("\n\n");
+        return header.toString();
+    }
+
+    // Streams the full statement as text. Rows are formatted into one reused buffer rather than
+    // through String.format, which dominates the cost on long histories.
+    public void writeTo(Appendable out) throws IOException {
+        out.append(getHeader());
+        out.append("TRANSACTION HISTORY\n");
+        out.append(THIN_RULE);
+        out.append('\n');
+        if (transactions.length == 0) {
+            out.append("No transactions found.\n");
+        } else {
+            StringBuilder row = new StringBuilder(128);
+            pad(row, "Date", 12).append(' ');
+            pad(row, "Type", 12).append(' ');
+            pad(row, "Amount", 10).append(' ');
+            pad(row, "Balance", 12).append(' ').append("Description\n").append(THIN_RULE).append('\n');
+            out.append(row);
+            for (int i = 0; i < transactions.length; i++) {
+                row.setLength(0);
+                appendRow(row, transactions[i], runningBalances[i]);
+                out.append(row);
+            }
+        }
+        out.append(RULE);
+        out.append('\n');
+    }
+
+    public static final String CSV_HEADER = "member_id,date,transaction_id,type,amount,balance,description\n";
+
+    // One CSV row per transaction in the period (no header; see CSV_HEADER)
+    public void writeCsvTo(Appendable out) throws IOException {
+        StringBuilder row = new StringBuilder(128);
+        for (int i = 0; i < transactions.length; i++) {
+            Transaction transaction = transactions[i];
+            row.setLength(0);
+            row.append(memberId).append(',').append(transaction.getDate()).append(',')
+                .append(transaction.getTransactionId()).append(',').append(transaction.getTransactionType()).append(',');
+            appendMoney(row, transaction.getAmount());
+            row.append(',');
+            appendMoney(row, runningBalances[i]);
+            row.append(',');
+            appendCsvField(row, transaction.getDescription());
+            row.append('\n');
+            out.append(row);
+        }
+    }
+
+    static void appendCsvField(StringBuilder sb, String value) {
+        if (value == null) return;
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            sb.append(value);
+            return;
+        }
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') sb.append('"');
+            sb.append(c);
+        }
+        sb.append('"');
+    }
+
+    static void appendRow(StringBuilder row, Transaction transaction, double balanceAfter) {
+        pad(row, transaction.getDate().toString(), 12).append(' ');
+        pad(row, transaction.getTransactionType(), 12).append(" ₦");
+        int mark = row.length();
+        appendMoney(row, transaction.getAmount());
+        padTo(row, mark + 9).append(" ₦");
+        mark = row.length();
+        appendMoney(row, balanceAfter);
+        padTo(row, mark + 11).append(' ');
+        String description = transaction.getDescription();
+        row.append(description != null ? description : "").append('\n');
+    }
+
+    private static StringBuilder pad(StringBuilder sb, String text, int width) {
+        int start = sb.length();
+        sb.append(text);
+        return padTo(sb, start + width);
+    }
+
+    private static StringBuilder padTo(StringBuilder sb, int length) {
+        while (sb.length() < length) sb.append(' ');
+        return sb;
+    }
+
+    // Appends value with two decimals, rounded half-up like %.2f
+    static void appendMoney(StringBuilder sb, double value) {
+        long cents = Math.round(Math.abs(value) * 100);
+        if (value < 0 && cents != 0) sb.append('-');
+        sb.append(cents / 100).append('.');
+        long fraction = cents % 100;
+        if (fraction < 10) sb.append('0');
+        sb.append(fraction);
+    }
+}
@@ -0,0 +1,22 @@
+package service;
+
+import java.util.Collections;
+import java.util.List;
+
+// One page of a listing query plus the cursor for the next page (null when exhausted)
+public final class Page<T> {
+    private final List<T> items;
+    private final String nextCursor;
+    private final int totalMatches;
+
+    Page(List<T> items, String nextCursor, int totalMatches) {
+        this.items = Collections.unmodifiableList(items);
+        this.nextCursor = nextCursor;
+        this.totalMatches = totalMatches;
+    }
+
+    public List<T> getItems() { return items; }
+    public String getNextCursor() { return nextCursor; }
+    public int getTotalMatches() { return totalMatches; }
+    public boolean hasMore() { return nextCursor != null; }
+}
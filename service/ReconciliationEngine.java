@@ -0,0 +1,558 @@
+package service;
+
+import model.Account;
+import model.Contribution;
+import model.InterestTransaction;
+import model.Loan;
+import model.Member;
+import model.Transaction;
+import model.Withdrawal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Recomputes every account balance, loan position and report total from the transaction ledger and
+// lists where the stored figures disagree. The ledger is cut into contiguous slices scanned in
+// parallel; each slice yields per-member partials (count, balance, lowest running balance, an ordered
+// hash of transaction ids) that combine associatively, so merging them in slice order gives the same
+// result as one sequential pass. Accounts are then checked in parallel against the merged partials,
+// and only accounts whose history differs from the ledger are walked transaction by transaction to
+// find where they diverge. Inputs must not change during a run.
+public class ReconciliationEngine {
+    // Amounts closer than this are equal; the ledger sums doubles in a different order than the accounts
+    static final double TOLERANCE = 0.005;
+    // Discrepancies beyond this many are counted but not listed
+    public static final int MAX_LISTED = 1000;
+
+    private static final long HASH_BASE = 0x9E3779B97F4A7C15L;
+    private static final int SLICES_PER_THREAD = 4;
+
+    public enum Kind {
+        BALANCE_MISMATCH, HISTORY_MISMATCH, NEGATIVE_BALANCE, DUPLICATE_TRANSACTION, UNKNOWN_MEMBER,
+        INVALID_AMOUNT, LOAN_BALANCE, LOAN_DISBURSEMENT, AGGREGATE_MISMATCH
+    }
+
+    private final int parallelism;
+
+    public ReconciliationEngine() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public ReconciliationEngine(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    // counters may be null to skip comparing the incrementally maintained report totals
+    public Report reconcile(List<Member> members, List<Transaction> ledger, List<Loan> loans,
+                            SummaryReport counters) {
+        long start = System.nanoTime();
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread thread = new Thread(r, "reconciliation");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Discrepancy> found = new ArrayList<>();
+            Map<String, Member> membersById = new HashMap<>();
+            for (Member member : members) membersById.put(member.getMemberId(), member);
+
+            Slice ledgerTotals = scanLedger(pool, ledger);
+            checkLedger(ledger, ledgerTotals, membersById, found);
+            double ledgerBalance = checkAccounts(pool, members, ledger, ledgerTotals.partials, found);
+            checkLoans(loans, ledger, ledgerTotals, membersById, found);
+            if (counters != null) {
+                checkAggregates(counters, members, ledger, ledgerTotals, ledgerBalance, loans, found);
+            }
+
+            found.sort(Comparator.comparing((Discrepancy d) -> d.kind).thenComparing(d -> d.subject));
+            // The ledger scan keeps at most MAX_LISTED of these, but counts them all
+            Map<Kind, Integer> unlisted = new EnumMap<>(Kind.class);
+            unlisted.put(Kind.DUPLICATE_TRANSACTION, ledgerTotals.duplicateCount - ledgerTotals.duplicates.size());
+            unlisted.put(Kind.INVALID_AMOUNT, ledgerTotals.invalidAmountCount - ledgerTotals.invalidAmounts.size());
+            return new Report(members.size(), ledger.size(), loans.size(), ledgerBalance, found, unlisted,
+                System.nanoTime() - start);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // Per-slice partials, merged afterwards in slice order
+    private Slice scanLedger(ExecutorService pool, List<Transaction> ledger) {
+        int sliceCount = Math.max(1, Math.min(parallelism * SLICES_PER_THREAD, ledger.size() / 1024));
+        ConcurrentHashMap<String, Integer> firstIndexById = new ConcurrentHashMap<>(ledger.size() * 2);
+        List<Callable<Slice>> tasks = new ArrayList<>(sliceCount);
+        for (int s = 0; s < sliceCount; s++) {
+            int from = (int) ((long) ledger.size() * s / sliceCount);
+            int to = (int) ((long) ledger.size() * (s + 1) / sliceCount);
+            tasks.add(() -> {
+                Slice slice = new Slice();
+                for (int i = from; i < to; i++) slice.add(ledger.get(i), i, firstIndexById);
+                return slice;
+            });
+        }
+        Slice merged = new Slice();
+        for (Slice slice : invokeAll(pool, tasks)) merged.merge(slice);
+        return merged;
+    }
+
+    private static void checkLedger(List<Transaction> ledger, Slice totals, Map<String, Member> membersById,
+                                    List<Discrepancy> found) {
+        for (int[] pair : totals.duplicates) {
+            String id = ledger.get(pair[1]).getTransactionId();
+            found.add(new Discrepancy(Kind.DUPLICATE_TRANSACTION, id,
+                "transaction id appears at ledger positions " + (pair[0] + 1) + " and " + (pair[1] + 1), id, id));
+        }
+        for (int index : totals.invalidAmounts) {
+            Transaction transaction = ledger.get(index);
+            found.add(new Discrepancy(Kind.INVALID_AMOUNT, transaction.getTransactionId(),
+                "amount " + transaction.getAmount() + " is not a positive number",
+                transaction.getTransactionId(), transaction.getTransactionId()));
+        }
+        for (Map.Entry<String, Partial> entry : totals.partials.entrySet()) {
+            if (membersById.containsKey(entry.getKey())) continue;
+            Partial orphan = entry.getValue();
+            found.add(new Discrepancy(Kind.UNKNOWN_MEMBER, entry.getKey(),
+                orphan.count + " transaction(s) for a member that does not exist",
+                ledger.get(orphan.first).getTransactionId(), ledger.get(orphan.last).getTransactionId()));
+        }
+    }
+
+    // Returns the association balance implied by the ledger for existing members
+    private double checkAccounts(ExecutorService pool, List<Member> members, List<Transaction> ledger,
+                                 Map<String, Partial> partials, List<Discrepancy> found) {
+        AtomicInteger next = new AtomicInteger();
+        List<Callable<AccountCheck>> workers = new ArrayList<>();
+        for (int w = 0; w < parallelism; w++) {
+            workers.add(() -> {
+                AccountCheck check = new AccountCheck();
+                for (int i = next.getAndIncrement(); i < members.size(); i = next.getAndIncrement()) {
+                    check.check(members.get(i), partials.getOrDefault(members.get(i).getMemberId(), Partial.EMPTY),
+                        ledger);
+                }
+                return check;
+            });
+        }
+
+        double ledgerBalance = 0;
+        List<Member> diverged = new ArrayList<>();
+        Map<String, Double> balanceGaps = new HashMap<>();
+        for (AccountCheck check : invokeAll(pool, workers)) {
+            ledgerBalance += check.ledgerBalance;
+            found.addAll(check.found);
+            diverged.addAll(check.diverged);
+            balanceGaps.putAll(check.balanceGaps);
+        }
+        if (!diverged.isEmpty()) locateDivergence(diverged, ledger, balanceGaps, found);
+        return ledgerBalance;
+    }
+
+    // Walks the ledger once for just the accounts whose history differs from it
+    private static void locateDivergence(List<Member> diverged, List<Transaction> ledger,
+                                         Map<String, Double> balanceGaps, List<Discrepancy> found) {
+        Map<String, List<Transaction>> ledgerByMember = new HashMap<>();
+        for (Member member : diverged) ledgerByMember.put(member.getMemberId(), new ArrayList<>());
+        for (Transaction transaction : ledger) {
+            List<Transaction> own = ledgerByMember.get(transaction.getMemberId());
+            if (own != null) own.add(transaction);
+        }
+
+        for (Member member : diverged) {
+            List<Transaction> expected = ledgerByMember.get(member.getMemberId());
+            List<Transaction> actual = member.getAccount().getTransactionHistory();
+            int position = 0;
+            while (position < expected.size() && position < actual.size()
+                    && expected.get(position).getTransactionId().equals(actual.get(position).getTransactionId())) {
+                position++;
+            }
+            // The offending range runs from the first difference to the end of whichever side is longer
+            List<Transaction> longer = expected.size() >= actual.size() ? expected : actual;
+            String first = position < longer.size() ? longer.get(position).getTransactionId() : null;
+            String last = longer.isEmpty() ? null : longer.get(longer.size() - 1).getTransactionId();
+            String detail = String.format("account history has %d transaction(s), ledger %d; first difference at #%d",
+                actual.size(), expected.size(), position + 1);
+            found.add(new Discrepancy(Kind.HISTORY_MISMATCH, member.getMemberId(), detail, first, last));
+
+            Double gap = balanceGaps.get(member.getMemberId());
+            if (gap != null) {
+                found.add(new Discrepancy(Kind.BALANCE_MISMATCH, member.getMemberId(),
+                    String.format("account balance is off the ledger by %,.2f", gap), first, last));
+            }
+        }
+    }
+
+    private static void checkLoans(List<Loan> loans, List<Transaction> ledger, Slice totals,
+                                   Map<String, Member> membersById, List<Discrepancy> found) {
+        Map<String, Loan> loansById = new HashMap<>();
+        for (Loan loan : loans) {
+            loansById.put(loan.getLoanId(), loan);
+            String loanId = loan.getLoanId();
+            if (!membersById.containsKey(loan.getMemberId())) {
+                found.add(new Discrepancy(Kind.UNKNOWN_MEMBER, loanId,
+                    "loan belongs to missing member " + loan.getMemberId(), null, null));
+            }
+
+            double principal = loan.getPrincipalAmount();
+            double outstanding = loan.getOutstandingBalance();
+            if (outstanding < -TOLERANCE || outstanding > principal + TOLERANCE) {
+                found.add(new Discrepancy(Kind.LOAN_BALANCE, loanId,
+                    String.format("outstanding %,.2f is outside 0..%,.2f", outstanding, principal), null, null));
+            } else if (loan.getStatus() == Loan.LoanStatus.PAID_OFF && outstanding > TOLERANCE) {
+                found.add(new Discrepancy(Kind.LOAN_BALANCE, loanId,
+                    String.format("paid off but %,.2f outstanding", outstanding), null, null));
+            } else if (!isDisbursed(loan.getStatus()) && Math.abs(outstanding - principal) > TOLERANCE) {
+                found.add(new Discrepancy(Kind.LOAN_BALANCE, loanId,
+                    String.format("%s with %,.2f outstanding on a %,.2f principal", loan.getStatus(), outstanding,
+                        principal), null, null));
+            }
+
+            List<Integer> credits = totals.disbursements.getOrDefault(loanId, Collections.emptyList());
+            String first = credits.isEmpty() ? null : ledger.get(credits.get(0)).getTransactionId();
+            String last = credits.isEmpty() ? null : ledger.get(credits.get(credits.size() - 1)).getTransactionId();
+            if (isDisbursed(loan.getStatus()) && credits.isEmpty()) {
+                found.add(new Discrepancy(Kind.LOAN_DISBURSEMENT, loanId,
+                    loan.getStatus() + " but no disbursement credit in the ledger", null, null));
+            } else if (!isDisbursed(loan.getStatus()) && !credits.isEmpty()) {
+                found.add(new Discrepancy(Kind.LOAN_DISBURSEMENT, loanId,
+                    loan.getStatus() + " but disbursed in the ledger", first, last));
+            } else if (credits.size() > 1) {
+                found.add(new Discrepancy(Kind.LOAN_DISBURSEMENT, loanId,
+                    "disbursed " + credits.size() + " times", first, last));
+            } else if (!credits.isEmpty()) {
+                Transaction credit = ledger.get(credits.get(0));
+                if (Math.abs(credit.getAmount() - principal) > TOLERANCE
+                        || !credit.getMemberId().equals(loan.getMemberId())) {
+                    found.add(new Discrepancy(Kind.LOAN_DISBURSEMENT, loanId,
+                        String.format("credited %,.2f to %s for a %,.2f loan to %s", credit.getAmount(),
+                            credit.getMemberId(), principal, loan.getMemberId()), first, last));
+                }
+            }
+        }
+
+        for (Map.Entry<String, List<Integer>> entry : totals.disbursements.entrySet()) {
+            if (loansById.containsKey(entry.getKey())) continue;
+            List<Integer> credits = entry.getValue();
+            found.add(new Discrepancy(Kind.LOAN_DISBURSEMENT, entry.getKey(), "disbursement credit for an unknown loan",
+                ledger.get(credits.get(0)).getTransactionId(),
+                ledger.get(credits.get(credits.size() - 1)).getTransactionId()));
+        }
+    }
+
+    private static boolean isDisbursed(Loan.LoanStatus status) {
+        return status != Loan.LoanStatus.PENDING && status != Loan.LoanStatus.APPROVED
+            && status != Loan.LoanStatus.REJECTED;
+    }
+
+    // The summary report's figures are maintained event by event; recompute them from scratch
+    private static void checkAggregates(SummaryReport counters, List<Member> members, List<Transaction> ledger,
+                                        Slice totals, double ledgerBalance, List<Loan> loans,
+                                        List<Discrepancy> found) {
+        int active = 0;
+        for (Member member : members) {
+            if (member.isActive()) active++;
+        }
+        double outstanding = 0;
+        Map<Loan.LoanStatus, Integer> byStatus = new EnumMap<>(Loan.LoanStatus.class);
+        for (Loan loan : loans) {
+            byStatus.merge(loan.getStatus(), 1, Integer::sum);
+            if (SummaryCounters.isOutstanding(loan.getStatus())) outstanding += loan.getOutstandingBalance();
+        }
+
+        compare(found, "total members", counters.getTotalMembers(), members.size());
+        compare(found, "active members", counters.getActiveMembers(), active);
+        compare(found, "transaction count", counters.getTransactionCount(), ledger.size());
+        compare(found, "total balance", counters.getTotalBalance(), ledgerBalance);
+        compare(found, "total contributions", counters.getTotalContributions(), totals.contributions);
+        compare(found, "total withdrawals", counters.getTotalWithdrawals(), totals.withdrawals);
+        compare(found, "total interest", counters.getTotalInterest(), totals.interest);
+        compare(found, "total loans", counters.getTotalLoans(), loans.size());
+        compare(found, "outstanding loan balance", counters.getOutstandingLoanBalance(), outstanding);
+        for (Loan.LoanStatus status : Loan.LoanStatus.values()) {
+            compare(found, status + " loans", counters.getLoansByStatus().getOrDefault(status, 0),
+                byStatus.getOrDefault(status, 0));
+        }
+    }
+
+    private static void compare(List<Discrepancy> found, String figure, double reported, double recomputed) {
+        // Report totals accumulate many more additions than one account, so allow a kobo of drift
+        if (Math.abs(reported - recomputed) <= 0.01) return;
+        found.add(new Discrepancy(Kind.AGGREGATE_MISMATCH, figure,
+            String.format("summary report shows %,.2f, ledger gives %,.2f", reported, recomputed), null, null));
+    }
+
+    private static <T> List<T> invokeAll(ExecutorService pool, List<Callable<T>> tasks) {
+        List<T> results = new ArrayList<>(tasks.size());
+        try {
+            for (Future<T> future : pool.invokeAll(tasks)) results.add(future.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Reconciliation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Reconciliation failed: " + e.getCause(), e.getCause());
+        }
+        return results;
+    }
+
+    // Signed effect on the member's balance, mirroring Account.addTransaction
+    private static double signedAmount(Transaction transaction) {
+        if (transaction instanceof Contribution || transaction instanceof InterestTransaction) {
+            return transaction.getAmount();
+        } else if (transaction instanceof Withdrawal) {
+            return -transaction.getAmount();
+        }
+        return 0;
+    }
+
+    // One member's transactions within a contiguous stretch of the ledger
+    private static final class Partial {
+        static final Partial EMPTY = new Partial();
+
+        int count;
+        int first = -1;
+        int last = -1;
+        double balance;
+        // Lowest balance after any transaction in the stretch, relative to its start, and where
+        double lowest = Double.POSITIVE_INFINITY;
+        int lowestAt = -1;
+        // Polynomial hash of the transaction ids in order; power is HASH_BASE^count
+        long hash;
+        long power = 1;
+
+        void add(Transaction transaction, int index) {
+            count++;
+            if (first < 0) first = index;
+            last = index;
+            balance += signedAmount(transaction);
+            if (balance < lowest) {
+                lowest = balance;
+                lowestAt = index;
+            }
+            hash = hash * HASH_BASE + transaction.getTransactionId().hashCode();
+            power *= HASH_BASE;
+        }
+
+        // Appends a stretch that comes after this one in the ledger
+        void append(Partial later) {
+            if (balance + later.lowest < lowest) {
+                lowest = balance + later.lowest;
+                lowestAt = later.lowestAt;
+            }
+            count += later.count;
+            if (first < 0) first = later.first;
+            if (later.last >= 0) last = later.last;
+            balance += later.balance;
+            hash = hash * later.power + later.hash;
+            power *= later.power;
+        }
+    }
+
+    private static final class Slice {
+        final Map<String, Partial> partials = new HashMap<>();
+        final List<int[]> duplicates = new ArrayList<>();
+        final List<Integer> invalidAmounts = new ArrayList<>();
+        final Map<String, List<Integer>> disbursements = new HashMap<>();
+        int duplicateCount;
+        int invalidAmountCount;
+        double contributions;
+        double withdrawals;
+        double interest;
+
+        void add(Transaction transaction, int index, ConcurrentHashMap<String, Integer> firstIndexById) {
+            partials.computeIfAbsent(transaction.getMemberId(), id -> new Partial()).add(transaction, index);
+
+            Integer earlier = firstIndexById.putIfAbsent(transaction.getTransactionId(), index);
+            if (earlier != null) {
+                duplicateCount++;
+                if (duplicates.size() < MAX_LISTED) {
+                    duplicates.add(new int[] { Math.min(earlier, index), Math.max(earlier, index) });
+                }
+            }
+            double amount = transaction.getAmount();
+            if (!(amount > 0) || Double.isInfinite(amount)) {
+                invalidAmountCount++;
+                if (invalidAmounts.size() < MAX_LISTED) invalidAmounts.add(index);
+            }
+
+            if (transaction instanceof Contribution) {
+                contributions += amount;
+                String description = transaction.getDescription();
+                if (description != null && description.startsWith(Loan.DISBURSEMENT_DESCRIPTION_PREFIX)) {
+                    String loanId = description.substring(Loan.DISBURSEMENT_DESCRIPTION_PREFIX.length());
+                    disbursements.computeIfAbsent(loanId, id -> new ArrayList<>()).add(index);
+                }
+            } else if (transaction instanceof Withdrawal) {
+                withdrawals += amount;
+            } else if (transaction instanceof InterestTransaction) {
+                interest += amount;
+            }
+        }
+
+        // Appends a slice that comes after this one in the ledger
+        void merge(Slice later) {
+            for (Map.Entry<String, Partial> entry : later.partials.entrySet()) {
+                Partial existing = partials.get(entry.getKey());
+                if (existing == null) {
+                    partials.put(entry.getKey(), entry.getValue());
+                } else {
+                    existing.append(entry.getValue());
+                }
+            }
+            for (int[] pair : later.duplicates) {
+                if (duplicates.size() < MAX_LISTED) duplicates.add(pair);
+            }
+            for (int index : later.invalidAmounts) {
+                if (invalidAmounts.size() < MAX_LISTED) invalidAmounts.add(index);
+            }
+            duplicateCount += later.duplicateCount;
+            invalidAmountCount += later.invalidAmountCount;
+            for (Map.Entry<String, List<Integer>> entry : later.disbursements.entrySet()) {
+                disbursements.computeIfAbsent(entry.getKey(), id -> new ArrayList<>()).addAll(entry.getValue());
+            }
+            contributions += later.contributions;
+            withdrawals += later.withdrawals;
+            interest += later.interest;
+        }
+    }
+
+    // One worker's share of the account checks
+    private static final class AccountCheck {
+        final List<Discrepancy> found = new ArrayList<>();
+        final List<Member> diverged = new ArrayList<>();
+        final Map<String, Double> balanceGaps = new HashMap<>();
+        double ledgerBalance;
+
+        void check(Member member, Partial fromLedger, List<Transaction> ledger) {
+            String memberId = member.getMemberId();
+            ledgerBalance += fromLedger.balance;
+            Account account = member.getAccount();
+            List<Transaction> history = account.getTransactionHistory();
+
+            long hash = 0;
+            for (Transaction transaction : history) {
+                hash = hash * HASH_BASE + transaction.getTransactionId().hashCode();
+            }
+            // Saved data may leave histories out, as DataGenerator does; the balance is still checked
+            boolean historyMatches = history.isEmpty()
+                || history.size() == fromLedger.count && hash == fromLedger.hash;
+            if (!historyMatches) diverged.add(member);
+
+            double gap = account.getBalance() - fromLedger.balance;
+            if (Math.abs(gap) > TOLERANCE) {
+                if (historyMatches) {
+                    // Every transaction agrees, so the stored balance itself is wrong
+                    found.add(new Discrepancy(Kind.BALANCE_MISMATCH, memberId,
+                        String.format("account balance %,.2f, ledger %,.2f (off by %,.2f) with matching history",
+                            account.getBalance(), fromLedger.balance, gap),
+                        idAt(ledger, fromLedger.first), idAt(ledger, fromLedger.last)));
+                } else {
+                    balanceGaps.put(memberId, gap);
+                }
+            }
+            if (fromLedger.lowest < -TOLERANCE) {
+                String at = idAt(ledger, fromLedger.lowestAt);
+                found.add(new Discrepancy(Kind.NEGATIVE_BALANCE, memberId,
+                    String.format("ledger balance falls to %,.2f", fromLedger.lowest), at, at));
+            }
+        }
+
+        private static String idAt(List<Transaction> ledger, int index) {
+            return index < 0 ? null : ledger.get(index).getTransactionId();
+        }
+    }
+
+    public static final class Discrepancy {
+        private final Kind kind;
+        private final String subject;
+        private final String detail;
+        private final String firstTransactionId;
+        private final String lastTransactionId;
+
+        Discrepancy(Kind kind, String subject, String detail, String firstTransactionId, String lastTransactionId) {
+            this.kind = kind;
+            this.subject = subject;
+            this.detail = detail;
+            this.firstTransactionId = firstTransactionId;
+            this.lastTransactionId = lastTransactionId;
+        }
+
+        public Kind getKind() { return kind; }
+        // A member, loan or transaction id, or the name of a report figure
+        public String getSubject() { return subject; }
+        public String getDetail() { return detail; }
+        // The offending ledger range, inclusive; null when no transaction is involved
+        public String getFirstTransactionId() { return firstTransactionId; }
+        public String getLastTransactionId() { return lastTransactionId; }
+
+        @Override
+        public String toString() {
+            String range = firstTransactionId == null ? ""
+                : firstTransactionId.equals(lastTransactionId) || lastTransactionId == null
+                    ? " [" + firstTransactionId + "]" : " [" + firstTransactionId + " .. " + lastTransactionId + "]";
+            return String.format("%-22s %-12s %s%s", kind, subject, detail, range);
+        }
+    }
+
+    public static final class Report {
+        private final int members;
+        private final int transactions;
+        private final int loans;
+        private final double ledgerBalance;
+        private final List<Discrepancy> discrepancies;
+        private final Map<Kind, Integer> countsByKind = new EnumMap<>(Kind.class);
+        private final long elapsedNanos;
+
+        // unlisted: discrepancies counted but not in found
+        Report(int members, int transactions, int loans, double ledgerBalance, List<Discrepancy> found,
+               Map<Kind, Integer> unlisted, long elapsedNanos) {
+            this.members = members;
+            this.transactions = transactions;
+            this.loans = loans;
+            this.ledgerBalance = ledgerBalance;
+            for (Discrepancy discrepancy : found) countsByKind.merge(discrepancy.kind, 1, Integer::sum);
+            for (Map.Entry<Kind, Integer> entry : unlisted.entrySet()) {
+                if (entry.getValue() > 0) countsByKind.merge(entry.getKey(), entry.getValue(), Integer::sum);
+            }
+            this.discrepancies = Collections.unmodifiableList(
+                new ArrayList<>(found.subList(0, Math.min(found.size(), MAX_LISTED))));
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public boolean isClean() { return countsByKind.isEmpty(); }
+        public int getDiscrepancyCount() {
+            int total = 0;
+            for (int count : countsByKind.values()) total += count;
+            return total;
+        }
+        public Map<Kind, Integer> getCountsByKind() { return Collections.unmodifiableMap(countsByKind); }
+        // At most MAX_LISTED, ordered by kind then subject
+        public List<Discrepancy> getDiscrepancies() { return discrepancies; }
+        public double getLedgerBalance() { return ledgerBalance; }
+        public long getElapsedNanos() { return elapsedNanos; }
+
+        public String getSummaryLine() {
+            return String.format("Reconciled %,d members, %,d transactions and %,d loans in %.1f ms: %s",
+                members, transactions, loans, elapsedNanos / 1e6,
+                isClean() ? "no discrepancies" : getDiscrepancyCount() + " discrepancies " + countsByKind);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder(getSummaryLine()).append('\n');
+            for (Discrepancy discrepancy : discrepancies) text.append(discrepancy).append('\n');
+            if (getDiscrepancyCount() > discrepancies.size()) {
+                text.append("... ").append(getDiscrepancyCount() - discrepancies.size()).append(" more\n");
+            }
+            return text.toString();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package service;
+
+import model.Permission;
+import model.User;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+// Role -> permission masks, resolved once per login rather than on every check
+public class RolePermissions {
+    private final Map<User.UserRole, Long> builtInMasks;
+    private final Map<String, Long> customMasks;
+
+    public RolePermissions() {
+        this.builtInMasks = new EnumMap<>(User.UserRole.class);
+        this.customMasks = new HashMap<>();
+
+        builtInMasks.put(User.UserRole.ADMIN, Permission.maskOf(EnumSet.allOf(Permission.class)));
+        // Manager can do most things except create users
+        builtInMasks.put(User.UserRole.MANAGER, Permission.maskOf(EnumSet.complementOf(EnumSet.of(Permission.CREATE_USER))));
+        builtInMasks.put(User.UserRole.TELLER, Permission.maskOf(EnumSet.of(Permission.VIEW_MEMBERS, Permission.PROCESS_TRANSACTIONS)));
+        builtInMasks.put(User.UserRole.MEMBER, Permission.maskOf(EnumSet.of(Permission.VIEW_OWN_ACCOUNT)));
+    }
+
+    public void defineCustomRole(String roleName, Set<Permission> permissions) {
+        customMasks.put(roleName, Permission.maskOf(permissions));
+    }
+
+    public Set<String> getCustomRoleNames() {
+        return Collections.unmodifiableSet(customMasks.keySet());
+    }
+
+    public boolean isCustomRole(String roleName) {
+        return customMasks.containsKey(roleName);
+    }
+
+    // A custom role, when assigned and still defined, replaces the built-in role's permissions
+    public long resolveMask(User user) {
+        if (user == null) return 0;
+        if (user.getCustomRole() != null) {
+            Long custom = customMasks.get(user.getCustomRole());
+            if (custom != null) return custom;
+        }
+        Long builtIn = builtInMasks.get(user.getRole());
+        return builtIn != null ? builtIn : 0;
+    }
+}
@@ -0,0 +1,210 @@
+package service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Renders many member statements in parallel and writes them through NIO file channels, either one
+// file per member or a single archive in member order. Statements are immutable captures, so the
+// workers never touch live service state.
+public class StatementExporter {
+    public enum Format { TEXT, CSV }
+    public enum Layout { FILE_PER_MEMBER, SINGLE_ARCHIVE }
+
+    // Statements rendered ahead of the archive writer; bounds memory for very large associations
+    private static final int ARCHIVE_CHUNK = 512;
+
+    private final int parallelism;
+
+    public StatementExporter() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public StatementExporter(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    public Result export(List<MemberStatement> statements, Path outputDir, String archiveName,
+                         Format format, Layout layout) throws IOException {
+        Files.createDirectories(outputDir);
+        long start = System.nanoTime();
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread thread = new Thread(r, "statement-export");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            long bytes;
+            int files;
+            if (layout == Layout.FILE_PER_MEMBER) {
+                bytes = exportPerMember(pool, statements, outputDir, format);
+                files = statements.size();
+            } else {
+                bytes = exportArchive(pool, statements, outputDir.resolve(archiveName + extension(format)), format);
+                files = 1;
+            }
+            return new Result(statements.size(), files, bytes, System.nanoTime() - start, outputDir);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private long exportPerMember(ExecutorService pool, List<MemberStatement> statements, Path outputDir,
+                                 Format format) throws IOException {
+        // Workers claim the next statement until none are left, so uneven histories balance out
+        AtomicInteger next = new AtomicInteger();
+        List<Callable<Long>> workers = new ArrayList<>();
+        for (int w = 0; w < parallelism; w++) {
+            workers.add(() -> {
+                StringBuilder text = new StringBuilder(8192);
+                long written = 0;
+                for (int i = next.getAndIncrement(); i < statements.size(); i = next.getAndIncrement()) {
+                    MemberStatement statement = statements.get(i);
+                    text.setLength(0);
+                    render(statement, format, true, text);
+                    Path file = outputDir.resolve(statement.getMemberId() + extension(format));
+                    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                        written += writeFully(channel, encode(text));
+                    }
+                }
+                return written;
+            });
+        }
+        return sum(invokeAll(pool, workers));
+    }
+
+    private long exportArchive(ExecutorService pool, List<MemberStatement> statements, Path archive,
+                               Format format) throws IOException {
+        long written = 0;
+        try (FileChannel channel = FileChannel.open(archive, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            if (format == Format.CSV) {
+                written += writeFully(channel, StandardCharsets.UTF_8.encode(MemberStatement.CSV_HEADER));
+            }
+            for (int chunkStart = 0; chunkStart < statements.size(); chunkStart += ARCHIVE_CHUNK) {
+                int chunkEnd = Math.min(statements.size(), chunkStart + ARCHIVE_CHUNK);
+                ByteBuffer[] rendered = new ByteBuffer[chunkEnd - chunkStart];
+                int offset = chunkStart;
+                AtomicInteger next = new AtomicInteger(chunkStart);
+                List<Callable<Long>> workers = new ArrayList<>();
+                for (int w = 0; w < parallelism; w++) {
+                    workers.add(() -> {
+                        StringBuilder text = new StringBuilder(8192);
+                        for (int i = next.getAndIncrement(); i < chunkEnd; i = next.getAndIncrement()) {
+                            text.setLength(0);
+                            render(statements.get(i), format, false, text);
+                            if (format == Format.TEXT) text.append('\f').append('\n'); // page break between members
+                            rendered[i - offset] = encode(text);
+                        }
+                        return 0L;
+                    });
+                }
+                invokeAll(pool, workers);
+                // Gathering write keeps member order without copying the rendered buffers together
+                written += writeFully(channel, rendered);
+            }
+        }
+        return written;
+    }
+
+    private static void render(MemberStatement statement, Format format, boolean standalone, StringBuilder out)
+            throws IOException {
+        if (format == Format.TEXT) {
+            statement.writeTo(out);
+        } else {
+            if (standalone) out.append(MemberStatement.CSV_HEADER);
+            statement.writeCsvTo(out);
+        }
+    }
+
+    private static ByteBuffer encode(CharSequence text) {
+        return StandardCharsets.UTF_8.encode(CharBuffer.wrap(text));
+    }
+
+    private static long writeFully(FileChannel channel, ByteBuffer... buffers) throws IOException {
+        long total = 0;
+        for (ByteBuffer buffer : buffers) total += buffer.remaining();
+        long remaining = total;
+        while (remaining > 0) {
+            remaining -= channel.write(buffers);
+        }
+        return total;
+    }
+
+    private static String extension(Format format) {
+        return format == Format.CSV ? ".csv" : ".txt";
+    }
+
+    private static List<Future<Long>> invokeAll(ExecutorService pool, List<Callable<Long>> workers) throws IOException {
+        try {
+            List<Future<Long>> futures = pool.invokeAll(workers);
+            for (Future<Long> future : futures) future.get(); // surface the first failure
+            return futures;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Statement export interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) throw (IOException) cause;
+            throw new IOException("Statement export failed: " + cause.getMessage(), cause);
+        }
+    }
+
+    private static long sum(List<Future<Long>> futures) {
+        long total = 0;
+        for (Future<Long> future : futures) {
+            try {
+                total += future.get();
+            } catch (InterruptedException | ExecutionException e) {
+                // already surfaced by invokeAll
+            }
+        }
+        return total;
+    }
+
+    public static final class Result {
+        private final int statements;
+        private final int files;
+        private final long bytes;
+        private final long elapsedNanos;
+        private final Path outputDir;
+
+        Result(int statements, int files, long bytes, long elapsedNanos, Path outputDir) {
+            this.statements = statements;
+            this.files = files;
+            this.bytes = bytes;
+            this.elapsedNanos = elapsedNanos;
+            this.outputDir = outputDir;
+        }
+
+        public int getStatements() { return statements; }
+        public int getFiles() { return files; }
+        public long getBytes() { return bytes; }
+        public long getElapsedNanos() { return elapsedNanos; }
+        public Path getOutputDir() { return outputDir; }
+
+        public double getStatementsPerSecond() {
+            return elapsedNanos == 0 ? 0 : statements / (elapsedNanos / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d statements, %d file(s), %.1f MB in %.2fs (%.0f statements/sec) -> %s",
+                statements, files, bytes / (1024.0 * 1024.0), elapsedNanos / 1e9, getStatementsPerSecond(), outputDir);
+        }
+    }
+}
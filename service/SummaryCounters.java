@@ -0,0 +1,129 @@
+package service;
+
+import model.Contribution;
+import model.InterestTransaction;
+import model.Loan;
+import model.Member;
+import model.Transaction;
+import model.Withdrawal;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// Running totals behind SummaryReport. Rebuilt once on load, then fed each committed change event;
+// only the service's writer thread touches it.
+class SummaryCounters {
+    private int totalMembers;
+    private int activeMembers;
+    private int transactionCount;
+    private double totalBalance;
+    private double totalContributions;
+    private double totalWithdrawals;
+    private double totalInterest;
+    private int totalLoans;
+    private final Map<Loan.LoanStatus, Integer> loansByStatus = new EnumMap<>(Loan.LoanStatus.class);
+    private double outstandingLoanBalance;
+    // Contributions and withdrawals dated flowDate, the latest posting day seen
+    private LocalDate flowDate;
+    private double inflowOnFlowDate;
+    private double outflowOnFlowDate;
+
+    void rebuild(List<Member> members, List<Transaction> transactions, List<Loan> loans) {
+        totalMembers = 0;
+        activeMembers = 0;
+        totalBalance = 0;
+        for (Member member : members) {
+            totalMembers++;
+            if (member.isActive()) activeMembers++;
+            // Balances have just been replayed from the ledger, which the accounts follow from here on
+            totalBalance += member.getAccount().getBalance();
+        }
+
+        transactionCount = 0;
+        totalContributions = 0;
+        totalWithdrawals = 0;
+        totalInterest = 0;
+        flowDate = LocalDate.now();
+        inflowOnFlowDate = 0;
+        outflowOnFlowDate = 0;
+        for (Transaction transaction : transactions) {
+            countTransaction(transaction);
+        }
+
+        totalLoans = 0;
+        loansByStatus.clear();
+        outstandingLoanBalance = 0;
+        for (Loan loan : loans) {
+            countLoan(loan.getStatus(), null, loan.getOutstandingBalance());
+        }
+    }
+
+    void apply(AssociationEvent event) {
+        if (event instanceof AssociationEvent.TransactionPosted) {
+            // Mirrors Account.addTransaction: contributions and interest credit, withdrawals debit
+            Transaction transaction = ((AssociationEvent.TransactionPosted) event).getTransaction();
+            countTransaction(transaction);
+            if (transaction instanceof Contribution || transaction instanceof InterestTransaction) {
+                totalBalance += transaction.getAmount();
+            } else if (transaction instanceof Withdrawal) {
+                totalBalance -= transaction.getAmount();
+            }
+        } else if (event instanceof AssociationEvent.MemberAdded) {
+            AssociationSnapshot.MemberView member = ((AssociationEvent.MemberAdded) event).getMember();
+            totalMembers++;
+            if (member.isActive()) activeMembers++;
+            totalBalance += member.getBalance();
+        } else if (event instanceof AssociationEvent.LoanStatusChanged) {
+            AssociationEvent.LoanStatusChanged change = (AssociationEvent.LoanStatusChanged) event;
+            countLoan(change.getLoan().getStatus(), change.getPreviousStatus(), change.getLoan().getOutstandingBalance());
+        }
+    }
+
+    SummaryReport toReport(long version) {
+        LocalDate today = LocalDate.now();
+        boolean postedToday = today.equals(flowDate);
+        return new SummaryReport(version, today, totalMembers, activeMembers, transactionCount,
+            totalBalance, totalContributions, totalWithdrawals, totalInterest,
+            postedToday ? inflowOnFlowDate : 0, postedToday ? outflowOnFlowDate : 0,
+            totalLoans, loansByStatus, outstandingLoanBalance);
+    }
+
+    private void countTransaction(Transaction transaction) {
+        transactionCount++;
+        LocalDate date = transaction.getDate();
+        boolean onFlowDate = date.equals(flowDate);
+        if (flowDate == null || date.isAfter(flowDate)) {
+            flowDate = date;
+            inflowOnFlowDate = 0;
+            outflowOnFlowDate = 0;
+            onFlowDate = true;
+        }
+        if (transaction instanceof Contribution) {
+            totalContributions += transaction.getAmount();
+            if (onFlowDate) inflowOnFlowDate += transaction.getAmount();
+        } else if (transaction instanceof Withdrawal) {
+            totalWithdrawals += transaction.getAmount();
+            if (onFlowDate) outflowOnFlowDate += transaction.getAmount();
+        } else if (transaction instanceof InterestTransaction) {
+            totalInterest += transaction.getAmount();
+        }
+    }
+
+    // previous is null for a loan not counted yet
+    private void countLoan(Loan.LoanStatus current, Loan.LoanStatus previous, double outstanding) {
+        if (current == previous) return;
+        if (previous == null) {
+            totalLoans++;
+        } else {
+            loansByStatus.computeIfPresent(previous, (status, count) -> count > 1 ? count - 1 : null);
+            if (isOutstanding(previous)) outstandingLoanBalance -= outstanding;
+        }
+        loansByStatus.merge(current, 1, Integer::sum);
+        if (isOutstanding(current)) outstandingLoanBalance += outstanding;
+    }
+
+    static boolean isOutstanding(Loan.LoanStatus status) {
+        return status == Loan.LoanStatus.DISBURSED || status == Loan.LoanStatus.ACTIVE;
+    }
+}
@@ -0,0 +1,93 @@
+package service;
+
+import model.Loan;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+// Association-wide totals as of one commit; built from SummaryCounters, so it costs the same at any data size
+public final class SummaryReport {
+    private final long version;
+    private final LocalDate generatedOn;
+    private final int totalMembers;
+    private final int activeMembers;
+    private final int transactionCount;
+    private final double totalBalance;
+    private final double totalContributions;
+    private final double totalWithdrawals;
+    private final double totalInterest;
+    private final double inflowToday;
+    private final double outflowToday;
+    private final int totalLoans;
+    private final Map<Loan.LoanStatus, Integer> loansByStatus;
+    private final double outstandingLoanBalance;
+
+    SummaryReport(long version, LocalDate generatedOn, int totalMembers, int activeMembers, int transactionCount,
+                  double totalBalance, double totalContributions, double totalWithdrawals, double totalInterest,
+                  double inflowToday, double outflowToday, int totalLoans, Map<Loan.LoanStatus, Integer> loansByStatus, double outstandingLoanBalance) {
+        this.version = version;
+        this.generatedOn = generatedOn;
+        this.totalMembers = totalMembers;
+        this.activeMembers = activeMembers;
+        this.transactionCount = transactionCount;
+        this.totalBalance = totalBalance;
+        this.totalContributions = totalContributions;
+        this.totalWithdrawals = totalWithdrawals;
+        this.totalInterest = totalInterest;
+        this.inflowToday = inflowToday;
+        this.outflowToday = outflowToday;
+        this.totalLoans = totalLoans;
+        this.loansByStatus = Collections.unmodifiableMap(new EnumMap<>(loansByStatus));
+        this.outstandingLoanBalance = outstandingLoanBalance;
+    }
+
+    // Getters
+    public long getVersion() { return version; }
+    public LocalDate getGeneratedOn() { return generatedOn; }
+    public int getTotalMembers() { return totalMembers; }
+    public int getActiveMembers() { return activeMembers; }
+    public int getInactiveMembers() { return totalMembers - activeMembers; }
+    public int getTransactionCount() { return transactionCount; }
+    public double getTotalBalance() { return totalBalance; }
+    public double getTotalContributions() { return totalContributions; }
+    public double getTotalWithdrawals() { return totalWithdrawals; }
+    public double getTotalInterest() { return totalInterest; }
+    public double getNetFlow() { return totalContributions - totalWithdrawals; }
+    // Contributions and withdrawals dated generatedOn
+    public double getInflowToday() { return inflowToday; }
+    public double getOutflowToday() { return outflowToday; }
+    public int getTotalLoans() { return totalLoans; }
+    public Map<Loan.LoanStatus, Integer> getLoansByStatus() { return loansByStatus; }
+    public double getOutstandingLoanBalance() { return outstandingLoanBalance; }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder();
+        report.append("ASSOCIATION SUMMARY REPORT\n");
+        report.append("Generated: ").append(generatedOn).append("\n");
+        report.append("=".repeat(60)).append("\n");
+
+        report.append("MEMBERSHIP SUMMARY\n");
+        report.append("Total Members: ").append(totalMembers).append("\n");
+        report.append("Active Members: ").append(activeMembers).append("\n");
+        report.append("Inactive Members: ").append(getInactiveMembers()).append("\n\n");
+
+        report.append("FINANCIAL SUMMARY\n");
+        report.append("Total Transactions: ").append(transactionCount).append("\n");
+        report.append("Total Association Balance: ₦").append(String.format("%.2f", totalBalance)).append("\n");
+        report.append("Total Contributions: ₦").append(String.format("%.2f", totalContributions)).append("\n");
+        report.append("Total Withdrawals: ₦").append(String.format("%.2f", totalWithdrawals)).append("\n");
+        report.append("Total Interest Paid: ₦").append(String.format("%.2f", totalInterest)).append("\n");
+        report.append("Net Cash Flow: ₦").append(String.format("%.2f", getNetFlow())).append("\n\n");
+
+        report.append("LOAN SUMMARY\n");
+        report.append("Total Loans: ").append(totalLoans).append("\n");
+        for (Map.Entry<Loan.LoanStatus, Integer> entry : loansByStatus.entrySet()) {
+            report.append(entry.getKey()).append(": ").append(entry.getValue()).append("\n");
+        }
+        report.append("Total Outstanding Loans: ₦").append(String.format("%.2f", outstandingLoanBalance)).append("\n");
+        report.append("=".repeat(60));
+        return report.toString();
+    }
+}
@@ -0,0 +1,146 @@
+package service;
+
+import model.Transaction;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Inverted index from description words to ledger positions. The ledger is append-only, so each
+// posting list is already sorted and indexing a new transaction is an amortized O(1) append per word.
+class TransactionTextIndex {
+    private final Map<String, Postings> postings = new HashMap<>();
+    private int indexedCount;
+
+    private static final class Postings {
+        int[] positions = new int[4];
+        int size;
+
+        void add(int position) {
+            // A word repeated within one description is posted once
+            if (size > 0 && positions[size - 1] == position) return;
+            if (size == positions.length) positions = Arrays.copyOf(positions, size * 2);
+            positions[size++] = position;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(positions, size);
+        }
+    }
+
+    int getIndexedCount() {
+        return indexedCount;
+    }
+
+    // Index ledger entries from indexedCount onwards (new appends, or the tail a persisted index lacks)
+    void catchUp(List<Transaction> ledger) {
+        for (int position = indexedCount; position < ledger.size(); position++) {
+            for (String term : tokenize(ledger.get(position).getDescription())) {
+                postings.computeIfAbsent(term, t -> new Postings()).add(position);
+            }
+        }
+        indexedCount = ledger.size();
+    }
+
+    void clear() {
+        postings.clear();
+        indexedCount = 0;
+    }
+
+    void restore(Map<String, int[]> saved, int coveredCount) {
+        clear();
+        for (Map.Entry<String, int[]> entry : saved.entrySet()) {
+            Postings list = new Postings();
+            list.positions = entry.getValue().length == 0 ? new int[4] : entry.getValue();
+            list.size = entry.getValue().length;
+            postings.put(entry.getKey(), list);
+        }
+        indexedCount = coveredCount;
+    }
+
+    Map<String, int[]> export() {
+        Map<String, int[]> copy = new HashMap<>(postings.size() * 2);
+        for (Map.Entry<String, Postings> entry : postings.entrySet()) {
+            copy.put(entry.getKey(), entry.getValue().toArray());
+        }
+        return copy;
+    }
+
+    // query: words are ANDed, "OR" separates alternatives ("school fees OR tuition").
+    // Returns matching transactions newest first, at most limit.
+    List<Transaction> search(List<Transaction> ledger, String query, String memberId,
+                             LocalDate from, LocalDate to, int limit) {
+        List<int[]> groups = new ArrayList<>();
+        for (String group : query.split("(?i)\\s+OR\\s+")) {
+            List<String> terms = tokenize(group);
+            if (terms.isEmpty()) continue;
+            groups.add(intersect(terms));
+        }
+        int[] candidates = union(groups);
+
+        List<Transaction> results = new ArrayList<>();
+        for (int i = candidates.length - 1; i >= 0 && results.size() < limit; i--) {
+            Transaction transaction = ledger.get(candidates[i]);
+            if (memberId != null && !memberId.equals(transaction.getMemberId())) continue;
+            if (from != null && transaction.getDate().isBefore(from)) continue;
+            if (to != null && transaction.getDate().isAfter(to)) continue;
+            results.add(transaction);
+        }
+        return results;
+    }
+
+    private int[] intersect(List<String> terms) {
+        List<Postings> lists = new ArrayList<>();
+        for (String term : terms) {
+            Postings list = postings.get(term);
+            if (list == null) return new int[0];
+            lists.add(list);
+        }
+        // Walk the rarest term's postings and binary-search the others
+        lists.sort((a, b) -> Integer.compare(a.size, b.size));
+        Postings rarest = lists.get(0);
+        int[] out = new int[rarest.size];
+        int count = 0;
+        for (int i = 0; i < rarest.size; i++) {
+            int position = rarest.positions[i];
+            boolean inAll = true;
+            for (int j = 1; j < lists.size() && inAll; j++) {
+                Postings other = lists.get(j);
+                inAll = Arrays.binarySearch(other.positions, 0, other.size, position) >= 0;
+            }
+            if (inAll) out[count++] = position;
+        }
+        return Arrays.copyOf(out, count);
+    }
+
+    private static int[] union(List<int[]> groups) {
+        if (groups.isEmpty()) return new int[0];
+        int[] merged = groups.get(0);
+        for (int g = 1; g < groups.size(); g++) {
+            int[] next = groups.get(g);
+            int[] out = new int[merged.length + next.length];
+            int i = 0, j = 0, k = 0;
+            while (i < merged.length || j < next.length) {
+                int value;
+                if (j >= next.length || (i < merged.length && merged[i] < next[j])) value = merged[i++];
+                else if (i >= merged.length || next[j] < merged[i]) value = next[j++];
+                else { value = merged[i++]; j++; }
+                out[k++] = value;
+            }
+            merged = Arrays.copyOf(out, k);
+        }
+        return merged;
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) return terms;
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) terms.add(word);
+        }
+        return terms;
+    }
+}
@@ -0,0 +1,335 @@
+package tools;
+
+import model.*;
+import persistence.DataPersistence;
+import service.AssociationService;
+import service.AssociationSnapshot;
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+// Deterministic synthetic dataset generator. The same seed, sizes and anchor date always produce the
+// same data; every date is derived from the anchor, which defaults to DEFAULT_ANCHOR rather than today.
+// Usage: java tools.DataGenerator --data-dir DIR [--force] [--members N] [--transactions-per-member M]
+//                                 [--history-days D] [--seed S] [--anchor YYYY-MM-DD] [--mode persistence|service]
+// The persistence mode replaces DIR's data, so it refuses a non-empty DIR unless --force is given.
+public class DataGenerator {
+    private static final String[] FIRST_NAMES = {
+        "Abdullahi", "Aisha", "Chinedu", "Fatima", "Ibrahim", "Ngozi", "Tunde", "Zainab", "Emeka", "Halima",
+        "Yusuf", "Funke", "Musa", "Amina", "Segun", "Blessing", "Usman", "Kemi", "Bello", "Hauwa"
+    };
+    private static final String[] LAST_NAMES = {
+        "Yahuza", "Okafor", "Bello", "Adeyemi", "Musa", "Eze", "Abubakar", "Ogunleye", "Danjuma", "Nwosu",
+        "Lawal", "Ibekwe", "Sani", "Balogun", "Umar", "Okonkwo", "Garba", "Adebayo", "Shehu", "Obi"
+    };
+    private static final String[] OCCUPATIONS = {
+        "Teacher", "Trader", "Civil Servant", "Farmer", "Nurse", "Engineer", "Driver", "Tailor", "Accountant", "Artisan"
+    };
+    private static final String[] CONTRIBUTION_NOTES = {
+        "Monthly contribution", "Salary savings", "School fees savings", "Festive savings", "Regular contribution"
+    };
+    private static final String[] WITHDRAWAL_NOTES = {
+        "School fees", "Medical bills", "Rent", "Business stock", "Emergency withdrawal"
+    };
+    private static final String[] LOAN_PURPOSES = {
+        "Business expansion", "School fees", "Farm inputs", "Housing repairs", "Vehicle purchase"
+    };
+
+    private static final byte CONTRIBUTION = 0;
+    private static final byte WITHDRAWAL = 1;
+    private static final byte INTEREST = 2;
+
+    public static final LocalDate DEFAULT_ANCHOR = LocalDate.of(2025, 1, 1);
+
+    private final long seed;
+    private final LocalDate anchor;
+
+    public DataGenerator(long seed) {
+        this(seed, DEFAULT_ANCHOR);
+    }
+
+    // The anchor is the last day of generated history
+    public DataGenerator(long seed, LocalDate anchor) {
+        this.seed = seed;
+        this.anchor = anchor;
+    }
+
+    // Generated data, ready to be written with DataPersistence
+    public static class Dataset {
+        private final List<Member> members;
+        private final List<Transaction> transactions;
+        private final List<Loan> loans;
+
+        Dataset(List<Member> members, List<Transaction> transactions, List<Loan> loans) {
+            this.members = members;
+            this.transactions = transactions;
+            this.loans = loans;
+        }
+
+        public List<Member> getMembers() { return members; }
+        public List<Transaction> getTransactions() { return transactions; }
+        public List<Loan> getLoans() { return loans; }
+
+        // Writes the dataset in the on-disk format AssociationService loads at startup, dropping any
+        // index, idempotency keys or login journal left from the ledger it replaces
+        public void writeTo(DataPersistence persistence) throws IOException {
+            // Histories are rebuilt from transactions.dat on load, so they are not stored twice
+            for (Member member : members) {
+                member.getAccount().getTransactionHistory().clear();
+            }
+            persistence.saveMembers(members);
+            persistence.saveTransactions(transactions);
+            persistence.saveLoans(loans);
+            persistence.discardDerivedState();
+        }
+    }
+
+    // Where a generated dataset may be written: an explicit directory that is missing or empty, or
+    // any directory when force is set
+    static DataPersistence targetDirectory(String dataDir, boolean force) {
+        if (dataDir == null) {
+            throw new IllegalArgumentException("--data-dir is required when writing a generated dataset");
+        }
+        String[] existing = new File(dataDir).list();
+        if (!force && existing != null && existing.length > 0) {
+            throw new IllegalArgumentException(dataDir + " is not empty; pass --force to replace its data");
+        }
+        return new DataPersistence(dataDir);
+    }
+
+    public Dataset generate(int memberCount, int transactionsPerMember, int historyDays) {
+        Random random = new Random(seed);
+        LocalDate today = anchor;
+        long firstDay = today.toEpochDay() - historyDays;
+
+        List<Member> members = new ArrayList<>(memberCount);
+        for (int i = 0; i < memberCount; i++) {
+            LocalDate joinDate = LocalDate.ofEpochDay(firstDay + random.nextInt(Math.max(1, historyDays)));
+            members.add(newMember(random, i, joinDate));
+        }
+
+        // Events are generated per member in date order (so balances stay valid), held in primitive
+        // arrays, then merged into one chronological ledger with sequential transaction ids
+        int capacity = memberCount * (transactionsPerMember + historyDays / 30 + 2);
+        int[] eventMember = new int[capacity];
+        byte[] eventType = new byte[capacity];
+        double[] eventAmount = new double[capacity];
+        int[] eventDay = new int[capacity];
+        byte[] eventNote = new byte[capacity];
+        int events = 0;
+
+        for (int m = 0; m < memberCount; m++) {
+            Member member = members.get(m);
+            long joinDay = member.getJoinDate().toEpochDay();
+            long span = Math.max(1, today.toEpochDay() - joinDay);
+            long[] days = new long[transactionsPerMember];
+            for (int t = 0; t < transactionsPerMember; t++) {
+                days[t] = joinDay + (long) (random.nextDouble() * span);
+            }
+            Arrays.sort(days);
+
+            double balance = 0;
+            long lastInterestDay = joinDay;
+            for (int t = 0; t < transactionsPerMember; t++) {
+                long day = days[t];
+                // Monthly interest run at 3.5% APR, as calculateAndApplyInterest would post it
+                while (day - lastInterestDay >= 30) {
+                    lastInterestDay += 30;
+                    double interest = balance * 0.035 / 365 * 30;
+                    if (interest > 0.01) {
+                        eventMember[events] = m;
+                        eventType[events] = INTEREST;
+                        eventAmount[events] = round2(interest);
+                        eventDay[events] = (int) lastInterestDay;
+                        events++;
+                        balance += round2(interest);
+                    }
+                }
+
+                boolean canWithdraw = day - joinDay >= 30 && balance > 100;
+                if (canWithdraw && random.nextInt(100) < 25) {
+                    double amount = round2(Math.min(Math.min(5000, balance), 200 + random.nextDouble() * 3000));
+                    eventMember[events] = m;
+                    eventType[events] = WITHDRAWAL;
+                    eventAmount[events] = amount;
+                    eventDay[events] = (int) day;
+                    eventNote[events] = (byte) random.nextInt(WITHDRAWAL_NOTES.length);
+                    events++;
+                    balance -= amount;
+                } else {
+                    double amount = round2(500 + random.nextDouble() * 9500);
+                    eventMember[events] = m;
+                    eventType[events] = CONTRIBUTION;
+                    eventAmount[events] = amount;
+                    eventDay[events] = (int) day;
+                    eventNote[events] = (byte) random.nextInt(CONTRIBUTION_NOTES.length);
+                    events++;
+                    balance += amount;
+                }
+            }
+            member.getAccount().setLastInterestDate(LocalDate.ofEpochDay(lastInterestDay));
+        }
+
+        // Sort keys: day in the high bits, event index in the low bits (stable within a day)
+        long[] order = new long[events];
+        for (int e = 0; e < events; e++) {
+            order[e] = ((long) eventDay[e] << 32) | e;
+        }
+        Arrays.sort(order);
+
+        List<Transaction> transactions = new ArrayList<>(events);
+        int txnCounter = 1;
+        for (long key : order) {
+            int e = (int) key;
+            Member member = members.get(eventMember[e]);
+            String txnId = "TXN" + String.format("%06d", txnCounter++);
+            LocalDate date = LocalDate.ofEpochDay(eventDay[e]);
+            Transaction transaction;
+            switch (eventType[e]) {
+                case WITHDRAWAL:
+                    transaction = new Withdrawal(txnId, member.getMemberId(), eventAmount[e], date,
+                        WITHDRAWAL_NOTES[eventNote[e]]);
+                    break;
+                case INTEREST:
+                    transaction = new InterestTransaction(txnId, member.getMemberId(), eventAmount[e], date,
+                        member.getAccount().getInterestRate());
+                    break;
+                default:
+                    transaction = new Contribution(txnId, member.getMemberId(), eventAmount[e], date,
+                        CONTRIBUTION_NOTES[eventNote[e]]);
+            }
+            member.getAccount().addTransaction(transaction);
+            transactions.add(transaction);
+        }
+
+        List<Loan> loans = generateLoans(random, members, transactions, txnCounter, today);
+        return new Dataset(members, transactions, loans);
+    }
+
+    // Roughly one member in ten has a loan somewhere in its lifecycle
+    private List<Loan> generateLoans(Random random, List<Member> members, List<Transaction> transactions,
+                                     int txnCounter, LocalDate today) {
+        Loan.LoanStatus[] lifecycle = {
+            Loan.LoanStatus.PENDING, Loan.LoanStatus.APPROVED, Loan.LoanStatus.DISBURSED,
+            Loan.LoanStatus.ACTIVE, Loan.LoanStatus.PAID_OFF, Loan.LoanStatus.REJECTED
+        };
+        List<Loan> loans = new ArrayList<>();
+        for (Member member : members) {
+            if (random.nextInt(10) != 0) continue;
+
+            double principal = round2(Math.max(100, Math.min(10000, member.getAccount().getBalance() * (2 + random.nextDouble() * 6))));
+            String loanId = "LOAN" + String.format("%04d", loans.size() + 1);
+            Loan loan = new Loan(loanId, member.getMemberId(), principal, 12.0, 6 + random.nextInt(19),
+                LOAN_PURPOSES[random.nextInt(LOAN_PURPOSES.length)]);
+            loan.setApplicationDate(today);
+            Loan.LoanStatus status = lifecycle[random.nextInt(lifecycle.length)];
+            loan.setStatus(status);
+            if (status != Loan.LoanStatus.PENDING && status != Loan.LoanStatus.REJECTED) {
+                loan.setApprovalDate(today);
+            }
+            if (status == Loan.LoanStatus.DISBURSED || status == Loan.LoanStatus.ACTIVE || status == Loan.LoanStatus.PAID_OFF) {
+                loan.setDisbursementDate(today);
+                Contribution credit = new Contribution("TXN" + String.format("%06d", txnCounter++), member.getMemberId(),
+                    principal, today, Loan.DISBURSEMENT_DESCRIPTION_PREFIX + loanId);
+                member.getAccount().addTransaction(credit);
+                transactions.add(credit);
+            }
+            if (status == Loan.LoanStatus.ACTIVE) {
+                loan.setOutstandingBalance(round2(principal * random.nextDouble()));
+            } else if (status == Loan.LoanStatus.PAID_OFF) {
+                loan.setOutstandingBalance(0);
+            }
+            loans.add(loan);
+        }
+        return loans;
+    }
+
+    private Member newMember(Random random, int index, LocalDate joinDate) {
+        String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        String memberId = "MEM" + String.format("%04d", index + 1);
+        String email = (firstName + "." + lastName + (index + 1)).toLowerCase() + "@example.com";
+        String phone = String.format("+234%d%09d", 7 + random.nextInt(3), random.nextInt(1_000_000_000));
+        Member member = new Member(memberId, firstName, lastName, email, phone, joinDate);
+        member.setAddress((1 + random.nextInt(200)) + " Ahmadu Bello Way");
+        member.setDateOfBirth(joinDate.minusYears(20 + random.nextInt(40)).minusDays(random.nextInt(365)));
+        member.setOccupation(OCCUPATIONS[random.nextInt(OCCUPATIONS.length)]);
+        return member;
+    }
+
+    // Drives the public service API instead; members join today, so withdrawals and loans are not eligible.
+    // The service dates postings itself, so only the generated dates of birth follow the anchor here.
+    // Every call persists the full dataset, so keep sizes small in this mode.
+    public void populate(AssociationService service, int memberCount, int contributionsPerMember) {
+        Random random = new Random(seed);
+        int firstIndex = service.getSnapshot().getTotalMembers();
+        for (int i = 0; i < memberCount; i++) {
+            Member template = newMember(random, firstIndex + i, anchor);
+            service.addMember(template.getFirstName(), template.getLastName(), template.getEmail(),
+                template.getPhoneNumber(), template.getAddress(), template.getDateOfBirth(), template.getOccupation());
+        }
+        List<AssociationSnapshot.MemberView> members = service.getAllMembers();
+        for (int i = firstIndex; i < members.size(); i++) {
+            for (int c = 0; c < contributionsPerMember; c++) {
+                service.deposit(members.get(i).getMemberId(), round2(500 + random.nextDouble() * 9500),
+                    CONTRIBUTION_NOTES[random.nextInt(CONTRIBUTION_NOTES.length)]);
+            }
+        }
+        service.calculateAndApplyInterest();
+    }
+
+    private static double round2(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int members = 1000;
+        int transactionsPerMember = 100;
+        int historyDays = 3 * 365;
+        long seed = 42;
+        LocalDate anchor = DEFAULT_ANCHOR;
+        String mode = "persistence";
+        String dataDir = null;
+        boolean force = false;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--force")) {
+                force = true;
+                continue;
+            }
+            if (i + 1 >= args.length) throw new IllegalArgumentException("Missing value for " + args[i]);
+            switch (args[i]) {
+                case "--members": members = Integer.parseInt(args[++i]); break;
+                case "--transactions-per-member": transactionsPerMember = Integer.parseInt(args[++i]); break;
+                case "--history-days": historyDays = Integer.parseInt(args[++i]); break;
+                case "--seed": seed = Long.parseLong(args[++i]); break;
+                case "--anchor": anchor = LocalDate.parse(args[++i]); break;
+                case "--mode": mode = args[++i]; break;
+                case "--data-dir": dataDir = args[++i]; break;
+                default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        DataGenerator generator = new DataGenerator(seed, anchor);
+        long start = System.nanoTime();
+        if (mode.equals("service")) {
+            // Adds members through the service API, so existing data is extended rather than replaced
+            if (dataDir == null) throw new IllegalArgumentException("--data-dir is required");
+            AssociationService service = new AssociationService(new DataPersistence(dataDir));
+            if (!service.authenticateUser("admin", "admin123")) {
+                throw new IllegalStateException("Service mode needs the default admin account");
+            }
+            generator.populate(service, members, transactionsPerMember);
+        } else {
+            DataPersistence target = targetDirectory(dataDir, force);
+            Dataset dataset = generator.generate(members, transactionsPerMember, historyDays);
+            dataset.writeTo(target);
+            System.out.printf("Generated %d members, %d transactions, %d loans%n",
+                dataset.getMembers().size(), dataset.getTransactions().size(), dataset.getLoans().size());
+        }
+        System.out.printf("Done in %.1f s (seed %d, anchor %s)%n", (System.nanoTime() - start) / 1e9, seed, anchor);
+    }
+}
@@ -0,0 +1,64 @@
+package tools;
+
+import service.ColumnarLedgerReader;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// Aggregates a columnar ledger file (ThriftAssociationApp --export <dir> --format columnar) without the
+// application or its data directory: totals per transaction type and per month.
+// Usage: java tools.LedgerAnalytics <file.cld> [--from YYYY-MM-DD] [--to YYYY-MM-DD] [--types TYPE,TYPE]
+public class LedgerAnalytics {
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) throw new IllegalArgumentException("Usage: LedgerAnalytics <file.cld> [options]");
+        LocalDate from = null;
+        LocalDate to = null;
+        Set<String> types = null;
+        for (int i = 1; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--from": from = LocalDate.parse(args[i + 1]); break;
+                case "--to": to = LocalDate.parse(args[i + 1]); break;
+                case "--types":
+                    types = new HashSet<>(Arrays.asList(args[i + 1].toUpperCase(Locale.ROOT).split("\\s*,\\s*")));
+                    break;
+                default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        long start = System.nanoTime();
+        try (ColumnarLedgerReader reader = ColumnarLedgerReader.open(Paths.get(args[0]))) {
+            ColumnarLedgerReader.Aggregate aggregate = reader.aggregate(from, to, types);
+            double millis = (System.nanoTime() - start) / 1e6;
+
+            System.out.printf("%,d rows in %d row groups; read %d, skipped %d by statistics, %.1f ms%n",
+                reader.getRowCount(), reader.getRowGroupCount(), aggregate.getRowGroupsRead(),
+                aggregate.getRowGroupsSkipped(), millis);
+            System.out.println();
+            printHeader("Type");
+            for (Map.Entry<String, ColumnarLedgerReader.Stats> entry : aggregate.getByType().entrySet()) {
+                printRow(entry.getKey(), entry.getValue());
+            }
+            printRow("TOTAL", aggregate.getTotal());
+            System.out.println();
+            printHeader("Month");
+            for (Map.Entry<YearMonth, ColumnarLedgerReader.Stats> entry : aggregate.getByMonth().entrySet()) {
+                printRow(entry.getKey().toString(), entry.getValue());
+            }
+        }
+    }
+
+    private static void printHeader(String key) {
+        System.out.printf("%-14s %10s %18s %14s %14s %14s%n", key, "Count", "Total", "Average", "Min", "Max");
+        System.out.println("-".repeat(89));
+    }
+
+    private static void printRow(String key, ColumnarLedgerReader.Stats stats) {
+        System.out.printf("%-14s %,10d %,18.2f %,14.2f %,14.2f %,14.2f%n", key, stats.getCount(), stats.getSum(),
+            stats.getAverage(), stats.getMin(), stats.getMax());
+    }
+}
@@ -0,0 +1,156 @@
+package tools;
+
+import persistence.DataPersistence;
+import service.AssociationService;
+import service.AssociationSnapshot;
+import service.MemberSortKey;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+// Drives AssociationService at a fixed target rate and reports latency percentiles per operation.
+// Latency is measured from each operation's scheduled start, so a stalled call also charges the
+// operations queued behind it (no coordinated omission).
+// Usage: java tools.LoadSimulator --data-dir DIR [--ops-per-sec R] [--duration-sec S] [--seed S]
+//                                 [--generate-members N [--force]] [--transactions-per-member M]
+// The simulated postings are saved into DIR; --generate-members first replaces DIR's data, which
+// needs an empty DIR unless --force is given.
+public class LoadSimulator {
+    private enum Operation { DEPOSIT, WITHDRAW, FIND_MEMBER, LIST_MEMBERS, MONTHLY_REPORT }
+
+    // Operation mix in percent, in Operation order
+    private static final int[] MIX = { 40, 15, 30, 10, 5 };
+
+    private final AssociationService service;
+    private final Random random;
+
+    public LoadSimulator(AssociationService service, long seed) {
+        this.service = service;
+        this.random = new Random(seed);
+    }
+
+    public void run(double opsPerSecond, int durationSeconds) {
+        List<AssociationSnapshot.MemberView> members = service.getAllMembers();
+        if (members.isEmpty()) {
+            throw new IllegalStateException("No members to drive load against; generate a dataset first");
+        }
+
+        int totalOps = (int) (opsPerSecond * durationSeconds);
+        long intervalNanos = (long) (1_000_000_000L / opsPerSecond);
+        long[][] latencies = new long[Operation.values().length][totalOps];
+        int[] counts = new int[Operation.values().length];
+
+        long start = System.nanoTime();
+        for (int i = 0; i < totalOps; i++) {
+            long scheduled = start + i * intervalNanos;
+            long now;
+            while ((now = System.nanoTime()) < scheduled) {
+                long remaining = scheduled - now;
+                if (remaining > 2_000_000L) {
+                    try {
+                        Thread.sleep(remaining / 1_000_000L - 1);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                } else {
+                    Thread.onSpinWait();
+                }
+            }
+
+            Operation op = pickOperation();
+            String memberId = members.get(random.nextInt(members.size())).getMemberId();
+            execute(op, memberId);
+            latencies[op.ordinal()][counts[op.ordinal()]++] = System.nanoTime() - scheduled;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf("%nTarget %.1f ops/s, achieved %.1f ops/s over %d operations%n",
+            opsPerSecond, totalOps / (elapsed / 1e9), totalOps);
+        System.out.printf("%-16s %8s %10s %10s %10s %10s%n", "Operation", "Count", "p50 (ms)", "p90 (ms)", "p99 (ms)", "max (ms)");
+        for (Operation op : Operation.values()) {
+            int n = counts[op.ordinal()];
+            if (n == 0) continue;
+            long[] sorted = Arrays.copyOf(latencies[op.ordinal()], n);
+            Arrays.sort(sorted);
+            System.out.printf("%-16s %8d %10.3f %10.3f %10.3f %10.3f%n", op, n,
+                percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99), sorted[n - 1] / 1e6);
+        }
+    }
+
+    private Operation pickOperation() {
+        int roll = random.nextInt(100);
+        for (Operation op : Operation.values()) {
+            roll -= MIX[op.ordinal()];
+            if (roll < 0) return op;
+        }
+        return Operation.FIND_MEMBER;
+    }
+
+    private void execute(Operation op, String memberId) {
+        switch (op) {
+            case DEPOSIT:
+                service.deposit(memberId, 100 + random.nextInt(5000), "Load test contribution");
+                break;
+            case WITHDRAW:
+                service.withdraw(memberId, 50 + random.nextInt(500), "Load test withdrawal");
+                break;
+            case FIND_MEMBER:
+                service.findMember(memberId);
+                break;
+            case LIST_MEMBERS:
+                service.listMembers(MemberSortKey.BALANCE, null, null, 50);
+                break;
+            case MONTHLY_REPORT:
+                service.generateMonthlyReport(YearMonth.now());
+                break;
+        }
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    public static void main(String[] args) throws Exception {
+        double opsPerSecond = 50;
+        int durationSeconds = 30;
+        long seed = 42;
+        int generateMembers = 0;
+        int transactionsPerMember = 50;
+        String dataDir = null;
+        boolean force = false;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--force")) {
+                force = true;
+                continue;
+            }
+            if (i + 1 >= args.length) throw new IllegalArgumentException("Missing value for " + args[i]);
+            switch (args[i]) {
+                case "--ops-per-sec": opsPerSecond = Double.parseDouble(args[++i]); break;
+                case "--duration-sec": durationSeconds = Integer.parseInt(args[++i]); break;
+                case "--seed": seed = Long.parseLong(args[++i]); break;
+                case "--generate-members": generateMembers = Integer.parseInt(args[++i]); break;
+                case "--transactions-per-member": transactionsPerMember = Integer.parseInt(args[++i]); break;
+                case "--data-dir": dataDir = args[++i]; break;
+                default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        if (dataDir == null) throw new IllegalArgumentException("--data-dir is required");
+
+        if (generateMembers > 0) {
+            DataPersistence target = DataGenerator.targetDirectory(dataDir, force);
+            DataGenerator.Dataset dataset = new DataGenerator(seed).generate(generateMembers, transactionsPerMember, 3 * 365);
+            dataset.writeTo(target);
+            System.out.printf("Generated %d members and %d transactions%n",
+                dataset.getMembers().size(), dataset.getTransactions().size());
+        }
+
+        AssociationService service = new AssociationService(new DataPersistence(dataDir));
+        if (!service.authenticateUser("admin", "admin123")) {
+            throw new IllegalStateException("Load simulation needs the default admin account");
+        }
+        new LoadSimulator(service, seed).run(opsPerSecond, durationSeconds);
+    }
+}
@@ -1,18 +1,37 @@
 package ui;
 
+import metrics.OperationMetrics;
 import service.AssociationService;
+import service.AssociationSnapshot;
+import service.CsvImporter;
+import service.MemberSortKey;
+import service.MemberStatement;
+import service.ReconciliationEngine;
+import service.StatementExporter;
+import service.SummaryReport;
+import service.Page;
+import validation.ValidationResult;
 import model.*;
 import javax.swing.*;
+import java.io.BufferedWriter;
 import java.io.Console;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.format.DateTimeParseException;
 import java.util.List;
-import java.util.Map;
 import java.util.Scanner;
 
 // Enhanced Console UI with authentication
 public class ConsoleUI {
+    private static final int PAGE_SIZE = 20;
+    private static final int MEMBER_SUGGESTIONS = 10;
+
     private AssociationService associationService;
     private Scanner scanner;
 
@@ -51,7 +70,11 @@ public class ConsoleUI {
                 case 11: userManagement(); break;
                 case 12: createBackup(); break;
                 case 13: launchGUI(); break;
-                case 14: 
+                case 14: searchTransactions(); break;
+                case 15: bulkImport(); break;
+                case 16: reconcileBalances(); break;
+                case 17: viewOperationMetrics(); break;
+                case 18: 
                     associationService.logout();
                     System.out.println("Thank you for using the Association Management System!");
                     return;
@@ -114,7 +137,11 @@ public class ConsoleUI {
         System.out.println("11. User Management");
         System.out.println("12. Create Backup");
         System.out.println("13. Launch GUI Interface");
-        System.out.println("14. Exit");
+        System.out.println("14. Search Transactions");
+        System.out.println("15. Bulk Import (CSV)");
+        System.out.println("16. Reconcile Balances");
+        System.out.println("17. Operation Metrics");
+        System.out.println("18. Exit");
         System.out.println("=".repeat(50));
     }
 
@@ -138,10 +165,11 @@ public class ConsoleUI {
             }
         }
 
-        if (associationService.addMember(firstName, lastName, email, phoneNumber, address, dateOfBirth, occupation)) {
+        ValidationResult result = associationService.addMember(firstName, lastName, email, phoneNumber, address, dateOfBirth, occupation);
+        if (result.isValid()) {
             System.out.println("Member added successfully!");
         } else {
-            System.err.println("Failed to add member. Please check permissions or try again.");
+            System.err.println("Failed to add member: " + result.getMessage());
         }
     }
 
@@ -180,30 +208,51 @@ public class ConsoleUI {
     private void applyForLoan() {
         System.out.println("\n--- Apply for Loan ---");
         
-        String memberId = getStringInput("Enter member ID: ");
+        String memberId = getMemberIdInput("Enter member ID or name: ");
+        if (memberId == null) return;
         double amount = getDoubleInput("Enter loan amount: ₦");
         double interestRate = getDoubleInput("Enter interest rate (%): ");
         int termInMonths = getIntInput("Enter loan term (months): ");
         String purpose = getStringInput("Enter loan purpose: ");
 
-        if (associationService.applyForLoan(memberId, amount, interestRate, termInMonths, purpose)) {
+        ValidationResult result = associationService.applyForLoan(memberId, amount, interestRate, termInMonths, purpose);
+        if (result.isValid()) {
             System.out.println("Loan application submitted successfully!");
         } else {
-            System.err.println("Failed to submit loan application.");
+            System.err.println("Failed to submit loan application: " + result.getMessage());
         }
     }
 
     private void viewAllLoans() {
         System.out.println("\n--- All Loans ---");
-        List<Loan> loans = associationService.getAllLoans();
-        
-        if (loans.isEmpty()) {
+        String statusInput = getStringInput("Filter by status (e.g. PENDING, or press Enter for all): ");
+        Loan.LoanStatus statusFilter = null;
+        if (!statusInput.isEmpty()) {
+            try {
+                statusFilter = Loan.LoanStatus.valueOf(statusInput.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                System.err.println("Unknown loan status: " + statusInput);
+                return;
+            }
+        }
+
+        Page<AssociationSnapshot.LoanView> page = associationService.listLoans(statusFilter, null, null, PAGE_SIZE);
+        if (page.getItems().isEmpty()) {
             System.out.println("No loans found.");
             return;
         }
 
-        for (Loan loan : loans) {
-            System.out.println(loan);
+        while (true) {
+            for (AssociationSnapshot.LoanView loan : page.getItems()) {
+                System.out.printf("Loan ID: %s | Member: %s | Amount: ₦%.2f | Status: %s | Balance: ₦%.2f%n",
+                    loan.getLoanId(), loan.getMemberId(), loan.getPrincipalAmount(),
+                    loan.getStatus(), loan.getOutstandingBalance());
+            }
+
+            if (!page.hasMore() || !getStringInput("Press Enter for the next page or 'q' to stop: ").isEmpty()) {
+                return;
+            }
+            page = associationService.listLoans(statusFilter, null, page.getNextCursor(), PAGE_SIZE);
         }
     }
 
@@ -211,10 +260,11 @@ public class ConsoleUI {
         System.out.println("\n--- Approve Loan ---");
         String loanId = getStringInput("Enter loan ID to approve: ");
         
-        if (associationService.approveLoan(loanId)) {
+        ValidationResult result = associationService.approveLoan(loanId);
+        if (result.isValid()) {
             System.out.println("Loan approved successfully!");
         } else {
-            System.err.println("Failed to approve loan.");
+            System.err.println("Failed to approve loan: " + result.getMessage());
         }
     }
 
@@ -222,24 +272,26 @@ public class ConsoleUI {
         System.out.println("\n--- Disburse Loan ---");
         String loanId = getStringInput("Enter loan ID to disburse: ");
         
-        if (associationService.disburseLoan(loanId)) {
+        ValidationResult result = associationService.disburseLoan(loanId);
+        if (result.isValid()) {
             System.out.println("Loan disbursed successfully!");
         } else {
-            System.err.println("Failed to disburse loan.");
+            System.err.println("Failed to disburse loan: " + result.getMessage());
         }
     }
 
     private void viewMemberLoans() {
         System.out.println("\n--- Member Loans ---");
-        String memberId = getStringInput("Enter member ID: ");
+        String memberId = getMemberIdInput("Enter member ID or name: ");
+        if (memberId == null) return;
         
-        List<Loan> memberLoans = associationService.getMemberLoans(memberId);
+        List<AssociationSnapshot.LoanView> memberLoans = associationService.getMemberLoans(memberId);
         if (memberLoans.isEmpty()) {
             System.out.println("No loans found for this member.");
             return;
         }
 
-        for (Loan loan : memberLoans) {
+        for (AssociationSnapshot.LoanView loan : memberLoans) {
             System.out.println(loan);
         }
     }
@@ -328,13 +380,98 @@ public class ConsoleUI {
     private void createBackup() {
         System.out.println("\n--- Create Backup ---");
         try {
-            associationService.saveData();
+            associationService.createBackup();
             System.out.println("Backup created successfully!");
         } catch (Exception e) {
             System.err.println("Failed to create backup: " + e.getMessage());
         }
     }
 
+    private void searchTransactions() {
+        System.out.println("\n--- Search Transactions ---");
+        String query = getStringInput("Words to find (use OR between alternatives): ");
+        if (query.isEmpty()) return;
+
+        String memberId = null;
+        String memberInput = getStringInput("Member ID or name (blank for all members): ");
+        if (!memberInput.isEmpty()) {
+            memberId = resolveMemberId(memberInput);
+            if (memberId == null) return;
+        }
+        LocalDate from = getOptionalDateInput("From date (YYYY-MM-DD, blank for no limit): ");
+        LocalDate to = getOptionalDateInput("To date (YYYY-MM-DD, blank for no limit): ");
+
+        List<Transaction> matches = associationService.searchTransactions(query, memberId, from, to, PAGE_SIZE);
+        if (matches.isEmpty()) {
+            System.out.println("No matching transactions found or insufficient permissions.");
+            return;
+        }
+        System.out.printf("%-12s %-10s %-12s %-12s %12s  %s%n", "Date", "Member", "Transaction", "Type", "Amount",
+            "Description");
+        for (Transaction transaction : matches) {
+            System.out.printf("%-12s %-10s %-12s %-12s %12.2f  %s%n", transaction.getDate(),
+                transaction.getMemberId(), transaction.getTransactionId(), transaction.getTransactionType(),
+                transaction.getAmount(), transaction.getDescription());
+        }
+        System.out.println("Showing the " + matches.size() + " most recent matches.");
+    }
+
+    private void bulkImport() {
+        System.out.println("\n--- Bulk Import (CSV) ---");
+        System.out.println("1. Members (firstName,lastName,email,phone[,memberId,address,dateOfBirth,occupation,joinDate])");
+        System.out.println("2. Contributions (memberId,amount[,date,description])");
+        String choice = getStringInput("Select file type: ");
+        CsvImporter.Kind kind;
+        if (choice.equals("1")) {
+            kind = CsvImporter.Kind.MEMBERS;
+        } else if (choice.equals("2")) {
+            kind = CsvImporter.Kind.CONTRIBUTIONS;
+        } else {
+            System.err.println("Invalid choice.");
+            return;
+        }
+        String file = getStringInput("CSV file path: ");
+        if (file.isEmpty()) return;
+        Path csv = Paths.get(file);
+        if (!Files.isRegularFile(csv)) {
+            System.err.println("File not found: " + csv);
+            return;
+        }
+        Path rejects = Paths.get(file + ".rejects.csv");
+
+        try {
+            CsvImporter.Result result;
+            synchronized (associationService) {
+                result = new CsvImporter(associationService).importFile(kind, csv, rejects);
+            }
+            if (result == null) {
+                System.err.println("Insufficient permissions to import " + kind.name().toLowerCase() + ".");
+                return;
+            }
+            System.out.println(result);
+        } catch (IOException e) {
+            System.err.println("Import failed: " + e.getMessage());
+        }
+    }
+
+    private void reconcileBalances() {
+        System.out.println("\n--- Balance Reconciliation ---");
+        ReconciliationEngine.Report report;
+        synchronized (associationService) {
+            report = associationService.reconcile();
+        }
+        if (report == null) {
+            System.err.println("Insufficient permissions to reconcile balances.");
+            return;
+        }
+        System.out.print(report);
+    }
+
+    private void viewOperationMetrics() {
+        System.out.println("\n--- Operation Metrics ---");
+        System.out.print(OperationMetrics.formatTable());
+    }
+
     private void launchGUI() {
         System.out.println("\n--- Launching GUI Interface ---");
         SwingUtilities.invokeLater(() -> {
@@ -346,46 +483,71 @@ public class ConsoleUI {
     // Enhanced methods with better error handling
     private void viewAllMembers() {
         System.out.println("\n--- All Members ---");
-        List<Member> members = associationService.getAllMembers();
-        
-        if (members.isEmpty()) {
+        MemberSortKey sortKey = getMemberSortKey();
+
+        Page<AssociationSnapshot.MemberView> page = associationService.listMembers(sortKey, null, null, PAGE_SIZE);
+        if (page.getItems().isEmpty()) {
             System.out.println("No members found or insufficient permissions.");
             return;
         }
 
-        System.out.printf("%-8s %-20s %-25s %-15s %-12s %-10s%n", 
-                         "ID", "Name", "Email", "Phone", "Join Date", "Balance");
-        System.out.println("-".repeat(100));
-        
-        for (Member member : members) {
-            System.out.printf("%-8s %-20s %-25s %-15s %-12s ₦%-9.2f%n",
-                member.getMemberId(),
-                member.getFullName(),
-                member.getEmail(),
-                member.getPhoneNumber(),
-                member.getJoinDate(),
-                member.getAccount().getBalance());
+        int shown = 0;
+        while (true) {
+            System.out.printf("%-8s %-20s %-25s %-15s %-12s %-10s%n", 
+                             "ID", "Name", "Email", "Phone", "Join Date", "Balance");
+            System.out.println("-".repeat(100));
+
+            for (AssociationSnapshot.MemberView member : page.getItems()) {
+                System.out.printf("%-8s %-20s %-25s %-15s %-12s ₦%-9.2f%n",
+                    member.getMemberId(),
+                    member.getFullName(),
+                    member.getEmail(),
+                    member.getPhoneNumber(),
+                    member.getJoinDate(),
+                    member.getBalance());
+            }
+            shown += page.getItems().size();
+            System.out.println("Showing " + shown + " of " + page.getTotalMatches() + " members");
+
+            if (!page.hasMore() || !getStringInput("Press Enter for the next page or 'q' to stop: ").isEmpty()) {
+                return;
+            }
+            page = associationService.listMembers(sortKey, null, page.getNextCursor(), PAGE_SIZE);
+        }
+    }
+
+    private MemberSortKey getMemberSortKey() {
+        System.out.println("Sort by: 1. ID  2. Name  3. Balance  4. Join Date");
+        String choice = getStringInput("Enter sort choice (default 1): ");
+        switch (choice) {
+            case "2": return MemberSortKey.NAME;
+            case "3": return MemberSortKey.BALANCE;
+            case "4": return MemberSortKey.JOIN_DATE;
+            default: return MemberSortKey.ID;
         }
     }
 
     private void updateMemberInfo() {
         System.out.println("\n--- Update Member Information ---");
         
-        String memberId = getStringInput("Enter member ID: ");
+        String memberId = getMemberIdInput("Enter member ID or name: ");
+        if (memberId == null) return;
         String email = getStringInput("Enter new email (or press Enter to skip): ");
         String phoneNumber = getStringInput("Enter new phone number (or press Enter to skip): ");
 
-        if (associationService.updateMemberInfo(memberId, email, phoneNumber)) {
+        ValidationResult result = associationService.updateMemberInfo(memberId, email, phoneNumber);
+        if (result.isValid()) {
             System.out.println("Member information updated successfully!");
         } else {
-            System.err.println("Failed to update member information. Please check the member ID and permissions.");
+            System.err.println("Failed to update member information: " + result.getMessage());
         }
     }
 
     private void makeContribution() {
         System.out.println("\n--- Make Contribution ---");
         
-        String memberId = getStringInput("Enter member ID: ");
+        String memberId = getMemberIdInput("Enter member ID or name: ");
+        if (memberId == null) return;
         double amount = getDoubleInput("Enter contribution amount: ₦");
         String description = getStringInput("Enter description (optional): ");
 
@@ -393,13 +555,19 @@ public class ConsoleUI {
             description = "Regular contribution";
         }
 
-        associationService.deposit(memberId, amount, description);
+        ValidationResult result = associationService.deposit(memberId, amount, description);
+        if (result.isValid()) {
+            printNewBalance("Contribution", memberId);
+        } else {
+            System.err.println("Contribution failed: " + result.getMessage());
+        }
     }
 
     private void makeWithdrawal() {
         System.out.println("\n--- Make Withdrawal ---");
         
-        String memberId = getStringInput("Enter member ID: ");
+        String memberId = getMemberIdInput("Enter member ID or name: ");
+        if (memberId == null) return;
         double amount = getDoubleInput("Enter withdrawal amount: ₦");
         String description = getStringInput("Enter description (optional): ");
 
@@ -407,129 +575,94 @@ public class ConsoleUI {
             description = "Regular withdrawal";
         }
 
-        associationService.withdraw(memberId, amount, description);
+        ValidationResult result = associationService.withdraw(memberId, amount, description);
+        if (result.isValid()) {
+            printNewBalance("Withdrawal", memberId);
+        } else {
+            System.err.println("Withdrawal failed: " + result.getMessage());
+        }
+    }
+
+    private void printNewBalance(String operation, String memberId) {
+        associationService.findMember(memberId).ifPresent(member ->
+            System.out.println(operation + " successful! New balance: ₦" + 
+                String.format("%.2f", member.getAccount().getBalance())));
     }
 
     private void viewMemberStatement() {
         System.out.println("\n--- Member Statement ---");
         
-        String memberId = getStringInput("Enter member ID: ");
-        generateMemberStatement(memberId);
+        String memberId = getStringInput("Enter member ID or name (or ALL for a month-end bulk export): ");
+        if (memberId.equalsIgnoreCase("ALL")) {
+            exportAllStatements();
+        } else {
+            memberId = resolveMemberId(memberId);
+            if (memberId != null) generateMemberStatement(memberId);
+        }
+    }
+
+    private void exportAllStatements() {
+        YearMonth month = YearMonth.now().minusMonths(1);
+        String monthInput = getStringInput("Statement month (YYYY-MM, blank for " + month + "): ");
+        if (!monthInput.isEmpty()) {
+            try {
+                month = YearMonth.parse(monthInput);
+            } catch (DateTimeParseException e) {
+                System.err.println("Invalid month format. Please use YYYY-MM.");
+                return;
+            }
+        }
+
+        List<MemberStatement> statements = associationService.openAllStatements(month.atDay(1), month.atEndOfMonth());
+        if (statements == null) {
+            System.err.println("Insufficient permissions to export statements.");
+            return;
+        }
+
+        StatementExporter.Format format = getIntInput("Format (1 = text, 2 = CSV): ") == 2
+            ? StatementExporter.Format.CSV : StatementExporter.Format.TEXT;
+        StatementExporter.Layout layout = getIntInput("Output (1 = one file per member, 2 = single archive): ") == 2
+            ? StatementExporter.Layout.SINGLE_ARCHIVE : StatementExporter.Layout.FILE_PER_MEMBER;
+        String defaultDir = "exports/statements-" + month;
+        String dir = getStringInput("Output directory (blank for " + defaultDir + "): ");
+
+        try {
+            StatementExporter.Result result = new StatementExporter().export(statements,
+                java.nio.file.Paths.get(dir.isEmpty() ? defaultDir : dir), "statements-" + month, format, layout);
+            System.out.println("Exported " + result);
+        } catch (IOException e) {
+            System.err.println("Statement export failed: " + e.getMessage());
+        }
     }
 
     private void generateMemberStatement(String memberId) {
-        java.util.Optional<Member> memberOpt = associationService.findMember(memberId);
-        if (!memberOpt.isPresent()) {
+        LocalDate from = getOptionalDateInput("From date (YYYY-MM-DD, blank for first transaction): ");
+        LocalDate to = getOptionalDateInput("To date (YYYY-MM-DD, blank for today): ");
+        java.util.Optional<MemberStatement> statement = associationService.openStatement(memberId, from, to);
+        if (!statement.isPresent()) {
             System.err.println("Member not found: " + memberId);
             return;
         }
 
-        Member member = memberOpt.get();
-        Account account = member.getAccount();
-
-        System.out.println("\n" + "=".repeat(80));
-        System.out.println("MEMBER STATEMENT");
-        System.out.println("=".repeat(80));
-        System.out.println("Member: " + member.getFullName());
-        System.out.println("Member ID: " + member.getMemberId());
-        System.out.println("Email: " + member.getEmail());
-        System.out.println("Phone: " + member.getPhoneNumber());
-        System.out.println("Address: " + (member.getAddress() != null ? member.getAddress() : "Not provided"));
-        System.out.println("Occupation: " + (member.getOccupation() != null ? member.getOccupation() : "Not provided"));
-        System.out.println("Join Date: " + member.getJoinDate().format(java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd")));
-        System.out.println("Current Balance: ₦" + String.format("%.2f", account.getBalance()));
-        System.out.println("Total Contributions: ₦" + String.format("%.2f", account.getTotalContributions()));
-        System.out.println("Total Withdrawals: ₦" + String.format("%.2f", account.getTotalWithdrawals()));
-        System.out.println("Total Interest Earned: ₦" + String.format("%.2f", account.getTotalInterest()));
-        System.out.println("Interest Rate: " + String.format("%.2f", account.getInterestRate()) + "% APR");
-        System.out.println("\nTransaction History:");
-        System.out.println("-".repeat(80));
-        
-        if (account.getTransactionHistory().isEmpty()) {
-            System.out.println("No transactions found.");
-        } else {
-            System.out.printf("%-12s %-12s %-10s %-12s %-30s%n", 
-                             "Date", "Type", "Amount", "Balance", "Description");
-            System.out.println("-".repeat(80));
-            
-            double runningBalance = 0;
-            for (Transaction transaction : account.getTransactionHistory()) {
-                if (transaction instanceof Contribution || transaction instanceof InterestTransaction) {
-                    runningBalance += transaction.getAmount();
-                } else if (transaction instanceof Withdrawal) {
-                    runningBalance -= transaction.getAmount();
-                }
-                
-                System.out.printf("%-12s %-12s ₦%-9.2f ₦%-11.2f %-30s%n",
-                    transaction.getDate(),
-                    transaction.getTransactionType(),
-                    transaction.getAmount(),
-                    runningBalance,
-                    transaction.getDescription());
-            }
+        // Buffered so long histories go out in large writes; System.out itself stays open
+        Writer out = new BufferedWriter(new OutputStreamWriter(System.out), 1 << 16);
+        try {
+            out.write('\n');
+            statement.get().writeTo(out);
+            out.flush();
+        } catch (IOException e) {
+            System.err.println("Failed to print statement: " + e.getMessage());
         }
-        System.out.println("=".repeat(80));
     }
 
     private void viewSummaryReport() {
         System.out.println("\n--- Association Summary Report ---");
-        List<Member> members = associationService.getAllMembers();
-        List<Loan> loans = associationService.getAllLoans();
-        
-        if (members.isEmpty()) {
-            System.out.println("No data available or insufficient permissions.");
+        SummaryReport report = associationService.getSummaryReport();
+        if (report == null) {
+            System.out.println("Insufficient permissions to view the summary report.");
             return;
         }
-
-        System.out.println("\n" + "=".repeat(60));
-        System.out.println("ASSOCIATION SUMMARY REPORT");
-        System.out.println("=".repeat(60));
-        System.out.println("Total Members: " + members.size());
-        
-        long activeMembers = members.stream().filter(Member::isActive).count();
-        System.out.println("Active Members: " + activeMembers);
-        
-        double totalBalance = members.stream()
-            .mapToDouble(member -> member.getAccount().getBalance())
-            .sum();
-        
-        double totalContributions = members.stream()
-            .mapToDouble(member -> member.getAccount().getTotalContributions())
-            .sum();
-        
-        double totalWithdrawals = members.stream()
-            .mapToDouble(member -> member.getAccount().getTotalWithdrawals())
-            .sum();
-
-        double totalInterest = members.stream()
-            .mapToDouble(member -> member.getAccount().getTotalInterest())
-            .sum();
-
-        System.out.println("Total Association Balance: ₦" + String.format("%.2f", totalBalance));
-        System.out.println("Total Contributions: ₦" + String.format("%.2f", totalContributions));
-        System.out.println("Total Withdrawals: ₦" + String.format("%.2f", totalWithdrawals));
-        System.out.println("Total Interest Paid: ₦" + String.format("%.2f", totalInterest));
-        
-        // Loan statistics
-        System.out.println("\nLoan Summary:");
-        System.out.println("Total Loans: " + loans.size());
-        
-        Map<Loan.LoanStatus, Long> loansByStatus = loans.stream()
-            .collect(java.util.stream.Collectors.groupingBy(Loan::getStatus, 
-                     java.util.stream.Collectors.counting()));
-        
-        for (Map.Entry<Loan.LoanStatus, Long> entry : loansByStatus.entrySet()) {
-            System.out.println(entry.getKey() + ": " + entry.getValue());
-        }
-        
-        double totalLoanAmount = loans.stream()
-            .filter(loan -> loan.getStatus() == Loan.LoanStatus.DISBURSED || 
-                          loan.getStatus() == Loan.LoanStatus.ACTIVE)
-            .mapToDouble(Loan::getOutstandingBalance)
-            .sum();
-        
-        System.out.println("Total Outstanding Loans: ₦" + String.format("%.2f", totalLoanAmount));
-        System.out.println("=".repeat(60));
+        System.out.println("\n" + report);
     }
 
     private String getStringInput(String prompt) {
@@ -537,6 +670,48 @@ public class ConsoleUI {
         return scanner.nextLine().trim();
     }
 
+    private String getMemberIdInput(String prompt) {
+        return resolveMemberId(getStringInput(prompt));
+    }
+
+    // Exact ids pass straight through; anything else is a type-ahead query whose matches are offered
+    // for picking. Returns null when nothing matches or the user cancels.
+    private String resolveMemberId(String input) {
+        if (input.isEmpty()) return null;
+        if (associationService.findMember(input).isPresent()) return input;
+
+        List<AssociationSnapshot.MemberView> matches = associationService.searchMembers(input, MEMBER_SUGGESTIONS);
+        if (matches.isEmpty()) {
+            System.err.println("No member matches '" + input + "'.");
+            return null;
+        }
+        for (int i = 0; i < matches.size(); i++) {
+            AssociationSnapshot.MemberView match = matches.get(i);
+            System.out.printf("%2d. %s - %s (%s, %s)%n", i + 1, match.getMemberId(), match.getFullName(),
+                match.getPhoneNumber(), match.getEmail());
+        }
+        String choice = getStringInput("Select member (1-" + matches.size() + ", Enter to cancel): ");
+        try {
+            int index = Integer.parseInt(choice) - 1;
+            if (index >= 0 && index < matches.size()) return matches.get(index).getMemberId();
+        } catch (NumberFormatException e) {
+            // fall through to cancel
+        }
+        return null;
+    }
+
+    private LocalDate getOptionalDateInput(String prompt) {
+        while (true) {
+            String input = getStringInput(prompt);
+            if (input.isEmpty()) return null;
+            try {
+                return LocalDate.parse(input);
+            } catch (DateTimeParseException e) {
+                System.err.println("Invalid date format. Please use YYYY-MM-DD.");
+            }
+        }
+    }
+
     private int getIntInput(String prompt) {
         while (true) {
             try {
@@ -0,0 +1,179 @@
+package ui;
+
+import model.Loan;
+import model.Transaction;
+import service.AssociationEvent;
+import service.AssociationListener;
+import service.AssociationService;
+import service.SummaryReport;
+import java.awt.BorderLayout;
+import java.awt.Font;
+import java.awt.GridLayout;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.swing.BorderFactory;
+import javax.swing.DefaultListModel;
+import javax.swing.JLabel;
+import javax.swing.JList;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.Timer;
+
+// Live view fed by the service's change events. Events only mark the panel dirty and queue up on the
+// committing thread; a Swing timer repaints at most MAX_REFRESHES_PER_SECOND times, so a burst of
+// postings (an interest run, a bulk import) costs one refresh per tick rather than one per event.
+class DashboardPanel extends JPanel implements AssociationListener {
+    static final int MAX_REFRESHES_PER_SECOND = 4;
+    private static final int RECENT_ACTIVITY_LIMIT = 50;
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss");
+
+    private final AssociationService associationService;
+    private final AtomicBoolean dirty = new AtomicBoolean(true);
+    // Newest last; guarded by itself, trimmed to the last RECENT_ACTIVITY_LIMIT entries
+    private final ArrayDeque<ReceivedEvent> incoming = new ArrayDeque<>();
+    private final Timer refreshTimer = new Timer(1000 / MAX_REFRESHES_PER_SECOND, e -> refresh());
+
+    private final JLabel membersLabel = new JLabel();
+    private final JLabel transactionsLabel = new JLabel();
+    private final JLabel balanceLabel = new JLabel();
+    private final JLabel inflowLabel = new JLabel();
+    private final JLabel outflowLabel = new JLabel();
+    private final JLabel loansLabel = new JLabel();
+    private final JLabel outstandingLabel = new JLabel();
+    private final JLabel versionLabel = new JLabel();
+    private final DefaultListModel<String> activityModel = new DefaultListModel<>();
+
+    DashboardPanel(AssociationService associationService) {
+        super(new BorderLayout(10, 10));
+        this.associationService = associationService;
+        setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+
+        JPanel statsPanel = new JPanel(new GridLayout(0, 4, 10, 5));
+        statsPanel.setBorder(BorderFactory.createTitledBorder("Live Totals"));
+        addStat(statsPanel, "Members", membersLabel);
+        addStat(statsPanel, "Transactions", transactionsLabel);
+        addStat(statsPanel, "Association Balance", balanceLabel);
+        addStat(statsPanel, "Loans", loansLabel);
+        addStat(statsPanel, "Today's Inflows", inflowLabel);
+        addStat(statsPanel, "Today's Outflows", outflowLabel);
+        addStat(statsPanel, "Outstanding Loans", outstandingLabel);
+        addStat(statsPanel, "Data Version", versionLabel);
+        add(statsPanel, BorderLayout.NORTH);
+
+        JList<String> activityList = new JList<>(activityModel);
+        activityList.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        JScrollPane activityScroll = new JScrollPane(activityList);
+        activityScroll.setBorder(BorderFactory.createTitledBorder("Recent Activity"));
+        add(activityScroll, BorderLayout.CENTER);
+    }
+
+    private static void addStat(JPanel panel, String title, JLabel value) {
+        value.setFont(value.getFont().deriveFont(Font.BOLD, 16f));
+        JPanel cell = new JPanel(new BorderLayout());
+        cell.add(new JLabel(title), BorderLayout.NORTH);
+        cell.add(value, BorderLayout.CENTER);
+        panel.add(cell);
+    }
+
+    // Subscribed only while the panel is part of a displayable window
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        associationService.addListener(this);
+        dirty.set(true);
+        refreshTimer.start();
+    }
+
+    @Override
+    public void removeNotify() {
+        refreshTimer.stop();
+        associationService.removeListener(this);
+        super.removeNotify();
+    }
+
+    @Override
+    public void onEvent(AssociationEvent event) {
+        ReceivedEvent received = new ReceivedEvent(event, LocalTime.now());
+        synchronized (incoming) {
+            incoming.addLast(received);
+            if (incoming.size() > RECENT_ACTIVITY_LIMIT) incoming.removeFirst();
+        }
+        dirty.set(true);
+    }
+
+    // Runs on the EDT once per timer tick
+    private void refresh() {
+        if (!dirty.getAndSet(false)) return;
+
+        List<ReceivedEvent> batch;
+        synchronized (incoming) {
+            batch = new ArrayList<>(incoming);
+            incoming.clear();
+        }
+        for (ReceivedEvent received : batch) {
+            activityModel.add(0, describe(received));
+        }
+        while (activityModel.size() > RECENT_ACTIVITY_LIMIT) {
+            activityModel.remove(activityModel.size() - 1);
+        }
+
+        SummaryReport report = associationService.getSummaryReport();
+        if (report == null) {
+            versionLabel.setText("No report permission");
+            return;
+        }
+        membersLabel.setText(report.getTotalMembers() + " (" + report.getActiveMembers() + " active)");
+        transactionsLabel.setText(String.format("%,d", report.getTransactionCount()));
+        balanceLabel.setText(formatMoney(report.getTotalBalance()));
+        inflowLabel.setText(formatMoney(report.getInflowToday()));
+        outflowLabel.setText(formatMoney(report.getOutflowToday()));
+        outstandingLabel.setText(formatMoney(report.getOutstandingLoanBalance()));
+        versionLabel.setText(String.valueOf(report.getVersion()));
+
+        StringBuilder loans = new StringBuilder().append(report.getTotalLoans());
+        Integer pending = report.getLoansByStatus().get(Loan.LoanStatus.PENDING);
+        if (pending != null) loans.append(" (").append(pending).append(" pending)");
+        loansLabel.setText(loans.toString());
+    }
+
+    private static String describe(ReceivedEvent received) {
+        String time = TIME_FORMAT.format(received.time);
+        AssociationEvent event = received.event;
+        if (event instanceof AssociationEvent.TransactionPosted) {
+            AssociationEvent.TransactionPosted posted = (AssociationEvent.TransactionPosted) event;
+            Transaction transaction = posted.getTransaction();
+            return String.format("%s  %-12s %-8s %-12s %14s  balance %s", time, transaction.getTransactionType(),
+                transaction.getMemberId(), transaction.getTransactionId(), formatMoney(transaction.getAmount()),
+                formatMoney(posted.getBalanceAfter()));
+        } else if (event instanceof AssociationEvent.MemberAdded) {
+            AssociationEvent.MemberAdded added = (AssociationEvent.MemberAdded) event;
+            return String.format("%s  NEW MEMBER   %-8s %s", time, added.getMember().getMemberId(),
+                added.getMember().getFullName());
+        } else if (event instanceof AssociationEvent.LoanStatusChanged) {
+            AssociationEvent.LoanStatusChanged change = (AssociationEvent.LoanStatusChanged) event;
+            String transition = change.getPreviousStatus() == null ? "APPLIED"
+                : change.getPreviousStatus() + " -> " + change.getLoan().getStatus();
+            return String.format("%s  LOAN         %-8s %-12s %14s  %s", time, change.getLoan().getMemberId(),
+                change.getLoan().getLoanId(), formatMoney(change.getLoan().getPrincipalAmount()), transition);
+        }
+        return time + "  " + event;
+    }
+
+    private static String formatMoney(double amount) {
+        return String.format("₦%,.2f", amount);
+    }
+
+    private static final class ReceivedEvent {
+        final AssociationEvent event;
+        final LocalTime time;
+
+        ReceivedEvent(AssociationEvent event, LocalTime time) {
+            this.event = event;
+            this.time = time;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package ui;
+
+import service.AssociationSnapshot;
+import service.AssociationSnapshot.MemberView;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import javax.swing.table.AbstractTableModel;
+
+// Table model over the immutable member views of a published snapshot. Cells hold raw values;
+// formatting happens in the renderers, so only rows scrolled into view are ever formatted.
+class MemberTableModel extends AbstractTableModel {
+    static final int COL_ID = 0;
+    static final int COL_NAME = 1;
+    static final int COL_EMAIL = 2;
+    static final int COL_PHONE = 3;
+    static final int COL_JOIN_DATE = 4;
+    static final int COL_ACTIVE = 5;
+    static final int COL_BALANCE = 6;
+
+    private static final String[] COLUMN_NAMES = { "Member ID", "Name", "Email", "Phone", "Join Date", "Active", "Balance" };
+    private static final Class<?>[] COLUMN_CLASSES = { String.class, String.class, String.class, String.class,
+        LocalDate.class, Boolean.class, Double.class };
+
+    private List<MemberView> rows = Collections.emptyList();
+    private long snapshotVersion = -1;
+
+    // Swap in a newer snapshot, firing events only for the rows that actually differ
+    void update(AssociationSnapshot snapshot) {
+        if (snapshot.getVersion() == snapshotVersion) return;
+        List<MemberView> previous = rows;
+        List<MemberView> next = snapshot.getMemberViews();
+        rows = next;
+        snapshotVersion = snapshot.getVersion();
+
+        // Members are only ever appended, so rows line up by position unless the list shrank
+        if (next.size() < previous.size()) {
+            fireTableDataChanged();
+            return;
+        }
+
+        int runStart = -1;
+        for (int i = 0; i < previous.size(); i++) {
+            boolean changed = !previous.get(i).equals(next.get(i));
+            if (changed && runStart < 0) {
+                runStart = i;
+            } else if (!changed && runStart >= 0) {
+                fireTableRowsUpdated(runStart, i - 1);
+                runStart = -1;
+            }
+        }
+        if (runStart >= 0) fireTableRowsUpdated(runStart, previous.size() - 1);
+        if (next.size() > previous.size()) fireTableRowsInserted(previous.size(), next.size() - 1);
+    }
+
+    MemberView getMemberAt(int modelRow) {
+        return rows.get(modelRow);
+    }
+
+    int indexOf(String memberId) {
+        for (int i = 0; i < rows.size(); i++) {
+            if (rows.get(i).getMemberId().equals(memberId)) return i;
+        }
+        return -1;
+    }
+
+    @Override
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMN_NAMES[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return COLUMN_CLASSES[column];
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        MemberView member = rows.get(row);
+        switch (column) {
+            case COL_ID: return member.getMemberId();
+            case COL_NAME: return member.getFullName();
+            case COL_EMAIL: return member.getEmail();
+            case COL_PHONE: return member.getPhoneNumber();
+            case COL_JOIN_DATE: return member.getJoinDate();
+            case COL_ACTIVE: return member.isActive();
+            case COL_BALANCE: return member.getBalance();
+            default: throw new IndexOutOfBoundsException("column " + column);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package ui;
+
+import javax.swing.SwingConstants;
+import javax.swing.table.DefaultTableCellRenderer;
+
+// Right-aligned naira amounts; formatting happens only for cells being painted
+class MoneyCellRenderer extends DefaultTableCellRenderer {
+    MoneyCellRenderer() {
+        setHorizontalAlignment(SwingConstants.RIGHT);
+    }
+
+    @Override
+    protected void setValue(Object value) {
+        setText(value == null ? "" : String.format("₦%,.2f", (Double) value));
+    }
+}
@@ -0,0 +1,258 @@
+package ui;
+
+import service.AssociationService;
+import service.SummaryReport;
+import validation.ValidationResult;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Non-interactive console mode: runs a command file through the service's batch path, committing
+// once per chunk of commands instead of once per command. One command per line; blank lines and
+// lines starting with '#' are skipped; arguments containing spaces go in double quotes.
+//
+//   member <first> <last> <email> <phone> [address] [date-of-birth] [occupation]
+//   deposit <memberId> <amount> [description] [key=<id>]
+//   withdraw <memberId> <amount> [description] [key=<id>]
+//   loan apply <memberId> <amount> <rate%> <months> [purpose]
+//   loan approve <loanId>
+//   loan disburse <loanId>
+//   interest
+//   report summary
+//   report monthly [YYYY-MM]
+//   commit                      (end the current chunk early)
+//
+// Reports and interest runs first commit the open chunk, so they see everything above them. A key=<id>
+// argument is passed on as the posting's idempotency key, so re-running a half-applied file skips the
+// postings that already went through.
+public class ScriptRunner {
+    public static final int DEFAULT_CHUNK_SIZE = 500;
+    private static final String KEY_PREFIX = "key=";
+
+    private final AssociationService associationService;
+    private final int chunkSize;
+    private final PrintStream out;
+
+    private int executed;
+    private int failed;
+    private int commits;
+    // Mutating commands issued since the open batch began, and whether any of them succeeded
+    private int inChunk;
+    private boolean chunkChanged;
+    private long commitNanos;
+    private final Map<String, int[]> countsByCommand = new TreeMap<>();
+
+    public ScriptRunner(AssociationService associationService, int chunkSize, PrintStream out) {
+        if (chunkSize < 1) throw new IllegalArgumentException("Chunk size must be at least 1");
+        this.associationService = associationService;
+        this.chunkSize = chunkSize;
+        this.out = out;
+    }
+
+    // Returns the number of failed commands; the caller must already be authenticated
+    public int run(Path script) throws IOException {
+        long startNanos = System.nanoTime();
+        try (BufferedReader reader = Files.newBufferedReader(script, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                String trimmed = line.trim();
+                if (trimmed.isEmpty() || trimmed.startsWith("#")) continue;
+                execute(lineNumber, trimmed);
+            }
+        } finally {
+            flushChunk();
+        }
+        printSummary(script, System.nanoTime() - startNanos);
+        return failed;
+    }
+
+    private void execute(int lineNumber, String line) {
+        List<String> args;
+        try {
+            args = tokenize(line);
+        } catch (IllegalArgumentException e) {
+            recordFailure(lineNumber, line, "?", e.getMessage());
+            return;
+        }
+
+        String command = args.get(0).toLowerCase();
+        if (command.equals("loan") && args.size() > 1) command = "loan " + args.get(1).toLowerCase();
+        if (command.equals("report") && args.size() > 1) command = "report " + args.get(1).toLowerCase();
+
+        boolean mutating = isMutating(command);
+        if (mutating && inChunk == 0) associationService.beginBatch();
+        try {
+            String error = dispatch(command, args);
+            if (error == null) {
+                countsByCommand.computeIfAbsent(command, key -> new int[2])[0]++;
+                executed++;
+            } else {
+                recordFailure(lineNumber, line, command, error);
+            }
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            recordFailure(lineNumber, line, command, "bad arguments (" + e.getMessage() + ")");
+        } finally {
+            if (mutating && ++inChunk >= chunkSize) flushChunk();
+        }
+    }
+
+    private static boolean isMutating(String command) {
+        return command.equals("member") || command.equals("deposit") || command.equals("withdraw")
+            || command.startsWith("loan ");
+    }
+
+    // Returns null on success, else the reason the command failed
+    private String dispatch(String command, List<String> args) {
+        switch (command) {
+            case "member":
+                return applyResult(associationService.addMember(args.get(1), args.get(2), args.get(3), args.get(4),
+                    optional(args, 5, ""), args.size() > 6 ? LocalDate.parse(args.get(6)) : null, optional(args, 7, "")));
+            case "deposit": {
+                String key = takeKey(args);
+                return applyResult(associationService.deposit(args.get(1), parseAmount(args.get(2)),
+                    optional(args, 3, "Contribution"), key));
+            }
+            case "withdraw": {
+                String key = takeKey(args);
+                return applyResult(associationService.withdraw(args.get(1), parseAmount(args.get(2)),
+                    optional(args, 3, "Withdrawal"), key));
+            }
+            case "loan apply":
+                return applyResult(associationService.applyForLoan(args.get(2), parseAmount(args.get(3)),
+                    parseAmount(args.get(4)), Integer.parseInt(args.get(5)), optional(args, 6, "")));
+            case "loan approve":
+                return applyResult(associationService.approveLoan(args.get(2)));
+            case "loan disburse":
+                return applyResult(associationService.disburseLoan(args.get(2)));
+            case "interest":
+                flushChunk();
+                associationService.calculateAndApplyInterest();
+                return null;
+            case "report summary": {
+                flushChunk();
+                SummaryReport report = associationService.getSummaryReport();
+                if (report == null) return "insufficient permissions";
+                out.println(report);
+                return null;
+            }
+            case "report monthly": {
+                flushChunk();
+                YearMonth month = args.size() > 2 ? YearMonth.parse(args.get(2)) : YearMonth.now();
+                AssociationService.MonthlyReport report = associationService.generateMonthlyReport(month);
+                if (report == null) return "insufficient permissions";
+                out.println(report);
+                return null;
+            }
+            case "commit":
+                flushChunk();
+                return null;
+            default:
+                return "unknown command";
+        }
+    }
+
+    private String applyResult(ValidationResult result) {
+        if (!result.isValid()) return result.getReason() + ": " + result.getMessage();
+        chunkChanged = true;
+        return null;
+    }
+
+    private void flushChunk() {
+        if (inChunk == 0) return;
+        long startNanos = System.nanoTime();
+        associationService.endBatch();
+        commitNanos += System.nanoTime() - startNanos;
+        if (chunkChanged) commits++;
+        chunkChanged = false;
+        inChunk = 0;
+    }
+
+    private void recordFailure(int lineNumber, String line, String command, String reason) {
+        countsByCommand.computeIfAbsent(command, key -> new int[2])[1]++;
+        failed++;
+        out.println("line " + lineNumber + ": " + line + " -> " + reason);
+    }
+
+    private void printSummary(Path script, long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        out.println();
+        out.println("=== SCRIPT SUMMARY: " + script + " ===");
+        out.printf("%-16s %10s %10s%n", "Command", "OK", "Failed");
+        for (Map.Entry<String, int[]> entry : countsByCommand.entrySet()) {
+            out.printf("%-16s %10d %10d%n", entry.getKey(), entry.getValue()[0], entry.getValue()[1]);
+        }
+        out.printf("%-16s %10d %10d%n", "Total", executed, failed);
+        out.printf("Commits: %d (chunk size %d), %.1f ms spent committing%n", commits, chunkSize, commitNanos / 1e6);
+        out.printf("Elapsed: %.3f s, %.0f commands/sec%n", seconds,
+            seconds > 0 ? (executed + failed) / seconds : 0.0);
+    }
+
+    // Removes a key=<id> argument after the amount and returns its value, or null if there is none
+    private static String takeKey(List<String> args) {
+        for (int i = 3; i < args.size(); i++) {
+            if (args.get(i).startsWith(KEY_PREFIX)) {
+                String key = args.remove(i).substring(KEY_PREFIX.length());
+                if (key.isEmpty()) throw new IllegalArgumentException("empty key");
+                return key;
+            }
+        }
+        return null;
+    }
+
+    private static double parseAmount(String value) {
+        double amount = Double.parseDouble(value);
+        if (!Double.isFinite(amount)) throw new NumberFormatException("not a finite number: " + value);
+        return amount;
+    }
+
+    private static String optional(List<String> args, int index, String fallback) {
+        return args.size() > index ? args.get(index) : fallback;
+    }
+
+    // Whitespace-separated words; "double quotes" group words, \" and \\ escape inside quotes
+    static List<String> tokenize(String line) {
+        List<String> tokens = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        boolean inToken = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '\\' && i + 1 < line.length()) {
+                    current.append(line.charAt(++i));
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+                inToken = true;
+            } else if (Character.isWhitespace(c)) {
+                if (inToken) {
+                    tokens.add(current.toString());
+                    current.setLength(0);
+                    inToken = false;
+                }
+            } else {
+                current.append(c);
+                inToken = true;
+            }
+        }
+        if (quoted) throw new IllegalArgumentException("unterminated quote");
+        if (inToken) tokens.add(current.toString());
+        return tokens;
+    }
+}
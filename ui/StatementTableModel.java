@@ -0,0 +1,66 @@
+package ui;
+
+import service.MemberStatement;
+import java.time.LocalDate;
+import java.util.List;
+import javax.swing.table.AbstractTableModel;
+
+// Shows one page of a MemberStatement at a time; turning the page materializes only that page's lines
+class StatementTableModel extends AbstractTableModel {
+    private static final String[] COLUMN_NAMES = { "Date", "Type", "Amount", "Balance", "Description" };
+    private static final Class<?>[] COLUMN_CLASSES = { LocalDate.class, String.class, Double.class, Double.class, String.class };
+
+    private final MemberStatement statement;
+    private final int pageSize;
+    private int pageIndex;
+    private List<MemberStatement.Line> page;
+
+    StatementTableModel(MemberStatement statement, int pageSize) {
+        this.statement = statement;
+        this.pageSize = pageSize;
+        this.page = statement.getPage(0, pageSize);
+    }
+
+    int getPageIndex() { return pageIndex; }
+    int getPageCount() { return statement.getPageCount(pageSize); }
+
+    void showPage(int index) {
+        if (index < 0 || index >= getPageCount() || index == pageIndex) return;
+        pageIndex = index;
+        page = statement.getPage(index, pageSize);
+        fireTableDataChanged();
+    }
+
+    @Override
+    public int getRowCount() {
+        return page.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMN_NAMES[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return COLUMN_CLASSES[column];
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        MemberStatement.Line line = page.get(row);
+        switch (column) {
+            case 0: return line.getDate();
+            case 1: return line.getType();
+            case 2: return line.getAmount();
+            case 3: return line.getBalanceAfter();
+            case 4: return line.getDescription();
+            default: throw new IndexOutOfBoundsException("column " + column);
+        }
+    }
+}
@@ -1,28 +1,52 @@
 package ui;
 
 import java.awt.*;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.table.DefaultTableModel;
+import javax.swing.table.TableRowSorter;
 
+import metrics.OperationMetrics;
 import model.Account;
 import model.Contribution;
-import model.InterestTransaction;
-import model.Loan;
 import model.Member;
+import model.Permission;
 import model.Transaction;
 import model.User;
 import model.Withdrawal;
 import service.AssociationService;
+import service.AssociationSnapshot;
+import service.CsvImporter;
+import service.MemberStatement;
+import validation.ValidationResult;
 
 // GUI Implementation using Swing
 public class ThriftAssociationGUI extends JFrame {
+    private static final int TRANSACTION_SEARCH_LIMIT = 200;
+
     private AssociationService associationService;
     private JTabbedPane tabbedPane;
     private JTextArea outputArea;
+    // Service calls (and their disk writes) run here, one at a time in click order, never on the EDT
+    private final ExecutorService serviceExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "gui-service-worker");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final JProgressBar busyIndicator = new JProgressBar();
+    private int pendingTasks;
 
     public ThriftAssociationGUI(AssociationService associationService) {
         this.associationService = associationService;
@@ -40,12 +64,15 @@ public class ThriftAssociationGUI extends JFrame {
         tabbedPane = new JTabbedPane();
         
         // Add tabs based on user permissions
+        if (associationService.hasPermission(Permission.GENERATE_REPORTS)) {
+            tabbedPane.addTab("Dashboard", new DashboardPanel(associationService));
+        }
         tabbedPane.addTab("Members", createMembersPanel());
         tabbedPane.addTab("Transactions", createTransactionsPanel());
         tabbedPane.addTab("Loans", createLoansPanel());
         tabbedPane.addTab("Reports", createReportsPanel());
         
-        if (associationService.hasPermission("CREATE_USER")) {
+        if (associationService.hasPermission(Permission.CREATE_USER)) {
             tabbedPane.addTab("Administration", createAdminPanel());
         }
 
@@ -57,7 +84,12 @@ public class ThriftAssociationGUI extends JFrame {
         outputArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
         JScrollPane scrollPane = new JScrollPane(outputArea);
         scrollPane.setBorder(BorderFactory.createTitledBorder("System Output"));
-        add(scrollPane, BorderLayout.SOUTH);
+        busyIndicator.setStringPainted(true);
+        busyIndicator.setVisible(false);
+        JPanel southPanel = new JPanel(new BorderLayout());
+        southPanel.add(scrollPane, BorderLayout.CENTER);
+        southPanel.add(busyIndicator, BorderLayout.SOUTH);
+        add(southPanel, BorderLayout.SOUTH);
 
         // Set window properties
         setSize(1000, 700);
@@ -67,11 +99,48 @@ public class ThriftAssociationGUI extends JFrame {
     private JPanel createMembersPanel() {
         JPanel panel = new JPanel(new BorderLayout());
         
-        // Member list
-        JList<String> memberList = new JList<>();
-        updateMemberList(memberList);
-        JScrollPane listScrollPane = new JScrollPane(memberList);
+        // Member table: sortable by clicking a header, filterable by the field above it
+        MemberTableModel memberModel = new MemberTableModel();
+        memberModel.update(associationService.getSnapshot());
+        JTable memberTable = new JTable(memberModel);
+        memberTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        memberTable.setFillsViewportHeight(true);
+        memberTable.getColumnModel().getColumn(MemberTableModel.COL_BALANCE).setCellRenderer(new MoneyCellRenderer());
+        TableRowSorter<MemberTableModel> sorter = new TableRowSorter<>(memberModel);
+        memberTable.setRowSorter(sorter);
+        JScrollPane listScrollPane = new JScrollPane(memberTable);
         listScrollPane.setPreferredSize(new Dimension(400, 300));
+
+        JComboBox<String> filterColumn = new JComboBox<>();
+        filterColumn.addItem("All columns");
+        for (int i = 0; i < memberModel.getColumnCount(); i++) {
+            filterColumn.addItem(memberModel.getColumnName(i));
+        }
+        JTextField filterField = new JTextField(20);
+        Runnable applyFilter = () -> {
+            String text = filterField.getText().trim();
+            if (text.isEmpty()) {
+                sorter.setRowFilter(null);
+                return;
+            }
+            String regex = "(?i)" + java.util.regex.Pattern.quote(text);
+            int column = filterColumn.getSelectedIndex() - 1;
+            sorter.setRowFilter(column < 0 ? RowFilter.regexFilter(regex) : RowFilter.regexFilter(regex, column));
+        };
+        filterField.getDocument().addDocumentListener(new DocumentListener() {
+            public void insertUpdate(DocumentEvent e) { applyFilter.run(); }
+            public void removeUpdate(DocumentEvent e) { applyFilter.run(); }
+            public void changedUpdate(DocumentEvent e) { applyFilter.run(); }
+        });
+        filterColumn.addActionListener(e -> applyFilter.run());
+
+        JPanel filterPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        filterPanel.add(new JLabel("Find:"));
+        filterPanel.add(createMemberSearchField(memberTable, memberModel));
+        filterPanel.add(new JLabel("Filter:"));
+        filterPanel.add(filterField);
+        filterPanel.add(new JLabel("in"));
+        filterPanel.add(filterColumn);
         
         // Buttons panel
         JPanel buttonPanel = new JPanel(new GridLayout(2, 3, 5, 5));
@@ -82,10 +151,10 @@ public class ThriftAssociationGUI extends JFrame {
         JButton deactivateMemberBtn = new JButton("Deactivate");
         JButton refreshBtn = new JButton("Refresh");
         
-        addMemberBtn.addActionListener(e -> showAddMemberDialog(memberList));
-        viewMemberBtn.addActionListener(e -> showMemberDetails(memberList));
-        updateMemberBtn.addActionListener(e -> showUpdateMemberDialog(memberList));
-        refreshBtn.addActionListener(e -> updateMemberList(memberList));
+        addMemberBtn.addActionListener(e -> showAddMemberDialog(memberModel));
+        viewMemberBtn.addActionListener(e -> showMemberDetails(memberTable));
+        updateMemberBtn.addActionListener(e -> showUpdateMemberDialog(memberTable, memberModel));
+        refreshBtn.addActionListener(e -> memberModel.update(associationService.getSnapshot()));
         
         buttonPanel.add(addMemberBtn);
         buttonPanel.add(viewMemberBtn);
@@ -94,6 +163,7 @@ public class ThriftAssociationGUI extends JFrame {
         buttonPanel.add(refreshBtn);
         buttonPanel.add(new JLabel()); // Empty space
         
+        panel.add(filterPanel, BorderLayout.NORTH);
         panel.add(listScrollPane, BorderLayout.CENTER);
         panel.add(buttonPanel, BorderLayout.SOUTH);
         
@@ -114,6 +184,8 @@ public class ThriftAssociationGUI extends JFrame {
         JTextField amountField = new JTextField(15);
         JTextField descriptionField = new JTextField(15);
         JButton contributeBtn = new JButton("Process Contribution");
+        // One key per filled-in form, so a double-click posts only once
+        String[] contributionKey = { java.util.UUID.randomUUID().toString() };
         
         gbc.gridx = 0; gbc.gridy = 0; contributionPanel.add(new JLabel("Member ID:"), gbc);
         gbc.gridx = 1; contributionPanel.add(memberIdField, gbc);
@@ -130,14 +202,20 @@ public class ThriftAssociationGUI extends JFrame {
                 String description = descriptionField.getText().trim();
                 if (description.isEmpty()) description = "GUI Contribution";
                 
-                if (associationService.deposit(memberId, amount, description)) {
-                    appendOutput("Contribution processed successfully for " + memberId);
-                    memberIdField.setText("");
-                    amountField.setText("");
-                    descriptionField.setText("");
-                } else {
-                    appendOutput("Failed to process contribution for " + memberId);
-                }
+                String key = contributionKey[0];
+                String finalDescription = description;
+                runServiceTask(contributeBtn, "Processing contribution",
+                    () -> associationService.deposit(memberId, amount, finalDescription, key), result -> {
+                    if (result.isValid()) {
+                        contributionKey[0] = java.util.UUID.randomUUID().toString();
+                        appendOutput("Contribution processed successfully for " + memberId);
+                        memberIdField.setText("");
+                        amountField.setText("");
+                        descriptionField.setText("");
+                    } else {
+                        appendOutput("Failed to process contribution for " + memberId + ": " + result.getMessage());
+                    }
+                });
             } catch (NumberFormatException ex) {
                 appendOutput("Invalid amount entered");
             }
@@ -151,6 +229,7 @@ public class ThriftAssociationGUI extends JFrame {
         JTextField withdrawAmountField = new JTextField(15);
         JTextField withdrawDescriptionField = new JTextField(15);
         JButton withdrawBtn = new JButton("Process Withdrawal");
+        String[] withdrawalKey = { java.util.UUID.randomUUID().toString() };
         
         gbc.gridwidth = 1;
         gbc.gridx = 0; gbc.gridy = 0; withdrawalPanel.add(new JLabel("Member ID:"), gbc);
@@ -168,14 +247,20 @@ public class ThriftAssociationGUI extends JFrame {
                 String description = withdrawDescriptionField.getText().trim();
                 if (description.isEmpty()) description = "GUI Withdrawal";
                 
-                if (associationService.withdraw(memberId, amount, description)) {
-                    appendOutput("Withdrawal processed successfully for " + memberId);
-                    withdrawMemberIdField.setText("");
-                    withdrawAmountField.setText("");
-                    withdrawDescriptionField.setText("");
-                } else {
-                    appendOutput("Failed to process withdrawal for " + memberId);
-                }
+                String key = withdrawalKey[0];
+                String finalDescription = description;
+                runServiceTask(withdrawBtn, "Processing withdrawal",
+                    () -> associationService.withdraw(memberId, amount, finalDescription, key), result -> {
+                    if (result.isValid()) {
+                        withdrawalKey[0] = java.util.UUID.randomUUID().toString();
+                        appendOutput("Withdrawal processed successfully for " + memberId);
+                        withdrawMemberIdField.setText("");
+                        withdrawAmountField.setText("");
+                        withdrawDescriptionField.setText("");
+                    } else {
+                        appendOutput("Failed to process withdrawal for " + memberId + ": " + result.getMessage());
+                    }
+                });
             } catch (NumberFormatException ex) {
                 appendOutput("Invalid amount entered");
             }
@@ -186,10 +271,10 @@ public class ThriftAssociationGUI extends JFrame {
         interestPanel.setBorder(BorderFactory.createTitledBorder("Interest Management"));
         
         JButton calculateInterestBtn = new JButton("Calculate Interest");
-        calculateInterestBtn.addActionListener(e -> {
+        calculateInterestBtn.addActionListener(e -> runServiceTask(calculateInterestBtn, "Calculating interest", () -> {
             associationService.calculateAndApplyInterest();
-            appendOutput("Interest calculation completed for all eligible accounts");
-        });
+            return null;
+        }, done -> appendOutput("Interest calculation completed for all eligible accounts")));
         
         interestPanel.add(calculateInterestBtn);
         
@@ -198,17 +283,37 @@ public class ThriftAssociationGUI extends JFrame {
         statementPanel.setBorder(BorderFactory.createTitledBorder("Member Statement"));
         
         JTextField statementMemberIdField = new JTextField(15);
+        JTextField statementFromField = new JTextField(15);
+        JTextField statementToField = new JTextField(15);
         JButton generateStatementBtn = new JButton("Generate Statement");
         
         gbc.gridwidth = 1;
         gbc.gridx = 0; gbc.gridy = 0; statementPanel.add(new JLabel("Member ID:"), gbc);
         gbc.gridx = 1; statementPanel.add(statementMemberIdField, gbc);
-        gbc.gridx = 0; gbc.gridy = 1; gbc.gridwidth = 2; statementPanel.add(generateStatementBtn, gbc);
+        gbc.gridx = 0; gbc.gridy = 1; statementPanel.add(new JLabel("From (YYYY-MM-DD):"), gbc);
+        gbc.gridx = 1; statementPanel.add(statementFromField, gbc);
+        gbc.gridx = 0; gbc.gridy = 2; statementPanel.add(new JLabel("To (YYYY-MM-DD):"), gbc);
+        gbc.gridx = 1; statementPanel.add(statementToField, gbc);
+        gbc.gridx = 0; gbc.gridy = 3; gbc.gridwidth = 2; statementPanel.add(generateStatementBtn, gbc);
         
         generateStatementBtn.addActionListener(e -> {
             String memberId = statementMemberIdField.getText().trim();
-            if (!memberId.isEmpty()) {
-                showMemberStatementDialog(memberId);
+            if (memberId.isEmpty()) return;
+            try {
+                String fromText = statementFromField.getText().trim();
+                String toText = statementToField.getText().trim();
+                LocalDate from = fromText.isEmpty() ? null : LocalDate.parse(fromText);
+                LocalDate to = toText.isEmpty() ? null : LocalDate.parse(toText);
+                runServiceTask(generateStatementBtn, "Building statement",
+                    () -> associationService.openStatement(memberId, from, to), statement -> {
+                    if (statement.isPresent()) {
+                        showMemberStatementDialog(statement.get());
+                    } else {
+                        appendOutput("Member not found: " + memberId);
+                    }
+                });
+            } catch (DateTimeParseException ex) {
+                appendOutput("Invalid date format. Use YYYY-MM-DD");
             }
         });
         
@@ -265,7 +370,13 @@ public class ThriftAssociationGUI extends JFrame {
         summaryPanel.setBorder(BorderFactory.createTitledBorder("Summary Report"));
         
         JButton summaryBtn = new JButton("Generate Summary Report");
-        summaryBtn.addActionListener(e -> showSummaryReport());
+        summaryBtn.addActionListener(e -> runServiceTask(summaryBtn, "Generating summary report", associationService::getSummaryReport, report -> {
+            if (report != null) {
+                showSummaryReportDialog(report.toString());
+            } else {
+                appendOutput("No data available or insufficient permissions.");
+            }
+        }));
         summaryPanel.add(summaryBtn);
         
         // Monthly report panel
@@ -292,12 +403,14 @@ public class ThriftAssociationGUI extends JFrame {
                 int year = Integer.parseInt(yearField.getText().trim());
                 int month = Integer.parseInt(monthField.getText().trim());
                 YearMonth yearMonth = YearMonth.of(year, month);
-                AssociationService.MonthlyReport report = associationService.generateMonthlyReport(yearMonth);
-                if (report != null) {
-                    showMonthlyReportDialog(report);
-                } else {
-                    appendOutput("Unable to generate monthly report. Check permissions.");
-                }
+                runServiceTask(monthlyBtn, "Generating monthly report",
+                    () -> associationService.generateMonthlyReport(yearMonth), report -> {
+                    if (report != null) {
+                        showMonthlyReportDialog(report);
+                    } else {
+                        appendOutput("Unable to generate monthly report. Check permissions.");
+                    }
+                });
             } catch (Exception ex) {
                 appendOutput("Invalid year/month entered");
             }
@@ -308,21 +421,78 @@ public class ThriftAssociationGUI extends JFrame {
         backupPanel.setBorder(BorderFactory.createTitledBorder("Data Management"));
         
         JButton backupBtn = new JButton("Create Backup");
-        backupBtn.addActionListener(e -> {
+        backupBtn.addActionListener(e -> runServiceTask(backupBtn, "Creating backup", () -> {
+            associationService.createBackup();
+            return null;
+        }, done -> appendOutput("Backup created successfully")));
+        
+        JButton importBtn = new JButton("Import CSV...");
+        importBtn.addActionListener(e -> importCsv(importBtn));
+
+        JButton reconcileBtn = new JButton("Reconcile");
+        reconcileBtn.addActionListener(e -> runServiceTask(reconcileBtn, "Reconciling balances",
+            associationService::reconcile, report -> {
+                if (report == null) {
+                    appendOutput("Insufficient permissions to reconcile balances");
+                    return;
+                }
+                appendOutput(report.toString().trim());
+            }));
+
+        backupPanel.add(backupBtn);
+        backupPanel.add(importBtn);
+        backupPanel.add(reconcileBtn);
+        
+        // Transaction search panel
+        JPanel searchPanel = new JPanel(new GridBagLayout());
+        searchPanel.setBorder(BorderFactory.createTitledBorder("Transaction Search"));
+        
+        JTextField queryField = new JTextField(15);
+        JTextField searchMemberField = new JTextField(15);
+        JTextField searchFromField = new JTextField(15);
+        JTextField searchToField = new JTextField(15);
+        JButton searchBtn = new JButton("Search");
+        queryField.setToolTipText("Words are matched together; use OR between alternatives");
+        
+        gbc.gridwidth = 1;
+        gbc.gridx = 0; gbc.gridy = 0; searchPanel.add(new JLabel("Words:"), gbc);
+        gbc.gridx = 1; searchPanel.add(queryField, gbc);
+        gbc.gridx = 0; gbc.gridy = 1; searchPanel.add(new JLabel("Member ID (optional):"), gbc);
+        gbc.gridx = 1; searchPanel.add(searchMemberField, gbc);
+        gbc.gridx = 0; gbc.gridy = 2; searchPanel.add(new JLabel("From (YYYY-MM-DD):"), gbc);
+        gbc.gridx = 1; searchPanel.add(searchFromField, gbc);
+        gbc.gridx = 0; gbc.gridy = 3; searchPanel.add(new JLabel("To (YYYY-MM-DD):"), gbc);
+        gbc.gridx = 1; searchPanel.add(searchToField, gbc);
+        gbc.gridx = 0; gbc.gridy = 4; gbc.gridwidth = 2; searchPanel.add(searchBtn, gbc);
+        
+        searchBtn.addActionListener(e -> {
+            String query = queryField.getText().trim();
+            if (query.isEmpty()) return;
+            String memberText = searchMemberField.getText().trim();
+            String memberId = memberText.isEmpty() ? null : memberText;
             try {
-                associationService.saveData();
-                appendOutput("Backup created successfully");
-            } catch (Exception ex) {
-                appendOutput("Failed to create backup: " + ex.getMessage());
+                String fromText = searchFromField.getText().trim();
+                String toText = searchToField.getText().trim();
+                LocalDate from = fromText.isEmpty() ? null : LocalDate.parse(fromText);
+                LocalDate to = toText.isEmpty() ? null : LocalDate.parse(toText);
+                runServiceTask(searchBtn, "Searching transactions",
+                    () -> associationService.searchTransactions(query, memberId, from, to, TRANSACTION_SEARCH_LIMIT),
+                    matches -> {
+                    if (matches.isEmpty()) {
+                        appendOutput("No transactions match '" + query + "' (or insufficient permissions).");
+                    } else {
+                        showTransactionSearchDialog(query, matches);
+                    }
+                });
+            } catch (DateTimeParseException ex) {
+                appendOutput("Invalid date format. Use YYYY-MM-DD");
             }
         });
         
-        backupPanel.add(backupBtn);
-        
         panel.add(summaryPanel);
         panel.add(monthlyPanel);
         panel.add(backupPanel);
-        panel.add(new JLabel()); // Empty space
+        panel.add(searchPanel);
         
         return panel;
     }
@@ -355,13 +525,15 @@ public class ThriftAssociationGUI extends JFrame {
             String password = new String(passwordField.getPassword());
             User.UserRole role = (User.UserRole) roleComboBox.getSelectedItem();
             
-            if (associationService.createUser(username, password, role)) {
-                appendOutput("User created successfully: " + username);
-                usernameField.setText("");
-                passwordField.setText("");
-            } else {
-                appendOutput("Failed to create user. Username may already exist.");
-            }
+            runServiceTask(createUserBtn, "Creating user", () -> associationService.createUser(username, password, role), created -> {
+                if (created) {
+                    appendOutput("User created successfully: " + username);
+                    usernameField.setText("");
+                    passwordField.setText("");
+                } else {
+                    appendOutput("Failed to create user. Username may already exist.");
+                }
+            });
         });
         
         // System info panel
@@ -380,17 +552,102 @@ public class ThriftAssociationGUI extends JFrame {
     }
 
     // Helper methods for GUI operations
-    private void updateMemberList(JList<String> memberList) {
-        List<Member> members = associationService.getAllMembers();
-        String[] memberData = members.stream()
-            .map(m -> String.format("%s - %s (Balance: ₦%.2f)", 
-                 m.getMemberId(), m.getFullName(), m.getAccount().getBalance()))
-            .toArray(String[]::new);
-        memberList.setListData(memberData);
+    // Type-ahead box: suggestions come from the service's prefix index (no lock, so safe on the EDT);
+    // picking one selects and reveals that member in the table
+    private JTextField createMemberSearchField(JTable memberTable, MemberTableModel memberModel) {
+        JTextField searchField = new JTextField(15);
+        searchField.setToolTipText("Name, email, phone or member ID");
+        DefaultListModel<AssociationSnapshot.MemberView> suggestions = new DefaultListModel<>();
+        JList<AssociationSnapshot.MemberView> suggestionList = new JList<>(suggestions);
+        suggestionList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        suggestionList.setCellRenderer(new DefaultListCellRenderer() {
+            @Override
+            public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+                                                          boolean isSelected, boolean cellHasFocus) {
+                AssociationSnapshot.MemberView member = (AssociationSnapshot.MemberView) value;
+                String label = member.getMemberId() + " - " + member.getFullName() + "  " + member.getPhoneNumber();
+                return super.getListCellRendererComponent(list, label, index, isSelected, cellHasFocus);
+            }
+        });
+        JPopupMenu popup = new JPopupMenu();
+        popup.setFocusable(false);
+        popup.add(new JScrollPane(suggestionList));
+
+        Runnable pickSuggestion = () -> {
+            AssociationSnapshot.MemberView picked = suggestionList.getSelectedValue();
+            popup.setVisible(false);
+            if (picked == null) return;
+            memberModel.update(associationService.getSnapshot());
+            int modelRow = memberModel.indexOf(picked.getMemberId());
+            int viewRow = modelRow < 0 ? -1 : memberTable.convertRowIndexToView(modelRow);
+            if (viewRow < 0) {
+                appendOutput(picked.getMemberId() + " is hidden by the current filter");
+                return;
+            }
+            memberTable.setRowSelectionInterval(viewRow, viewRow);
+            memberTable.scrollRectToVisible(memberTable.getCellRect(viewRow, 0, true));
+        };
+
+        searchField.getDocument().addDocumentListener(new DocumentListener() {
+            public void insertUpdate(DocumentEvent e) { refresh(); }
+            public void removeUpdate(DocumentEvent e) { refresh(); }
+            public void changedUpdate(DocumentEvent e) { refresh(); }
+
+            private void refresh() {
+                suggestions.clear();
+                for (AssociationSnapshot.MemberView match : associationService.searchMembers(searchField.getText(), 8)) {
+                    suggestions.addElement(match);
+                }
+                if (suggestions.isEmpty()) {
+                    popup.setVisible(false);
+                    return;
+                }
+                suggestionList.setSelectedIndex(0);
+                suggestionList.setVisibleRowCount(suggestions.size());
+                popup.pack();
+                if (!popup.isVisible()) popup.show(searchField, 0, searchField.getHeight());
+            }
+        });
+        searchField.addKeyListener(new java.awt.event.KeyAdapter() {
+            @Override
+            public void keyPressed(java.awt.event.KeyEvent e) {
+                int index = suggestionList.getSelectedIndex();
+                switch (e.getKeyCode()) {
+                    case java.awt.event.KeyEvent.VK_DOWN:
+                        if (index + 1 < suggestions.size()) suggestionList.setSelectedIndex(index + 1);
+                        break;
+                    case java.awt.event.KeyEvent.VK_UP:
+                        if (index > 0) suggestionList.setSelectedIndex(index - 1);
+                        break;
+                    case java.awt.event.KeyEvent.VK_ENTER:
+                        pickSuggestion.run();
+                        break;
+                    case java.awt.event.KeyEvent.VK_ESCAPE:
+                        popup.setVisible(false);
+                        break;
+                    default:
+                        break;
+                }
+            }
+        });
+        suggestionList.addMouseListener(new java.awt.event.MouseAdapter() {
+            @Override
+            public void mouseClicked(java.awt.event.MouseEvent e) {
+                pickSuggestion.run();
+            }
+        });
+        return searchField;
+    }
+
+    private String selectedMemberId(JTable memberTable) {
+        int viewRow = memberTable.getSelectedRow();
+        if (viewRow < 0) return null;
+        MemberTableModel model = (MemberTableModel) memberTable.getModel();
+        return model.getMemberAt(memberTable.convertRowIndexToModel(viewRow)).getMemberId();
     }
 
     private void updateLoanList(JList<String> loanList) {
-        List<Loan> loans = associationService.getAllLoans();
+        List<AssociationSnapshot.LoanView> loans = associationService.getAllLoans();
         String[] loanData = loans.stream()
             .map(l -> String.format("%s - %s (₦%.2f) - %s", 
                  l.getLoanId(), l.getMemberId(), l.getPrincipalAmount(), l.getStatus()))
@@ -398,7 +655,7 @@ public class ThriftAssociationGUI extends JFrame {
         loanList.setListData(loanData);
     }
 
-    private void showAddMemberDialog(JList<String> memberList) {
+    private void showAddMemberDialog(MemberTableModel memberModel) {
         JDialog dialog = new JDialog(this, "Add New Member", true);
         dialog.setLayout(new GridBagLayout());
         GridBagConstraints gbc = new GridBagConstraints();
@@ -435,21 +692,22 @@ public class ThriftAssociationGUI extends JFrame {
         saveBtn.addActionListener(e -> {
             try {
                 LocalDate dob = LocalDate.parse(dobField.getText().trim());
-                if (associationService.addMember(
-                    firstNameField.getText().trim(),
-                    lastNameField.getText().trim(),
-                    emailField.getText().trim(),
-                    phoneField.getText().trim(),
-                    addressField.getText().trim(),
-                    dob,
-                    occupationField.getText().trim())) {
-                    
-                    appendOutput("Member added successfully");
-                    updateMemberList(memberList);
-                    dialog.dispose();
-                } else {
-                    appendOutput("Failed to add member");
-                }
+                String firstName = firstNameField.getText().trim();
+                String lastName = lastNameField.getText().trim();
+                String email = emailField.getText().trim();
+                String phone = phoneField.getText().trim();
+                String address = addressField.getText().trim();
+                String occupation = occupationField.getText().trim();
+                runServiceTask(saveBtn, "Adding member",
+                    () -> associationService.addMember(firstName, lastName, email, phone, address, dob, occupation), result -> {
+                    if (result.isValid()) {
+                        appendOutput("Member added successfully");
+                        memberModel.update(associationService.getSnapshot());
+                        dialog.dispose();
+                    } else {
+                        appendOutput("Failed to add member: " + result.getMessage());
+                    }
+                });
             } catch (DateTimeParseException ex) {
                 appendOutput("Invalid date format. Use YYYY-MM-DD");
             }
@@ -467,30 +725,19 @@ public class ThriftAssociationGUI extends JFrame {
         dialog.setVisible(true);
     }
 
-    private void showMemberDetails(JList<String> memberList) {
-        String selected = memberList.getSelectedValue();
-        if (selected == null) {
+    private void showMemberDetails(JTable memberTable) {
+        String memberId = selectedMemberId(memberTable);
+        if (memberId == null) {
             appendOutput("Please select a member");
             return;
         }
         
-        String memberId = selected.split(" - ")[0];
-        java.util.Optional<Member> memberOpt = associationService.findMember(memberId);
-        
-        if (memberOpt.isPresent()) {
-            Member member = memberOpt.get();
-            showMemberDetailsDialog(member);
-        }
+        runServiceTask(null, "Loading member details",
+            () -> associationService.findMember(memberId).map(member -> new String[] { member.getFullName(), buildMemberDetails(member) }),
+            details -> details.ifPresent(d -> showMemberDetailsDialog(d[0], d[1])));
     }
 
-    private void showMemberDetailsDialog(Member member) {
-        JDialog dialog = new JDialog(this, "Member Details - " + member.getFullName(), true);
-        dialog.setLayout(new BorderLayout());
-        
-        JTextArea detailsArea = new JTextArea(20, 50);
-        detailsArea.setEditable(false);
-        detailsArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
-        
+    private String buildMemberDetails(Member member) {
         StringBuilder details = new StringBuilder();
         details.append("MEMBER DETAILS\n");
         details.append("=".repeat(50)).append("\n");
@@ -512,8 +759,17 @@ public class ThriftAssociationGUI extends JFrame {
         details.append("Total Withdrawals: ₦").append(String.format("%.2f", account.getTotalWithdrawals())).append("\n");
         details.append("Total Interest: ₦").append(String.format("%.2f", account.getTotalInterest())).append("\n");
         details.append("Interest Rate: ").append(String.format("%.2f", account.getInterestRate())).append("%\n");
+        return details.toString();
+    }
+
+    private void showMemberDetailsDialog(String memberName, String details) {
+        JDialog dialog = new JDialog(this, "Member Details - " + memberName, true);
+        dialog.setLayout(new BorderLayout());
         
-        detailsArea.setText(details.toString());
+        JTextArea detailsArea = new JTextArea(20, 50);
+        detailsArea.setEditable(false);
+        detailsArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        detailsArea.setText(details);
         
         JScrollPane scrollPane = new JScrollPane(detailsArea);
         dialog.add(scrollPane, BorderLayout.CENTER);
@@ -530,15 +786,13 @@ public class ThriftAssociationGUI extends JFrame {
         dialog.setVisible(true);
     }
 
-    private void showUpdateMemberDialog(JList<String> memberList) {
-        String selected = memberList.getSelectedValue();
-        if (selected == null) {
+    private void showUpdateMemberDialog(JTable memberTable, MemberTableModel memberModel) {
+        String memberId = selectedMemberId(memberTable);
+        if (memberId == null) {
             appendOutput("Please select a member");
             return;
         }
         
-        String memberId = selected.split(" - ")[0];
-        
         JDialog dialog = new JDialog(this, "Update Member Information", true);
         dialog.setLayout(new GridBagLayout());
         GridBagConstraints gbc = new GridBagConstraints();
@@ -557,13 +811,17 @@ public class ThriftAssociationGUI extends JFrame {
         JButton cancelBtn = new JButton("Cancel");
         
         updateBtn.addActionListener(e -> {
-            if (associationService.updateMemberInfo(memberId, emailField.getText().trim(), phoneField.getText().trim())) {
-                appendOutput("Member information updated successfully");
-                updateMemberList(memberList);
-                dialog.dispose();
-            } else {
-                appendOutput("Failed to update member information");
-            }
+            String email = emailField.getText().trim();
+            String phone = phoneField.getText().trim();
+            runServiceTask(updateBtn, "Updating member", () -> associationService.updateMemberInfo(memberId, email, phone), result -> {
+                if (result.isValid()) {
+                    appendOutput("Member information updated successfully");
+                    memberModel.update(associationService.getSnapshot());
+                    dialog.dispose();
+                } else {
+                    appendOutput("Failed to update member information: " + result.getMessage());
+                }
+            });
         });
         
         cancelBtn.addActionListener(e -> dialog.dispose());
@@ -616,13 +874,16 @@ public class ThriftAssociationGUI extends JFrame {
                 int term = Integer.parseInt(termField.getText().trim());
                 String purpose = purposeField.getText().trim();
                 
-                if (associationService.applyForLoan(memberId, amount, interestRate, term, purpose)) {
-                    appendOutput("Loan application submitted successfully");
-                    updateLoanList(loanList);
-                    dialog.dispose();
-                } else {
-                    appendOutput("Failed to submit loan application");
-                }
+                runServiceTask(applyBtn, "Submitting loan application",
+                    () -> associationService.applyForLoan(memberId, amount, interestRate, term, purpose), result -> {
+                    if (result.isValid()) {
+                        appendOutput("Loan application submitted successfully");
+                        updateLoanList(loanList);
+                        dialog.dispose();
+                    } else {
+                        appendOutput("Failed to submit loan application: " + result.getMessage());
+                    }
+                });
             } catch (NumberFormatException ex) {
                 appendOutput("Invalid numeric values entered");
             }
@@ -648,12 +909,14 @@ public class ThriftAssociationGUI extends JFrame {
         }
         
         String loanId = selected.split(" - ")[0];
-        if (associationService.approveLoan(loanId)) {
-            appendOutput("Loan approved: " + loanId);
-            updateLoanList(loanList);
-        } else {
-            appendOutput("Failed to approve loan: " + loanId);
-        }
+        runServiceTask(null, "Approving loan " + loanId, () -> associationService.approveLoan(loanId), result -> {
+            if (result.isValid()) {
+                appendOutput("Loan approved: " + loanId);
+                updateLoanList(loanList);
+            } else {
+                appendOutput("Failed to approve loan " + loanId + ": " + result.getMessage());
+            }
+        });
     }
 
     private void disburseLoan(JList<String> loanList) {
@@ -664,86 +927,54 @@ public class ThriftAssociationGUI extends JFrame {
         }
         
         String loanId = selected.split(" - ")[0];
-        if (associationService.disburseLoan(loanId)) {
-            appendOutput("Loan disbursed: " + loanId);
-            updateLoanList(loanList);
-        } else {
-            appendOutput("Failed to disburse loan: " + loanId);
-        }
+        runServiceTask(null, "Disbursing loan " + loanId, () -> associationService.disburseLoan(loanId), result -> {
+            if (result.isValid()) {
+                appendOutput("Loan disbursed: " + loanId);
+                updateLoanList(loanList);
+            } else {
+                appendOutput("Failed to disburse loan " + loanId + ": " + result.getMessage());
+            }
+        });
     }
 
-    private void showMemberStatementDialog(String memberId) {
-        java.util.Optional<Member> memberOpt = associationService.findMember(memberId);
-        if (!memberOpt.isPresent()) {
-            appendOutput("Member not found: " + memberId);
-            return;
-        }
-
-        Member member = memberOpt.get();
-        
-        JDialog dialog = new JDialog(this, "Member Statement - " + member.getFullName(), true);
+    private void showMemberStatementDialog(MemberStatement statement) {
+        JDialog dialog = new JDialog(this, "Member Statement - " + statement.getMemberName(), true);
         dialog.setLayout(new BorderLayout());
         
-        JTextArea statementArea = new JTextArea(25, 60);
-        statementArea.setEditable(false);
-        statementArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 11));
-        
-        StringBuilder statement = new StringBuilder();
-        Account account = member.getAccount();
-
-        statement.append("MEMBER STATEMENT\n");
-        statement.append("=".repeat(80)).append("\n");
-        statement.append("Member: ").append(member.getFullName()).append("\n");
-        statement.append("Member ID: ").append(member.getMemberId()).append("\n");
-        statement.append("Email: ").append(member.getEmail()).append("\n");
-        statement.append("Phone: ").append(member.getPhoneNumber()).append("\n");
-        statement.append("Address: ").append(member.getAddress() != null ? member.getAddress() : "Not provided").append("\n");
-        statement.append("Join Date: ").append(member.getJoinDate()).append("\n");
-        statement.append("Current Balance: ₦").append(String.format("%.2f", account.getBalance())).append("\n");
-        statement.append("Total Contributions: ₦").append(String.format("%.2f", account.getTotalContributions())).append("\n");
-        statement.append("Total Withdrawals: ₦").append(String.format("%.2f", account.getTotalWithdrawals())).append("\n");
-        statement.append("Total Interest Earned: ₦").append(String.format("%.2f", account.getTotalInterest())).append("\n");
-        statement.append("Interest Rate: ").append(String.format("%.2f", account.getInterestRate())).append("% APR\n\n");
-        
-        statement.append("TRANSACTION HISTORY\n");
-        statement.append("-".repeat(80)).append("\n");
-        statement.append(String.format("%-12s %-12s %-10s %-12s %-30s%n", 
-                        "Date", "Type", "Amount", "Balance", "Description"));
-        statement.append("-".repeat(80)).append("\n");
-        
-        if (account.getTransactionHistory().isEmpty()) {
-            statement.append("No transactions found.\n");
-        } else {
-            double runningBalance = 0;
-            for (Transaction transaction : account.getTransactionHistory()) {
-                if (transaction instanceof Contribution || transaction instanceof InterestTransaction) {
-                    runningBalance += transaction.getAmount();
-                } else if (transaction instanceof Withdrawal) {
-                    runningBalance -= transaction.getAmount();
-                }
-                
-                statement.append(String.format("%-12s %-12s ₦%-9.2f ₦%-11.2f %-30s%n",
-                    transaction.getDate(),
-                    transaction.getTransactionType(),
-                    transaction.getAmount(),
-                    runningBalance,
-                    transaction.getDescription()));
-            }
-        }
-        statement.append("=".repeat(80));
-        
-        statementArea.setText(statement.toString());
-        
-        JScrollPane scrollPane = new JScrollPane(statementArea);
+        JTextArea headerArea = new JTextArea(statement.getHeader());
+        headerArea.setEditable(false);
+        headerArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 11));
+        dialog.add(headerArea, BorderLayout.NORTH);
+        
+        StatementTableModel model = new StatementTableModel(statement, MemberStatement.DEFAULT_PAGE_SIZE);
+        JTable table = new JTable(model);
+        table.setFillsViewportHeight(true);
+        table.getColumnModel().getColumn(2).setCellRenderer(new MoneyCellRenderer());
+        table.getColumnModel().getColumn(3).setCellRenderer(new MoneyCellRenderer());
+        JScrollPane scrollPane = new JScrollPane(table);
+        scrollPane.setPreferredSize(new Dimension(700, 350));
         dialog.add(scrollPane, BorderLayout.CENTER);
         
         JPanel buttonPanel = new JPanel(new FlowLayout());
+        JButton prevBtn = new JButton("< Previous");
+        JLabel pageLabel = new JLabel();
+        JButton nextBtn = new JButton("Next >");
         JButton printBtn = new JButton("Print");
         JButton closeBtn = new JButton("Close");
         
+        Runnable refreshPager = () -> {
+            pageLabel.setText(String.format("Page %d of %d (%d transactions)",
+                model.getPageIndex() + 1, model.getPageCount(), statement.getLineCount()));
+            prevBtn.setEnabled(model.getPageIndex() > 0);
+            nextBtn.setEnabled(model.getPageIndex() + 1 < model.getPageCount());
+        };
+        refreshPager.run();
+        prevBtn.addActionListener(e -> { model.showPage(model.getPageIndex() - 1); refreshPager.run(); });
+        nextBtn.addActionListener(e -> { model.showPage(model.getPageIndex() + 1); refreshPager.run(); });
+        
         printBtn.addActionListener(e -> {
             try {
-                statementArea.print();
+                table.print();
             } catch (Exception ex) {
                 appendOutput("Print failed: " + ex.getMessage());
             }
@@ -751,6 +982,9 @@ public class ThriftAssociationGUI extends JFrame {
         
         closeBtn.addActionListener(e -> dialog.dispose());
         
+        buttonPanel.add(prevBtn);
+        buttonPanel.add(pageLabel);
+        buttonPanel.add(nextBtn);
         buttonPanel.add(printBtn);
         buttonPanel.add(closeBtn);
         dialog.add(buttonPanel, BorderLayout.SOUTH);
@@ -760,67 +994,48 @@ public class ThriftAssociationGUI extends JFrame {
         dialog.setVisible(true);
     }
 
-    private void showSummaryReport() {
-        List<Member> members = associationService.getAllMembers();
-        List<Loan> loans = associationService.getAllLoans();
+    private void showTransactionSearchDialog(String query, List<Transaction> matches) {
+        JDialog dialog = new JDialog(this, "Transactions matching '" + query + "'", true);
+        dialog.setLayout(new BorderLayout());
         
-        if (members.isEmpty()) {
-            appendOutput("No data available or insufficient permissions.");
-            return;
+        DefaultTableModel model = new DefaultTableModel(
+            new Object[] {"Date", "Member", "Transaction", "Type", "Amount", "Description"}, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        for (Transaction transaction : matches) {
+            model.addRow(new Object[] {transaction.getDate(), transaction.getMemberId(), transaction.getTransactionId(),
+                transaction.getTransactionType(), transaction.getAmount(), transaction.getDescription()});
         }
+        JTable table = new JTable(model);
+        table.setFillsViewportHeight(true);
+        table.getColumnModel().getColumn(4).setCellRenderer(new MoneyCellRenderer());
+        JScrollPane scrollPane = new JScrollPane(table);
+        scrollPane.setPreferredSize(new Dimension(750, 350));
+        dialog.add(scrollPane, BorderLayout.CENTER);
+        
+        JPanel buttonPanel = new JPanel(new FlowLayout());
+        buttonPanel.add(new JLabel("Showing the " + matches.size() + " most recent matches"));
+        JButton closeBtn = new JButton("Close");
+        closeBtn.addActionListener(e -> dialog.dispose());
+        buttonPanel.add(closeBtn);
+        dialog.add(buttonPanel, BorderLayout.SOUTH);
+        
+        dialog.pack();
+        dialog.setLocationRelativeTo(this);
+        dialog.setVisible(true);
+    }
 
+    private void showSummaryReportDialog(String report) {
         JDialog dialog = new JDialog(this, "Association Summary Report", true);
         dialog.setLayout(new BorderLayout());
         
         JTextArea reportArea = new JTextArea(20, 50);
         reportArea.setEditable(false);
         reportArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
-        
-        StringBuilder report = new StringBuilder();
-        
-        report.append("ASSOCIATION SUMMARY REPORT\n");
-        report.append("Generated: ").append(LocalDate.now()).append("\n");
-        report.append("=".repeat(60)).append("\n");
-        
-        long activeMembers = members.stream().filter(Member::isActive).count();
-        double totalBalance = members.stream().mapToDouble(m -> m.getAccount().getBalance()).sum();
-        double totalContributions = members.stream().mapToDouble(m -> m.getAccount().getTotalContributions()).sum();
-        double totalWithdrawals = members.stream().mapToDouble(m -> m.getAccount().getTotalWithdrawals()).sum();
-        double totalInterest = members.stream().mapToDouble(m -> m.getAccount().getTotalInterest()).sum();
-        
-        report.append("MEMBERSHIP SUMMARY\n");
-        report.append("Total Members: ").append(members.size()).append("\n");
-        report.append("Active Members: ").append(activeMembers).append("\n");
-        report.append("Inactive Members: ").append(members.size() - activeMembers).append("\n\n");
-        
-        report.append("FINANCIAL SUMMARY\n");
-        report.append("Total Association Balance: ₦").append(String.format("%.2f", totalBalance)).append("\n");
-        report.append("Total Contributions: ₦").append(String.format("%.2f", totalContributions)).append("\n");
-        report.append("Total Withdrawals: ₦").append(String.format("%.2f", totalWithdrawals)).append("\n");
-        report.append("Total Interest Paid: ₦").append(String.format("%.2f", totalInterest)).append("\n");
-        report.append("Net Cash Flow: ₦").append(String.format("%.2f", totalContributions - totalWithdrawals)).append("\n\n");
-        
-        report.append("LOAN SUMMARY\n");
-        report.append("Total Loans: ").append(loans.size()).append("\n");
-        
-        java.util.Map<Loan.LoanStatus, Long> loansByStatus = loans.stream()
-            .collect(java.util.stream.Collectors.groupingBy(Loan::getStatus, 
-                     java.util.stream.Collectors.counting()));
-        
-        for (java.util.Map.Entry<Loan.LoanStatus, Long> entry : loansByStatus.entrySet()) {
-            report.append(entry.getKey()).append(": ").append(entry.getValue()).append("\n");
-        }
-        
-        double totalOutstandingLoans = loans.stream()
-            .filter(loan -> loan.getStatus() == Loan.LoanStatus.DISBURSED || 
-                          loan.getStatus() == Loan.LoanStatus.ACTIVE)
-            .mapToDouble(Loan::getOutstandingBalance)
-            .sum();
-        
-        report.append("Total Outstanding Loans: ₦").append(String.format("%.2f", totalOutstandingLoans)).append("\n");
-        report.append("=".repeat(60));
-        
-        reportArea.setText(report.toString());
+        reportArea.setText(report);
         
         JScrollPane scrollPane = new JScrollPane(reportArea);
         dialog.add(scrollPane, BorderLayout.CENTER);
@@ -885,12 +1100,12 @@ public class ThriftAssociationGUI extends JFrame {
 
     private void showSystemInfo() {
         User currentUser = associationService.getCurrentUser();
-        List<Member> members = associationService.getAllMembers();
+        List<AssociationSnapshot.MemberView> members = associationService.getAllMembers();
         
         JDialog dialog = new JDialog(this, "System Information", true);
         dialog.setLayout(new BorderLayout());
         
-        JTextArea infoArea = new JTextArea(15, 40);
+        JTextArea infoArea = new JTextArea(25, 90);
         infoArea.setEditable(false);
         infoArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
         
@@ -908,7 +1123,11 @@ public class ThriftAssociationGUI extends JFrame {
         info.append("Operating System: ").append(System.getProperty("os.name")).append("\n");
         info.append("Total Members: ").append(members.size()).append("\n");
         info.append("Data Directory: data/\n");
-        info.append("Backup Available: Yes\n");
+        info.append("Backup Available: Yes\n\n");
+
+        info.append("OPERATION METRICS\n");
+        info.append("=".repeat(40)).append("\n");
+        info.append(OperationMetrics.formatTable());
         
         infoArea.setText(info.toString());
         
@@ -927,6 +1146,66 @@ public class ThriftAssociationGUI extends JFrame {
         dialog.setVisible(true);
     }
 
+    private void importCsv(JButton trigger) {
+        String[] kinds = { "Members", "Contributions" };
+        int choice = JOptionPane.showOptionDialog(this, "What does the file contain?", "Import CSV",
+            JOptionPane.DEFAULT_OPTION, JOptionPane.QUESTION_MESSAGE, null, kinds, kinds[0]);
+        if (choice < 0) return;
+        CsvImporter.Kind kind = choice == 0 ? CsvImporter.Kind.MEMBERS : CsvImporter.Kind.CONTRIBUTIONS;
+
+        JFileChooser chooser = new JFileChooser();
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        Path csv = chooser.getSelectedFile().toPath();
+        Path rejects = csv.resolveSibling(csv.getFileName() + ".rejects.csv");
+
+        runServiceTask(trigger, "Importing " + csv.getFileName(),
+            () -> new CsvImporter(associationService).importFile(kind, csv, rejects), result -> {
+                if (result == null) {
+                    appendOutput("Insufficient permissions to import " + kinds[choice].toLowerCase());
+                    return;
+                }
+                appendOutput("Import " + csv.getFileName() + ": " + result);
+            });
+    }
+
+    // Runs task on the service thread while showing progress; onSuccess gets its result on the EDT.
+    // The trigger stays disabled until the task finishes so a double-click cannot queue it twice.
+    private <T> void runServiceTask(JButton trigger, String activity, Callable<T> task, Consumer<T> onSuccess) {
+        if (trigger != null) trigger.setEnabled(false);
+        pendingTasks++;
+        busyIndicator.setString(activity + "...");
+        busyIndicator.setIndeterminate(true);
+        busyIndicator.setVisible(true);
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+
+        SwingWorker<T, Void> worker = new SwingWorker<T, Void>() {
+            @Override
+            protected T doInBackground() throws Exception {
+                synchronized (associationService) {
+                    return task.call();
+                }
+            }
+
+            @Override
+            protected void done() {
+                if (trigger != null) trigger.setEnabled(true);
+                if (--pendingTasks == 0) {
+                    busyIndicator.setIndeterminate(false);
+                    busyIndicator.setVisible(false);
+                    setCursor(Cursor.getDefaultCursor());
+                }
+                try {
+                    onSuccess.accept(get());
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException ex) {
+                    appendOutput(activity + " failed: " + ex.getCause().getMessage());
+                }
+            }
+        };
+        serviceExecutor.execute(worker);
+    }
+
     private void appendOutput(String message) {
         SwingUtilities.invokeLater(() -> {
             outputArea.append("[" + java.time.LocalTime.now().format(
@@ -1,75 +1,128 @@
 package validation;
 
+import model.Loan;
+import validation.ValidationResult.Reason;
+
 public class TransactionValidator {
     private static final double MAX_CONTRIBUTION_LIMIT = 10000.0;
     private static final double MAX_WITHDRAWAL_LIMIT = 5000.0;
+    private static final double MAX_DAILY_WITHDRAWAL_LIMIT = 10000.0;
+    private static final double MAX_WEEKLY_WITHDRAWAL_LIMIT = 25000.0;
+    private static final double MAX_MONTHLY_WITHDRAWAL_LIMIT = 60000.0;
     private static final long MIN_MEMBERSHIP_DAYS_FOR_WITHDRAWAL = 30;
     private static final double MAX_LOAN_AMOUNT = 50000.0;
     private static final double MIN_LOAN_AMOUNT = 100.0;
+    private static final long MIN_MEMBERSHIP_DAYS_FOR_LOAN = 90;
+
+    // Failures with constant details are built once
+    private static final ValidationResult CONTRIBUTION_LIMIT =
+        ValidationResult.fail(Reason.CONTRIBUTION_LIMIT_EXCEEDED, MAX_CONTRIBUTION_LIMIT);
+    private static final ValidationResult WITHDRAWAL_LIMIT =
+        ValidationResult.fail(Reason.WITHDRAWAL_LIMIT_EXCEEDED, MAX_WITHDRAWAL_LIMIT);
+    private static final ValidationResult DAILY_LIMIT =
+        ValidationResult.fail(Reason.DAILY_LIMIT_EXCEEDED, MAX_DAILY_WITHDRAWAL_LIMIT);
+    private static final ValidationResult WEEKLY_LIMIT =
+        ValidationResult.fail(Reason.WEEKLY_LIMIT_EXCEEDED, MAX_WEEKLY_WITHDRAWAL_LIMIT);
+    private static final ValidationResult MONTHLY_LIMIT =
+        ValidationResult.fail(Reason.MONTHLY_LIMIT_EXCEEDED, MAX_MONTHLY_WITHDRAWAL_LIMIT);
+    private static final ValidationResult WITHDRAWAL_MEMBERSHIP =
+        ValidationResult.fail(Reason.MEMBERSHIP_TOO_RECENT, MIN_MEMBERSHIP_DAYS_FOR_WITHDRAWAL);
+    private static final ValidationResult LOAN_MINIMUM =
+        ValidationResult.fail(Reason.LOAN_BELOW_MINIMUM, MIN_LOAN_AMOUNT);
+    private static final ValidationResult LOAN_MAXIMUM =
+        ValidationResult.fail(Reason.LOAN_ABOVE_MAXIMUM, MAX_LOAN_AMOUNT);
+    private static final ValidationResult LOAN_MEMBERSHIP =
+        ValidationResult.fail(Reason.MEMBERSHIP_TOO_RECENT, MIN_MEMBERSHIP_DAYS_FOR_LOAN);
 
-    public boolean validateContribution(double amount) {
-        if (amount <= 0) {
-            System.err.println("Contribution amount must be positive");
-            return false;
+    public ValidationResult validateContribution(double amount) {
+        if (!isPositiveAmount(amount)) {
+            return ValidationResult.fail(Reason.NON_POSITIVE_AMOUNT);
         }
         
         if (amount > MAX_CONTRIBUTION_LIMIT) {
-            System.err.println("Contribution amount exceeds maximum limit of ₦" + 
-                String.format("%.2f", MAX_CONTRIBUTION_LIMIT));
-            return false;
+            return CONTRIBUTION_LIMIT;
         }
         
-        return true;
+        return ValidationResult.ok();
+    }
+
+    // Case and leading blanks are ignored so a look-alike cannot pass for a disbursement on a statement
+    public ValidationResult validateDescription(String description) {
+        String prefix = Loan.DISBURSEMENT_DESCRIPTION_PREFIX.trim();
+        if (description != null && description.trim().regionMatches(true, 0, prefix, 0, prefix.length())) {
+            return ValidationResult.fail(Reason.RESERVED_DESCRIPTION, prefix);
+        }
+        return ValidationResult.ok();
     }
 
-    public boolean validateWithdrawal(double amount, double currentBalance, long membershipDays) {
-        if (amount <= 0) {
-            System.err.println("Withdrawal amount must be positive");
-            return false;
+    public ValidationResult validateWithdrawal(double amount, double currentBalance, long membershipDays) {
+        if (!isPositiveAmount(amount)) {
+            return ValidationResult.fail(Reason.NON_POSITIVE_AMOUNT);
         }
         
         if (amount > MAX_WITHDRAWAL_LIMIT) {
-            System.err.println("Withdrawal amount exceeds maximum limit of ₦" + 
-                String.format("%.2f", MAX_WITHDRAWAL_LIMIT));
-            return false;
+            return WITHDRAWAL_LIMIT;
         }
         
         if (membershipDays < MIN_MEMBERSHIP_DAYS_FOR_WITHDRAWAL) {
-            System.err.println("Member must be registered for at least " + 
-                MIN_MEMBERSHIP_DAYS_FOR_WITHDRAWAL + " days before making withdrawals");
-            return false;
+            return WITHDRAWAL_MEMBERSHIP;
         }
         
         if (amount > currentBalance) {
-            System.err.println("Insufficient funds. Current balance: ₦" + 
-                String.format("%.2f", currentBalance));
-            return false;
+            return ValidationResult.fail(Reason.INSUFFICIENT_FUNDS, currentBalance);
         }
         
-        return true;
+        return ValidationResult.ok();
     }
 
-    public boolean validateLoan(double amount, double memberBalance, long membershipDays) {
+    public ValidationResult validateWithdrawal(double amount, double currentBalance, long membershipDays,
+                                               double withdrawnToday, double withdrawnThisWeek, double withdrawnThisMonth) {
+        ValidationResult result = validateWithdrawal(amount, currentBalance, membershipDays);
+        if (!result.isValid()) {
+            return result;
+        }
+
+        if (withdrawnToday + amount > MAX_DAILY_WITHDRAWAL_LIMIT) {
+            return DAILY_LIMIT;
+        }
+
+        if (withdrawnThisWeek + amount > MAX_WEEKLY_WITHDRAWAL_LIMIT) {
+            return WEEKLY_LIMIT;
+        }
+
+        if (withdrawnThisMonth + amount > MAX_MONTHLY_WITHDRAWAL_LIMIT) {
+            return MONTHLY_LIMIT;
+        }
+
+        return ValidationResult.ok();
+    }
+
+    public ValidationResult validateLoan(double amount, double memberBalance, long membershipDays) {
+        if (!isPositiveAmount(amount)) {
+            return ValidationResult.fail(Reason.NON_POSITIVE_AMOUNT);
+        }
+
         if (amount < MIN_LOAN_AMOUNT) {
-            System.err.println("Loan amount must be at least ₦" + MIN_LOAN_AMOUNT);
-            return false;
+            return LOAN_MINIMUM;
         }
 
         if (amount > MAX_LOAN_AMOUNT) {
-            System.err.println("Loan amount exceeds maximum limit of ₦" + MAX_LOAN_AMOUNT);
-            return false;
+            return LOAN_MAXIMUM;
         }
 
-        if (membershipDays < 90) {
-            System.err.println("Member must be registered for at least 90 days to apply for a loan");
-            return false;
+        if (membershipDays < MIN_MEMBERSHIP_DAYS_FOR_LOAN) {
+            return LOAN_MEMBERSHIP;
         }
 
         if (memberBalance < amount * 0.1) {
-            System.err.println("Member must have savings worth at least 10% of loan amount");
-            return false;
+            return ValidationResult.fail(Reason.INSUFFICIENT_SAVINGS);
         }
 
-        return true;
+        return ValidationResult.ok();
+    }
+
+    // NaN compares false against every limit, so it has to be rejected before any of them
+    public static boolean isPositiveAmount(double amount) {
+        return amount > 0 && Double.isFinite(amount);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,85 @@
+package validation;
+
+// Outcome of a validation or service call. Success and detail-free failures are shared
+// instances; the message is only formatted when a caller asks for it.
+public final class ValidationResult {
+    public enum Reason {
+        OK("OK", false),
+        NON_POSITIVE_AMOUNT("Amount must be a positive number", false),
+        CONTRIBUTION_LIMIT_EXCEEDED("Contribution amount exceeds maximum limit of ₦%.2f", false),
+        WITHDRAWAL_LIMIT_EXCEEDED("Withdrawal amount exceeds maximum limit of ₦%.2f", false),
+        DAILY_LIMIT_EXCEEDED("Withdrawal exceeds daily limit of ₦%.2f", false),
+        WEEKLY_LIMIT_EXCEEDED("Withdrawal exceeds 7-day limit of ₦%.2f", false),
+        MONTHLY_LIMIT_EXCEEDED("Withdrawal exceeds 30-day limit of ₦%.2f", false),
+        MEMBERSHIP_TOO_RECENT("Member must be registered for at least %.0f days", false),
+        INSUFFICIENT_FUNDS("Insufficient funds. Current balance: ₦%.2f", false),
+        LOAN_BELOW_MINIMUM("Loan amount must be at least ₦%.2f", false),
+        LOAN_ABOVE_MAXIMUM("Loan amount exceeds maximum limit of ₦%.2f", false),
+        INSUFFICIENT_SAVINGS("Member must have savings worth at least 10%% of loan amount", false),
+        MEMBER_NOT_FOUND("Member not found: %s", true),
+        LOAN_NOT_FOUND("Loan not found: %s", true),
+        LOAN_NOT_PENDING("Loan is not in pending status", false),
+        LOAN_NOT_APPROVED("Loan must be approved before disbursement", false),
+        PERMISSION_DENIED("Insufficient permissions", false),
+        RESERVED_DESCRIPTION("Descriptions starting with '%s' are reserved for loan disbursements", true),
+        IDEMPOTENCY_CONFLICT("Idempotency key %s was already used for a different request", true),
+        PROCESSING_ERROR("Error processing request: %s", true);
+
+        private final String template;
+        private final boolean textDetail;
+
+        Reason(String template, boolean textDetail) {
+            this.template = template;
+            this.textDetail = textDetail;
+        }
+    }
+
+    private static final ValidationResult[] SHARED = new ValidationResult[Reason.values().length];
+
+    static {
+        for (Reason reason : Reason.values()) {
+            SHARED[reason.ordinal()] = new ValidationResult(reason, 0, null);
+        }
+    }
+
+    private final Reason reason;
+    private final double amount;
+    private final String text;
+
+    private ValidationResult(Reason reason, double amount, String text) {
+        this.reason = reason;
+        this.amount = amount;
+        this.text = text;
+    }
+
+    public static ValidationResult ok() {
+        return SHARED[Reason.OK.ordinal()];
+    }
+
+    public static ValidationResult fail(Reason reason) {
+        return SHARED[reason.ordinal()];
+    }
+
+    public static ValidationResult fail(Reason reason, double amount) {
+        return new ValidationResult(reason, amount, null);
+    }
+
+    public static ValidationResult fail(Reason reason, String text) {
+        return new ValidationResult(reason, 0, text);
+    }
+
+    public boolean isValid() { return reason == Reason.OK; }
+    public Reason getReason() { return reason; }
+    public double getAmount() { return amount; }
+
+    public String getMessage() {
+        return reason.textDetail
+            ? String.format(reason.template, text)
+            : String.format(reason.template, amount);
+    }
+
+    @Override
+    public String toString() {
+        return reason + ": " + getMessage();
+    }
+}